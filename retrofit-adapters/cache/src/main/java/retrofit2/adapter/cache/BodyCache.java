@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * An in-memory cache of converted response bodies for {@link CachingCallAdapterFactory}. Bodies
+ * are keyed by the service method, its arguments, and the request's URL, and the least recently
+ * used are evicted once the cache holds {@link #maxSize()} of them.
+ *
+ * <p>A single cache may be shared by {@link retrofit2.Retrofit} instances with different base
+ * URLs. Headers added by an OkHttp interceptor, such as credentials, are not part of the key. Do
+ * not share a cache between instances whose interceptors make the same request return different
+ * bodies.
+ */
+public final class BodyCache {
+  /** Create a cache which holds at most {@code maxSize} bodies. */
+  public static BodyCache create(int maxSize) {
+    if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0: " + maxSize);
+    return new BodyCache(maxSize);
+  }
+
+  private final int maxSize;
+
+  // Guarded by this.
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(0, 0.75f, true);
+  private int hitCount;
+  private int conditionalHitCount;
+  private int missCount;
+  private int evictionCount;
+
+  private BodyCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public int maxSize() {
+    return maxSize;
+  }
+
+  /** The number of bodies currently cached. */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /** The number of calls which used a cached body without making a request. */
+  public synchronized int hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * The number of calls which used a cached body after the server confirmed it was unchanged with
+   * a {@code 304 Not Modified} response.
+   */
+  public synchronized int conditionalHitCount() {
+    return conditionalHitCount;
+  }
+
+  /** The number of calls which made a request and converted its response. */
+  public synchronized int missCount() {
+    return missCount;
+  }
+
+  /** The number of bodies removed to keep the cache within {@link #maxSize()}. */
+  public synchronized int evictionCount() {
+    return evictionCount;
+  }
+
+  /** Remove every cached body. */
+  public synchronized void evictAll() {
+    entries.clear();
+  }
+
+  synchronized @Nullable Entry get(Key key) {
+    return entries.get(key);
+  }
+
+  synchronized void put(Key key, Entry entry) {
+    entries.put(key, entry);
+    Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+    while (entries.size() > maxSize) {
+      eldest.next();
+      eldest.remove();
+      evictionCount++;
+    }
+  }
+
+  synchronized void recordHit() {
+    hitCount++;
+  }
+
+  synchronized void recordConditionalHit() {
+    conditionalHitCount++;
+  }
+
+  synchronized void recordMiss() {
+    missCount++;
+  }
+
+  /** A service method, the arguments it was invoked with, and the URL they produced. */
+  static final class Key {
+    private final Method method;
+    private final HttpUrl url;
+    private final Object[] arguments;
+
+    Key(Method method, HttpUrl url, Object[] arguments) {
+      this.method = method;
+      this.url = url;
+      this.arguments = arguments;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+      return other instanceof Key
+          && method.equals(((Key) other).method)
+          && url.equals(((Key) other).url)
+          && Arrays.deepEquals(arguments, ((Key) other).arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = method.hashCode();
+      result = 31 * result + url.hashCode();
+      result = 31 * result + Arrays.deepHashCode(arguments);
+      return result;
+    }
+  }
+
+  static final class Entry {
+    final Object body;
+    /** The successful response the body was converted from, without its body. */
+    final okhttp3.Response raw;
+
+    final long expiresAtNanos;
+
+    Entry(Object body, okhttp3.Response raw, long expiresAtNanos) {
+      this.body = body;
+      this.raw = raw;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+
+    boolean isFresh(long nowNanos) {
+      return nowNanos - expiresAtNanos < 0;
+    }
+
+    /** Returns a request which asks the server to confirm this entry, or null if it cannot. */
+    @Nullable
+    Request conditionalRequest(Request request) {
+      String etag = raw.header("ETag");
+      String lastModified = raw.header("Last-Modified");
+      if (etag == null && lastModified == null) return null;
+
+      Request.Builder builder = request.newBuilder();
+      if (etag != null) builder.header("If-None-Match", etag);
+      if (lastModified != null) builder.header("If-Modified-Since", lastModified);
+      return builder.build();
+    }
+
+    Entry withExpiry(long expiresAtNanos) {
+      return new Entry(body, raw, expiresAtNanos);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.cache;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache the converted body of this method's successful responses. Requires {@link
+ * CachingCallAdapterFactory}, and may only be used on {@link retrofit2.http.GET GET} methods.
+ *
+ * <p>Bodies are cached for each distinct list of arguments, compared with {@code equals}, so
+ * parameters should be immutable value types.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Cached {
+  /**
+   * How long a cached body is used without making a request. Once it has elapsed, a body whose
+   * response had an {@code ETag} or {@code Last-Modified} header is revalidated with a conditional
+   * request, and other bodies are requested again.
+   */
+  long maxAge();
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+}
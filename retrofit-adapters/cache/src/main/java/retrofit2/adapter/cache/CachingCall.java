@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.cache;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Invocation;
+import retrofit2.Response;
+
+/**
+ * A call which uses a fresh body from the cache if there is one, revalidates a stale body with a
+ * conditional request, and otherwise executes its delegate and caches the converted body.
+ */
+final class CachingCall<T> implements Call<T> {
+  private final Call<T> delegate;
+  private final Converter<ResponseBody, T> converter;
+  private final okhttp3.Call.Factory callFactory;
+  private final BodyCache cache;
+  private final long maxAgeNanos;
+
+  private volatile boolean canceled;
+  private boolean executed; // Guarded by this.
+  private @Nullable okhttp3.Call conditionalCall; // Guarded by this.
+
+  CachingCall(
+      Call<T> delegate,
+      Converter<ResponseBody, T> converter,
+      okhttp3.Call.Factory callFactory,
+      BodyCache cache,
+      long maxAgeNanos) {
+    this.delegate = delegate;
+    this.converter = converter;
+    this.callFactory = callFactory;
+    this.cache = cache;
+    this.maxAgeNanos = maxAgeNanos;
+  }
+
+  @Override
+  public Response<T> execute() throws IOException {
+    synchronized (this) {
+      if (executed) throw new IllegalStateException("Already executed.");
+      executed = true;
+    }
+    if (canceled) throw new IOException("Canceled");
+
+    Request request = delegate.request();
+    BodyCache.Key key = key(request);
+    if (key == null) {
+      return delegate.execute();
+    }
+
+    BodyCache.Entry entry = cache.get(key);
+    if (entry != null) {
+      if (entry.isFresh(System.nanoTime())) {
+        cache.recordHit();
+        return cachedResponse(entry);
+      }
+      Request conditionalRequest = entry.conditionalRequest(request);
+      if (conditionalRequest != null) {
+        return revalidated(key, entry, conditionalCall(conditionalRequest).execute());
+      }
+    }
+    return store(key, delegate.execute());
+  }
+
+  @Override
+  public void enqueue(Callback<T> callback) {
+    if (callback == null) throw new NullPointerException("callback == null");
+
+    synchronized (this) {
+      if (executed) throw new IllegalStateException("Already executed.");
+      executed = true;
+    }
+
+    BodyCache.Key key;
+    BodyCache.Entry entry;
+    Response<T> hit = null;
+    Request conditionalRequest = null;
+    okhttp3.Call call;
+    try {
+      if (canceled) throw new IOException("Canceled");
+
+      Request request = delegate.request();
+      key = key(request);
+      if (key == null) {
+        delegate.enqueue(callback);
+        return;
+      }
+
+      entry = cache.get(key);
+      if (entry != null) {
+        if (entry.isFresh(System.nanoTime())) {
+          cache.recordHit();
+          hit = cachedResponse(entry);
+        } else {
+          conditionalRequest = entry.conditionalRequest(request);
+        }
+      }
+      call = conditionalRequest != null ? conditionalCall(conditionalRequest) : null;
+    } catch (Throwable t) {
+      callback.onFailure(this, t);
+      return;
+    }
+
+    if (hit != null) {
+      callback.onResponse(this, hit);
+      return;
+    }
+
+    if (call == null) {
+      delegate.enqueue(
+          new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+              callback.onResponse(CachingCall.this, store(key, response));
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+              callback.onFailure(CachingCall.this, t);
+            }
+          });
+      return;
+    }
+
+    BodyCache.Entry stale = entry;
+    call.enqueue(
+        new okhttp3.Callback() {
+          @Override
+          public void onResponse(okhttp3.Call call, okhttp3.Response rawResponse) {
+            Response<T> response;
+            try {
+              response = revalidated(key, stale, rawResponse);
+            } catch (Throwable t) {
+              onFailure(t);
+              return;
+            }
+            callback.onResponse(CachingCall.this, response);
+          }
+
+          @Override
+          public void onFailure(okhttp3.Call call, IOException e) {
+            onFailure(e);
+          }
+
+          private void onFailure(Throwable t) {
+            callback.onFailure(CachingCall.this, t);
+          }
+        });
+  }
+
+  private static @Nullable BodyCache.Key key(Request request) {
+    Invocation invocation = request.tag(Invocation.class);
+    if (invocation == null) return null;
+    return new BodyCache.Key(
+        invocation.method(), request.url(), invocation.arguments().toArray());
+  }
+
+  private okhttp3.Call conditionalCall(Request request) throws IOException {
+    okhttp3.Call call = callFactory.newCall(request);
+    synchronized (this) {
+      conditionalCall = call;
+    }
+    if (canceled) {
+      call.cancel();
+    }
+    return call;
+  }
+
+  @SuppressWarnings("unchecked") // Entries for a method always hold its body type.
+  private static <T> Response<T> cachedResponse(BodyCache.Entry entry) {
+    return Response.success((T) entry.body, entry.raw);
+  }
+
+  /** Cache the body of {@code response} if it is eligible, and return it. */
+  private Response<T> store(BodyCache.Key key, Response<T> response) {
+    cache.recordMiss();
+    T body = response.body();
+    okhttp3.Response raw = response.raw();
+    if (body != null && response.isSuccessful() && !raw.cacheControl().noStore()) {
+      cache.put(key, new BodyCache.Entry(body, raw, System.nanoTime() + maxAgeNanos));
+    }
+    return response;
+  }
+
+  private Response<T> revalidated(
+      BodyCache.Key key, BodyCache.Entry entry, okhttp3.Response rawResponse) throws IOException {
+    if (rawResponse.code() != 304) {
+      return store(key, parseResponse(rawResponse));
+    }
+    rawResponse.close();
+    cache.put(key, entry.withExpiry(System.nanoTime() + maxAgeNanos));
+    cache.recordConditionalHit();
+    return cachedResponse(entry);
+  }
+
+  /** Convert a response in the same way as Retrofit's own calls. */
+  private Response<T> parseResponse(okhttp3.Response rawResponse) throws IOException {
+    ResponseBody rawBody = rawResponse.body();
+
+    // Remove the body's source (the only stateful object) so we can pass the response along.
+    rawResponse =
+        rawResponse
+            .newBuilder()
+            .body(new NoContentResponseBody(rawBody.contentType(), rawBody.contentLength()))
+            .build();
+
+    try {
+      int code = rawResponse.code();
+      if (code < 200 || code >= 300) {
+        // Buffer the entire body to avoid future I/O.
+        Buffer buffer = new Buffer();
+        rawBody.source().readAll(buffer);
+        ResponseBody bufferedBody =
+            ResponseBody.create(rawBody.contentType(), rawBody.contentLength(), buffer);
+        return Response.error(bufferedBody, rawResponse);
+      }
+
+      if (code == 204 || code == 205) {
+        return Response.success(null, rawResponse);
+      }
+
+      return Response.success(converter.convert(rawBody), rawResponse);
+    } finally {
+      rawBody.close();
+    }
+  }
+
+  @Override
+  public synchronized boolean isExecuted() {
+    return executed;
+  }
+
+  @Override
+  public void cancel() {
+    canceled = true;
+    delegate.cancel();
+
+    okhttp3.Call call;
+    synchronized (this) {
+      call = conditionalCall;
+    }
+    if (call != null) {
+      call.cancel();
+    }
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return canceled || delegate.isCanceled();
+  }
+
+  @SuppressWarnings("CloneDoesntCallSuperClone") // We are a final type & this saves clearing state.
+  @Override
+  public Call<T> clone() {
+    return new CachingCall<>(delegate.clone(), converter, callFactory, cache, maxAgeNanos);
+  }
+
+  @Override
+  public Request request() {
+    return delegate.request();
+  }
+
+  @Override
+  public Timeout timeout() {
+    return delegate.timeout();
+  }
+
+  static final class NoContentResponseBody extends ResponseBody {
+    private final @Nullable MediaType contentType;
+    private final long contentLength;
+
+    NoContentResponseBody(@Nullable MediaType contentType, long contentLength) {
+      this.contentType = contentType;
+      this.contentLength = contentLength;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+      return contentLength;
+    }
+
+    @Override
+    public BufferedSource source() {
+      throw new IllegalStateException("Cannot read raw response body of a converted body.");
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import javax.annotation.Nullable;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.HTTP;
+import retrofit2.http.Streaming;
+
+/**
+ * A {@linkplain CallAdapter.Factory call adapter} which serves service methods annotated with
+ * {@link Cached @Cached} from a {@link BodyCache}.
+ *
+ * <pre><code>
+ * interface UserService {
+ *   &#64;Cached(maxAge = 5, unit = MINUTES)
+ *   &#64;GET("users/{id}")
+ *   Call&lt;User&gt; user(@Path("id") String id);
+ * }
+ * </code></pre>
+ *
+ * <p>Unlike OkHttp's {@link okhttp3.Cache Cache}, which stores response bytes, bodies are cached
+ * after conversion so a hit does not decode the body again. Every hit receives the same instance,
+ * so body types should be immutable. A {@link ResponseBody} can only be read once, so methods whose
+ * response type is {@code ResponseBody} or which are annotated with {@link Streaming @Streaming}
+ * cannot be cached. A stale body is reused when a conditional request receives {@code 304 Not
+ * Modified}. Only successful responses with a body are cached, and never those with {@code
+ * Cache-Control: no-store}.
+ *
+ * <p>Calls are adapted to the method's return type by the next matching factory, so this works
+ * with {@code Call}, {@code CompletableFuture}, RxJava, and {@code suspend} functions. This factory
+ * must be {@linkplain Retrofit.Builder#addCallAdapterFactory(CallAdapter.Factory) added} before the
+ * factory which handles the return type.
+ */
+public final class CachingCallAdapterFactory extends CallAdapter.Factory {
+  @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+  public static CachingCallAdapterFactory create(BodyCache cache) {
+    if (cache == null) throw new NullPointerException("cache == null");
+    return new CachingCallAdapterFactory(cache);
+  }
+
+  private final BodyCache cache;
+
+  private CachingCallAdapterFactory(BodyCache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public @Nullable CallAdapter<?, ?> get(
+      Type returnType, Annotation[] annotations, Retrofit retrofit) {
+    Cached cached = null;
+    boolean get = false;
+    boolean streaming = false;
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof Cached) {
+        cached = (Cached) annotation;
+      } else if (annotation instanceof Streaming) {
+        streaming = true;
+      } else if (annotation instanceof GET) {
+        get = true;
+      } else if (annotation instanceof HTTP) {
+        HTTP http = (HTTP) annotation;
+        get = !http.hasBody() && http.method().equals("GET");
+      }
+    }
+    if (cached == null) {
+      return null;
+    }
+    if (!get) {
+      throw new IllegalArgumentException("@Cached may only be used on GET methods.");
+    }
+    if (cached.maxAge() < 0) {
+      throw new IllegalArgumentException("@Cached maxAge must not be negative: " + cached.maxAge());
+    }
+    if (streaming) {
+      throw new IllegalArgumentException("@Cached may not be used with @Streaming.");
+    }
+
+    CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+    if (getRawType(delegate.responseType()) == ResponseBody.class) {
+      throw new IllegalArgumentException(
+          "@Cached may not be used with ResponseBody as it can only be read once.");
+    }
+    Converter<ResponseBody, ?> converter =
+        retrofit.responseBodyConverter(delegate.responseType(), annotations);
+    return new CachingCallAdapter<>(
+        delegate, converter, retrofit.callFactory(), cache, cached.unit().toNanos(cached.maxAge()));
+  }
+
+  static final class CachingCallAdapter<R, T> implements CallAdapter<R, T> {
+    private final CallAdapter<R, T> delegate;
+    private final Converter<ResponseBody, R> converter;
+    private final okhttp3.Call.Factory callFactory;
+    private final BodyCache cache;
+    private final long maxAgeNanos;
+
+    @SuppressWarnings("unchecked") // The delegate and converter were created for R.
+    CachingCallAdapter(
+        CallAdapter<?, ?> delegate,
+        Converter<ResponseBody, ?> converter,
+        okhttp3.Call.Factory callFactory,
+        BodyCache cache,
+        long maxAgeNanos) {
+      this.delegate = (CallAdapter<R, T>) delegate;
+      this.converter = (Converter<ResponseBody, R>) converter;
+      this.callFactory = callFactory;
+      this.cache = cache;
+      this.maxAgeNanos = maxAgeNanos;
+    }
+
+    @Override
+    public Type responseType() {
+      return delegate.responseType();
+    }
+
+    @Override
+    public T adapt(Call<R> call) {
+      return delegate.adapt(new CachingCall<>(call, converter, callFactory, cache, maxAgeNanos));
+    }
+  }
+}
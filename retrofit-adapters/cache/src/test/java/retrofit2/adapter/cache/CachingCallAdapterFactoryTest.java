@@ -0,0 +1,391 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+import retrofit2.http.Streaming;
+
+public final class CachingCallAdapterFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  interface Service {
+    @Cached(maxAge = 1, unit = HOURS)
+    @GET("/{path}")
+    Call<String> fresh(@Path("path") String path);
+
+    @Cached(maxAge = 0)
+    @GET("/")
+    Call<String> stale();
+
+    @Cached(maxAge = 1, unit = HOURS)
+    @GET("/")
+    CompletableFuture<String> future();
+
+    @GET("/")
+    Call<String> notCached();
+
+    @Cached(maxAge = 1)
+    @POST("/")
+    Call<String> post();
+
+    @Cached(maxAge = -1)
+    @GET("/")
+    Call<String> negative();
+
+    @Cached(maxAge = 1)
+    @GET("/")
+    Call<ResponseBody> responseBody();
+
+    @Cached(maxAge = 1)
+    @Streaming
+    @GET("/")
+    Call<String> streaming();
+  }
+
+  private final BodyCache cache = BodyCache.create(2);
+  private Service service;
+
+  @Before
+  public void setUp() {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .addCallAdapterFactory(CachingCallAdapterFactory.create(cache))
+            .build();
+    service = retrofit.create(Service.class);
+  }
+
+  @Test
+  public void freshBodyIsReused() throws IOException {
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Response<String> first = service.fresh("a").execute();
+    Response<String> second = service.fresh("a").execute();
+    assertThat(second.isSuccessful()).isTrue();
+    assertThat(second.body()).isSameInstanceAs(first.body());
+    assertThat(server.getRequestCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+    assertThat(cache.hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void freshBodyIsReusedWhenEnqueued() throws Exception {
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingCallback first = new RecordingCallback();
+    service.fresh("a").enqueue(first);
+    String body = first.takeResponse().body();
+    RecordingCallback second = new RecordingCallback();
+    service.fresh("a").enqueue(second);
+
+    assertThat(second.takeResponse().body()).isSameInstanceAs(body);
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void argumentsAreCachedSeparately() throws IOException {
+    server.enqueue(new MockResponse().setBody("A"));
+    server.enqueue(new MockResponse().setBody("B"));
+
+    assertThat(service.fresh("a").execute().body()).isEqualTo("A");
+    assertThat(service.fresh("b").execute().body()).isEqualTo("B");
+    assertThat(service.fresh("a").execute().body()).isEqualTo("A");
+    assertThat(service.fresh("b").execute().body()).isEqualTo("B");
+    assertThat(server.getRequestCount()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void instancesWithDifferentBaseUrlsAreCachedSeparately() throws IOException {
+    MockWebServer otherServer = new MockWebServer();
+    try {
+      server.enqueue(new MockResponse().setBody("A"));
+      otherServer.enqueue(new MockResponse().setBody("B"));
+      Retrofit retrofit =
+          new Retrofit.Builder()
+              .baseUrl(otherServer.url("/"))
+              .addConverterFactory(ScalarsConverterFactory.create())
+              .addCallAdapterFactory(CachingCallAdapterFactory.create(cache))
+              .build();
+      Service otherService = retrofit.create(Service.class);
+
+      assertThat(service.fresh("a").execute().body()).isEqualTo("A");
+      assertThat(otherService.fresh("a").execute().body()).isEqualTo("B");
+      assertThat(service.fresh("a").execute().body()).isEqualTo("A");
+      assertThat(otherService.fresh("a").execute().body()).isEqualTo("B");
+      assertThat(server.getRequestCount()).isEqualTo(1);
+      assertThat(otherServer.getRequestCount()).isEqualTo(1);
+    } finally {
+      otherServer.shutdown();
+    }
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() throws IOException {
+    server.enqueue(new MockResponse().setBody("A"));
+    server.enqueue(new MockResponse().setBody("B"));
+    server.enqueue(new MockResponse().setBody("C"));
+    server.enqueue(new MockResponse().setBody("B2"));
+
+    service.fresh("a").execute();
+    service.fresh("b").execute();
+    service.fresh("a").execute(); // Hit, so "b" is now the least recently used.
+    service.fresh("c").execute();
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+    assertThat(service.fresh("a").execute().body()).isEqualTo("A");
+    assertThat(service.fresh("b").execute().body()).isEqualTo("B2");
+  }
+
+  @Test
+  public void staleBodyIsRevalidatedWithETag() throws Exception {
+    server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("Hi"));
+    server.enqueue(new MockResponse().setResponseCode(304));
+
+    String body = service.stale().execute().body();
+    Response<String> revalidated = service.stale().execute();
+    assertThat(revalidated.isSuccessful()).isTrue();
+    assertThat(revalidated.body()).isSameInstanceAs(body);
+
+    assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+    assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo("\"v1\"");
+    assertThat(cache.conditionalHitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void staleBodyIsRevalidatedWithLastModifiedWhenEnqueued() throws Exception {
+    String lastModified = "Sat, 17 Oct 2026 00:00:00 GMT";
+    server.enqueue(new MockResponse().setHeader("Last-Modified", lastModified).setBody("Hi"));
+    server.enqueue(new MockResponse().setResponseCode(304));
+
+    String body = service.stale().execute().body();
+    RecordingCallback callback = new RecordingCallback();
+    service.stale().enqueue(callback);
+    assertThat(callback.takeResponse().body()).isSameInstanceAs(body);
+
+    server.takeRequest();
+    RecordedRequest conditional = server.takeRequest();
+    assertThat(conditional.getHeader("If-Modified-Since")).isEqualTo(lastModified);
+    assertThat(cache.conditionalHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void changedBodyReplacesStaleBody() throws IOException {
+    server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("Hi"));
+    server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("Hello"));
+    server.enqueue(new MockResponse().setResponseCode(304));
+
+    assertThat(service.stale().execute().body()).isEqualTo("Hi");
+    assertThat(service.stale().execute().body()).isEqualTo("Hello");
+    assertThat(service.stale().execute().body()).isEqualTo("Hello");
+    assertThat(cache.missCount()).isEqualTo(2);
+    assertThat(cache.conditionalHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void staleBodyWithoutValidatorIsRequestedAgain() throws Exception {
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hello"));
+
+    assertThat(service.stale().execute().body()).isEqualTo("Hi");
+    assertThat(service.stale().execute().body()).isEqualTo("Hello");
+    server.takeRequest();
+    assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+  }
+
+  @Test
+  public void errorResponseIsNotCached() throws IOException {
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("Nope"));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Response<String> error = service.fresh("a").execute();
+    assertThat(error.code()).isEqualTo(404);
+    assertThat(error.errorBody().string()).isEqualTo("Nope");
+    assertThat(service.fresh("a").execute().body()).isEqualTo("Hi");
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void errorResponseToRevalidationIsReturned() throws IOException {
+    server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("Hi"));
+    server.enqueue(new MockResponse().setResponseCode(500).setBody("Oops"));
+
+    service.stale().execute();
+    Response<String> error = service.stale().execute();
+    assertThat(error.code()).isEqualTo(500);
+    assertThat(error.errorBody().string()).isEqualTo("Oops");
+  }
+
+  @Test
+  public void noStoreIsNotCached() throws IOException {
+    server.enqueue(new MockResponse().setHeader("Cache-Control", "no-store").setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hello"));
+
+    assertThat(service.fresh("a").execute().body()).isEqualTo("Hi");
+    assertThat(service.fresh("a").execute().body()).isEqualTo("Hello");
+    assertThat(server.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void evictAll() throws IOException {
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hello"));
+
+    service.fresh("a").execute();
+    cache.evictAll();
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(service.fresh("a").execute().body()).isEqualTo("Hello");
+  }
+
+  @Test
+  public void completableFuture() throws Exception {
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    String body = service.future().get(5, SECONDS);
+    assertThat(service.future().get(5, SECONDS)).isSameInstanceAs(body);
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void canceledCallDoesNotUseCache() throws IOException {
+    server.enqueue(new MockResponse().setBody("Hi"));
+    service.fresh("a").execute();
+
+    Call<String> call = service.fresh("a");
+    call.cancel();
+    try {
+      call.execute();
+      fail();
+    } catch (IOException e) {
+      assertThat(e).hasMessageThat().isEqualTo("Canceled");
+    }
+  }
+
+  @Test
+  public void unannotatedMethodIsNotCached() {
+    assertThat(service.notCached()).isNotInstanceOf(CachingCall.class);
+    assertThat(service.fresh("a")).isInstanceOf(CachingCall.class);
+  }
+
+  @Test
+  public void nonGetMethodThrows() {
+    try {
+      service.post();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo("@Cached may only be used on GET methods.");
+    }
+  }
+
+  @Test
+  public void negativeMaxAgeThrows() {
+    try {
+      service.negative();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo("@Cached maxAge must not be negative: -1");
+    }
+  }
+
+  @Test
+  public void responseBodyThrows() {
+    try {
+      service.responseBody();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo("@Cached may not be used with ResponseBody as it can only be read once.");
+    }
+  }
+
+  @Test
+  public void streamingThrows() {
+    try {
+      service.streaming();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo("@Cached may not be used with @Streaming.");
+    }
+  }
+
+  @Test
+  public void maxSizeMustBePositive() {
+    try {
+      BodyCache.create(0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("maxSize <= 0: 0");
+    }
+  }
+
+  static final class RecordingCallback implements Callback<String> {
+    private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+
+    @Override
+    public void onResponse(Call<String> call, Response<String> response) {
+      results.add(response);
+    }
+
+    @Override
+    public void onFailure(Call<String> call, Throwable t) {
+      results.add(t);
+    }
+
+    @SuppressWarnings("unchecked")
+    Response<String> takeResponse() throws InterruptedException {
+      Object result = results.poll(5, SECONDS);
+      assertThat(result).isInstanceOf(Response.class);
+      return (Response<String>) result;
+    }
+  }
+}
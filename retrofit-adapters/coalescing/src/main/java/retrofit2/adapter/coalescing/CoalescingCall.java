@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.coalescing;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.Nullable;
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A call which joins the {@link Flight} for an identical request if there is one, or otherwise
+ * starts one using its delegate.
+ */
+final class CoalescingCall<T> implements Call<T> {
+  private final Call<T> delegate;
+  private final ConcurrentMap<String, Flight<T>> flights;
+
+  private volatile boolean canceled;
+  private boolean executed; // Guarded by this.
+  private @Nullable Flight<T> flight; // Guarded by this.
+  private @Nullable Flight.Waiter<T> waiter; // Guarded by this.
+
+  CoalescingCall(Call<T> delegate, ConcurrentMap<String, Flight<T>> flights) {
+    this.delegate = delegate;
+    this.flights = flights;
+  }
+
+  @Override
+  public void enqueue(Callback<T> callback) {
+    if (callback == null) throw new NullPointerException("callback == null");
+
+    Flight<T> flight = join(callback);
+    if (flight != null) {
+      flight.start();
+    }
+  }
+
+  @Override
+  public Response<T> execute() throws IOException {
+    BlockingCallback<T> callback = new BlockingCallback<>();
+    Flight<T> flight = join(callback);
+    if (flight != null) {
+      // No identical request is in flight. Make it on this thread rather than on the dispatcher.
+      flight.run();
+    }
+    try {
+      callback.latch.await();
+    } catch (InterruptedException e) {
+      cancel();
+      Thread.currentThread().interrupt();
+      InterruptedIOException interrupted = new InterruptedIOException("interrupted");
+      interrupted.initCause(e);
+      throw interrupted;
+    }
+
+    Throwable failure = callback.failure;
+    if (failure != null) {
+      if (failure instanceof IOException) throw (IOException) failure;
+      if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+      if (failure instanceof Error) throw (Error) failure;
+      throw new RuntimeException(failure);
+    }
+    return callback.response;
+  }
+
+  /**
+   * Wait for the result of an identical in-flight request, or return a new flight which the caller
+   * must start if there is none.
+   */
+  private @Nullable Flight<T> join(Callback<T> callback) {
+    synchronized (this) {
+      if (executed) throw new IllegalStateException("Already executed.");
+      executed = true;
+    }
+
+    Flight.Waiter<T> waiter = new Flight.Waiter<>(this, callback);
+    if (canceled) {
+      waiter.onFailure(new IOException("Canceled"));
+      return null;
+    }
+
+    String key;
+    try {
+      key = key(delegate.request());
+    } catch (Throwable t) {
+      waiter.onFailure(t);
+      return null;
+    }
+
+    Flight<T> flight;
+    boolean leader = false;
+    while (true) {
+      flight = flights.get(key);
+      if (flight == null) {
+        flight = new Flight<>(flights, key, delegate);
+        flight.join(waiter);
+        if (flights.putIfAbsent(key, flight) == null) {
+          leader = true;
+          break;
+        }
+      } else if (flight.join(waiter)) {
+        break;
+      }
+      // Lost a race with another call starting or completing a flight. Try again.
+    }
+
+    synchronized (this) {
+      this.flight = flight;
+      this.waiter = waiter;
+    }
+    if (canceled) {
+      cancel();
+    }
+    return leader ? flight : null;
+  }
+
+  @Override
+  public synchronized boolean isExecuted() {
+    return executed;
+  }
+
+  @Override
+  public void cancel() {
+    canceled = true;
+
+    Flight<T> flight;
+    Flight.Waiter<T> waiter;
+    synchronized (this) {
+      flight = this.flight;
+      waiter = this.waiter;
+    }
+    if (flight != null && waiter != null && flight.leave(waiter)) {
+      waiter.onFailure(new IOException("Canceled"));
+    }
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return canceled;
+  }
+
+  @SuppressWarnings("CloneDoesntCallSuperClone") // We are a final type & this saves clearing state.
+  @Override
+  public Call<T> clone() {
+    return new CoalescingCall<>(delegate.clone(), flights);
+  }
+
+  @Override
+  public Request request() {
+    return delegate.request();
+  }
+
+  @Override
+  public Timeout timeout() {
+    return delegate.timeout();
+  }
+
+  static String key(Request request) {
+    return request.method() + ' ' + request.url() + '\n' + request.headers();
+  }
+
+  static final class BlockingCallback<T> implements Callback<T> {
+    final CountDownLatch latch = new CountDownLatch(1);
+    @Nullable Response<T> response;
+    @Nullable Throwable failure;
+
+    @Override
+    public void onResponse(Call<T> call, Response<T> response) {
+      this.response = response;
+      latch.countDown();
+    }
+
+    @Override
+    public void onFailure(Call<T> call, Throwable t) {
+      this.failure = t;
+      latch.countDown();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.coalescing;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.HTTP;
+import retrofit2.http.Streaming;
+
+/**
+ * A {@linkplain CallAdapter.Factory call adapter} which coalesces identical in-flight calls to
+ * service methods annotated with {@link Coalesce @Coalesce}.
+ *
+ * <pre><code>
+ * interface UserService {
+ *   &#64;Coalesce
+ *   &#64;GET("users/{id}")
+ *   Call&lt;User&gt; user(@Path("id") String id);
+ * }
+ * </code></pre>
+ *
+ * <p>The first call for a request makes it, and calls with an identical request which start before
+ * it completes wait for its result instead of making their own. Every waiting call receives the
+ * same converted body, so body types should be immutable. A {@link ResponseBody} can only be read
+ * once, so methods whose response type is {@code ResponseBody} or which are annotated with {@link
+ * Streaming @Streaming} cannot be coalesced. Error bodies are copied for each call. A failure is
+ * delivered to every waiting call.
+ *
+ * <p>Canceling a call only stops it from waiting. The shared request is canceled once every call
+ * waiting for it has been canceled. Only the timeout of the call which made the shared request
+ * applies. A call to {@link Call#execute()} with no identical request in flight makes the request
+ * on the calling thread, and delivers its result to calls which join it from there.
+ *
+ * <p>Calls are adapted to the method's return type by the next matching factory, so this works
+ * with {@code Call}, {@code CompletableFuture}, RxJava, and {@code suspend} functions. This factory
+ * must be {@linkplain Retrofit.Builder#addCallAdapterFactory(CallAdapter.Factory) added} before the
+ * factory which handles the return type.
+ */
+public final class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+  public static CoalescingCallAdapterFactory create() {
+    return new CoalescingCallAdapterFactory();
+  }
+
+  private CoalescingCallAdapterFactory() {}
+
+  @Override
+  public @Nullable CallAdapter<?, ?> get(
+      Type returnType, Annotation[] annotations, Retrofit retrofit) {
+    boolean coalesce = false;
+    boolean idempotent = false;
+    boolean streaming = false;
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof Coalesce) {
+        coalesce = true;
+      } else if (annotation instanceof Streaming) {
+        streaming = true;
+      } else if (annotation instanceof GET || annotation instanceof HEAD) {
+        idempotent = true;
+      } else if (annotation instanceof HTTP) {
+        HTTP http = (HTTP) annotation;
+        idempotent =
+            !http.hasBody() && (http.method().equals("GET") || http.method().equals("HEAD"));
+      }
+    }
+    if (!coalesce) {
+      return null;
+    }
+    if (!idempotent) {
+      throw new IllegalArgumentException("@Coalesce may only be used on GET or HEAD methods.");
+    }
+    if (streaming) {
+      throw new IllegalArgumentException("@Coalesce may not be used with @Streaming.");
+    }
+    CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+    if (getRawType(delegate.responseType()) == ResponseBody.class) {
+      throw new IllegalArgumentException(
+          "@Coalesce may not be used with ResponseBody as it can only be read once.");
+    }
+    return new CoalescingCallAdapter<>(delegate);
+  }
+
+  static final class CoalescingCallAdapter<R, T> implements CallAdapter<R, T> {
+    private final CallAdapter<R, T> delegate;
+
+    /** In-flight requests of this method by their key. */
+    private final ConcurrentMap<String, Flight<R>> flights = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked") // The delegate is only ever used with its own types.
+    CoalescingCallAdapter(CallAdapter<?, ?> delegate) {
+      this.delegate = (CallAdapter<R, T>) delegate;
+    }
+
+    @Override
+    public Type responseType() {
+      return delegate.responseType();
+    }
+
+    @Override
+    public T adapt(Call<R> call) {
+      return delegate.adapt(new CoalescingCall<>(call, flights));
+    }
+  }
+}
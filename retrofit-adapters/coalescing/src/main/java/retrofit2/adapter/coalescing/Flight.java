@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.coalescing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/** A request shared by every {@link CoalescingCall} with the same key while it is in flight. */
+final class Flight<T> implements Callback<T> {
+  private final ConcurrentMap<String, Flight<T>> flights;
+  private final String key;
+  private final Call<T> call;
+
+  private final List<Waiter<T>> waiters = new ArrayList<>(); // Guarded by this.
+  private boolean done; // Guarded by this.
+
+  Flight(ConcurrentMap<String, Flight<T>> flights, String key, Call<T> call) {
+    this.flights = flights;
+    this.key = key;
+    this.call = call;
+  }
+
+  void start() {
+    call.enqueue(this);
+  }
+
+  /** Make the request on the calling thread and deliver its result. */
+  void run() {
+    Response<T> response;
+    try {
+      response = call.execute();
+    } catch (Throwable t) {
+      onFailure(call, t);
+      return;
+    }
+    onResponse(call, response);
+  }
+
+  /** Add {@code waiter}, or return false if this flight has already completed. */
+  synchronized boolean join(Waiter<T> waiter) {
+    if (done) return false;
+    waiters.add(waiter);
+    return true;
+  }
+
+  /**
+   * Remove {@code waiter}, canceling the request if no others remain. Returns false if the result
+   * was already delivered to {@code waiter}.
+   */
+  boolean leave(Waiter<T> waiter) {
+    boolean last;
+    synchronized (this) {
+      if (!waiters.remove(waiter)) return false;
+      last = waiters.isEmpty();
+      if (last) {
+        done = true;
+        flights.remove(key, this);
+      }
+    }
+    if (last) {
+      call.cancel();
+    }
+    return true;
+  }
+
+  /** Stop accepting new waiters and return those to deliver the result to. */
+  private synchronized List<Waiter<T>> complete() {
+    done = true;
+    flights.remove(key, this);
+    List<Waiter<T>> result = new ArrayList<>(waiters);
+    waiters.clear();
+    return result;
+  }
+
+  @Override
+  public void onResponse(Call<T> call, Response<T> response) {
+    List<Waiter<T>> waiters = complete();
+
+    ResponseBody errorBody = response.errorBody();
+    if (errorBody == null) {
+      for (Waiter<T> waiter : waiters) {
+        waiter.onResponse(response);
+      }
+      return;
+    }
+
+    // Error bodies can only be read once. Copy the buffered bytes for each waiter.
+    byte[] bytes;
+    try {
+      bytes = errorBody.bytes();
+    } catch (IOException e) {
+      for (Waiter<T> waiter : waiters) {
+        waiter.onFailure(e);
+      }
+      return;
+    }
+    for (Waiter<T> waiter : waiters) {
+      ResponseBody copy = ResponseBody.create(errorBody.contentType(), bytes);
+      waiter.onResponse(Response.<T>error(copy, response.raw()));
+    }
+  }
+
+  @Override
+  public void onFailure(Call<T> call, Throwable t) {
+    for (Waiter<T> waiter : complete()) {
+      waiter.onFailure(t);
+    }
+  }
+
+  /** A call's callback waiting for the result of a flight. */
+  static final class Waiter<T> {
+    private final Call<T> call;
+    private final Callback<T> callback;
+
+    Waiter(Call<T> call, Callback<T> callback) {
+      this.call = call;
+      this.callback = callback;
+    }
+
+    void onResponse(Response<T> response) {
+      try {
+        callback.onResponse(call, response);
+      } catch (Throwable t) {
+        t.printStackTrace();
+      }
+    }
+
+    void onFailure(Throwable failure) {
+      try {
+        callback.onFailure(call, failure);
+      } catch (Throwable t) {
+        t.printStackTrace();
+      }
+    }
+  }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.coalescing;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+import retrofit2.http.Streaming;
+
+public final class CoalescingCallAdapterFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  interface Service {
+    @Coalesce
+    @GET("/{path}")
+    Call<String> get(@Path("path") String path);
+
+    @Coalesce
+    @GET("/")
+    Call<String> withHeader(@Header("Accept-Language") String language);
+
+    @Coalesce
+    @GET("/")
+    CompletableFuture<String> future();
+
+    @GET("/")
+    Call<String> notCoalesced();
+
+    @Coalesce
+    @POST("/")
+    Call<String> post();
+
+    @Coalesce
+    @GET("/")
+    Call<ResponseBody> responseBody();
+
+    @Coalesce
+    @Streaming
+    @GET("/")
+    Call<String> streaming();
+  }
+
+  private final GatedDispatcher dispatcher = new GatedDispatcher();
+  private Service service;
+
+  @Before
+  public void setUp() {
+    server.setDispatcher(dispatcher);
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .addCallAdapterFactory(CoalescingCallAdapterFactory.create())
+            .build();
+    service = retrofit.create(Service.class);
+  }
+
+  @Test
+  public void identicalCallsShareOneRequest() throws Exception {
+    RecordingCallback leader = new RecordingCallback();
+    service.get("a").enqueue(leader);
+    dispatcher.awaitRequest();
+
+    RecordingCallback follower = new RecordingCallback();
+    service.get("a").enqueue(follower);
+    dispatcher.release();
+
+    assertThat(leader.takeBody()).isEqualTo("Hi");
+    assertThat(follower.takeBody()).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void executeJoinsInFlightRequest() throws Exception {
+    RecordingCallback leader = new RecordingCallback();
+    service.get("a").enqueue(leader);
+    dispatcher.awaitRequest();
+
+    BlockingQueue<Object> executed = new LinkedBlockingQueue<>();
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                executed.add(service.get("a").execute().body());
+              } catch (IOException e) {
+                executed.add(e);
+              }
+            });
+    thread.start();
+    // Wait for the call to join the in-flight request before completing it.
+    while (thread.getState() != Thread.State.WAITING) {
+      Thread.sleep(10);
+    }
+    dispatcher.release();
+
+    assertThat(leader.takeBody()).isEqualTo("Hi");
+    assertThat(executed.poll(5, SECONDS)).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void executeWithoutInFlightRequestRunsOnCallingThread() throws Exception {
+    dispatcher.release();
+    OkHttpClient client =
+        new OkHttpClient.Builder()
+            .dispatcher(
+                // Enqueued calls fail, as this rejects every call the dispatcher runs.
+                new okhttp3.Dispatcher(new RejectingExecutorService()))
+            .build();
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .client(client)
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .addCallAdapterFactory(CoalescingCallAdapterFactory.create())
+            .build();
+    Service rejectingService = retrofit.create(Service.class);
+
+    assertThat(rejectingService.get("a").execute().body()).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void differentRequestsAreNotCoalesced() throws Exception {
+    dispatcher.release();
+
+    RecordingCallback a = new RecordingCallback();
+    service.get("a").enqueue(a);
+    RecordingCallback b = new RecordingCallback();
+    service.get("b").enqueue(b);
+    RecordingCallback english = new RecordingCallback();
+    service.withHeader("en").enqueue(english);
+    RecordingCallback french = new RecordingCallback();
+    service.withHeader("fr").enqueue(french);
+
+    assertThat(a.takeBody()).isEqualTo("Hi");
+    assertThat(b.takeBody()).isEqualTo("Hi");
+    assertThat(english.takeBody()).isEqualTo("Hi");
+    assertThat(french.takeBody()).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void completedRequestIsNotReused() throws Exception {
+    dispatcher.release();
+
+    assertThat(service.get("a").execute().body()).isEqualTo("Hi");
+    assertThat(service.get("a").execute().body()).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void errorBodyIsCopiedForEachCall() throws Exception {
+    dispatcher.response = new MockResponse().setResponseCode(404).setBody("Nope");
+
+    RecordingCallback leader = new RecordingCallback();
+    service.get("a").enqueue(leader);
+    dispatcher.awaitRequest();
+    RecordingCallback follower = new RecordingCallback();
+    service.get("a").enqueue(follower);
+    dispatcher.release();
+
+    Response<String> leaderResponse = leader.takeResponse();
+    Response<String> followerResponse = follower.takeResponse();
+    assertThat(leaderResponse.code()).isEqualTo(404);
+    assertThat(leaderResponse.errorBody().string()).isEqualTo("Nope");
+    assertThat(followerResponse.code()).isEqualTo(404);
+    assertThat(followerResponse.errorBody().string()).isEqualTo("Nope");
+  }
+
+  @Test
+  public void failureIsDeliveredToEachCall() throws Exception {
+    dispatcher.response = new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST);
+
+    RecordingCallback leader = new RecordingCallback();
+    service.get("a").enqueue(leader);
+    dispatcher.awaitRequest();
+    RecordingCallback follower = new RecordingCallback();
+    service.get("a").enqueue(follower);
+    dispatcher.release();
+
+    assertThat(leader.takeFailure()).isInstanceOf(IOException.class);
+    assertThat(follower.takeFailure()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void cancelingLeaderDoesNotCancelRequest() throws Exception {
+    RecordingCallback leader = new RecordingCallback();
+    Call<String> leaderCall = service.get("a");
+    leaderCall.enqueue(leader);
+    dispatcher.awaitRequest();
+    RecordingCallback follower = new RecordingCallback();
+    service.get("a").enqueue(follower);
+
+    leaderCall.cancel();
+    assertThat(leaderCall.isCanceled()).isTrue();
+    assertThat(leader.takeFailure()).hasMessageThat().isEqualTo("Canceled");
+
+    dispatcher.release();
+    assertThat(follower.takeBody()).isEqualTo("Hi");
+  }
+
+  @Test
+  public void cancelingEveryCallCancelsRequest() throws Exception {
+    Call<String> first = service.get("a");
+    RecordingCallback firstCallback = new RecordingCallback();
+    first.enqueue(firstCallback);
+    dispatcher.awaitRequest();
+    Call<String> second = service.get("a");
+    RecordingCallback secondCallback = new RecordingCallback();
+    second.enqueue(secondCallback);
+
+    second.cancel();
+    first.cancel();
+    assertThat(firstCallback.takeFailure()).hasMessageThat().isEqualTo("Canceled");
+    assertThat(secondCallback.takeFailure()).hasMessageThat().isEqualTo("Canceled");
+    dispatcher.release();
+
+    // The canceled request is no longer joinable.
+    assertThat(service.get("a").execute().body()).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void canceledBeforeEnqueue() throws Exception {
+    Call<String> call = service.get("a");
+    call.cancel();
+    RecordingCallback callback = new RecordingCallback();
+    call.enqueue(callback);
+
+    assertThat(callback.takeFailure()).hasMessageThat().isEqualTo("Canceled");
+    assertThat(server.getRequestCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void cloneIsCoalesced() throws Exception {
+    Call<String> call = service.get("a");
+    RecordingCallback leader = new RecordingCallback();
+    call.enqueue(leader);
+    dispatcher.awaitRequest();
+    RecordingCallback follower = new RecordingCallback();
+    call.clone().enqueue(follower);
+    dispatcher.release();
+
+    assertThat(leader.takeBody()).isEqualTo("Hi");
+    assertThat(follower.takeBody()).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void completableFuture() throws Exception {
+    CompletableFuture<String> leader = service.future();
+    dispatcher.awaitRequest();
+    CompletableFuture<String> follower = service.future();
+    dispatcher.release();
+
+    assertThat(leader.get(5, SECONDS)).isEqualTo("Hi");
+    assertThat(follower.get(5, SECONDS)).isEqualTo("Hi");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void unannotatedMethodIsNotCoalesced() {
+    assertThat(service.notCoalesced()).isNotInstanceOf(CoalescingCall.class);
+    assertThat(service.get("a")).isInstanceOf(CoalescingCall.class);
+  }
+
+  @Test
+  public void nonIdempotentMethodThrows() {
+    try {
+      service.post();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo("@Coalesce may only be used on GET or HEAD methods.");
+    }
+  }
+
+  @Test
+  public void responseBodyThrows() {
+    try {
+      service.responseBody();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo("@Coalesce may not be used with ResponseBody as it can only be read once.");
+    }
+  }
+
+  @Test
+  public void streamingThrows() {
+    try {
+      service.streaming();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo("@Coalesce may not be used with @Streaming.");
+    }
+  }
+
+  static final class RejectingExecutorService extends AbstractExecutorService {
+    @Override
+    public void execute(Runnable command) {
+      throw new RejectedExecutionException();
+    }
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return false;
+    }
+  }
+
+  /** Holds every request until {@link #release()} is called. */
+  static final class GatedDispatcher extends Dispatcher {
+    private final Semaphore requests = new Semaphore(0);
+    private final CountDownLatch released = new CountDownLatch(1);
+    volatile MockResponse response = new MockResponse().setBody("Hi");
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+      requests.release();
+      released.await();
+      return response;
+    }
+
+    void awaitRequest() throws InterruptedException {
+      assertThat(requests.tryAcquire(5, SECONDS)).isTrue();
+    }
+
+    void release() {
+      released.countDown();
+    }
+  }
+
+  static final class RecordingCallback implements Callback<String> {
+    private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+
+    @Override
+    public void onResponse(Call<String> call, Response<String> response) {
+      results.add(response);
+    }
+
+    @Override
+    public void onFailure(Call<String> call, Throwable t) {
+      results.add(t);
+    }
+
+    @SuppressWarnings("unchecked")
+    Response<String> takeResponse() throws InterruptedException {
+      Object result = results.poll(5, SECONDS);
+      assertThat(result).isInstanceOf(Response.class);
+      return (Response<String>) result;
+    }
+
+    String takeBody() throws InterruptedException {
+      return takeResponse().body();
+    }
+
+    Throwable takeFailure() throws InterruptedException {
+      Object result = results.poll(5, SECONDS);
+      assertThat(result).isInstanceOf(Throwable.class);
+      return (Throwable) result;
+    }
+  }
+}
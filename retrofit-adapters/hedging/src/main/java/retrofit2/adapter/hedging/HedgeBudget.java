@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.hedging;
+
+/**
+ * Limits hedged requests to a fraction of calls. Each call deposits {@code ratio} tokens and each
+ * hedge withdraws one, so over time hedges add at most {@code ratio} extra load. The balance is
+ * capped so that a long quiet period cannot be followed by a burst of hedges.
+ */
+final class HedgeBudget {
+  private static final double MAX_BALANCE = 10.0;
+
+  private final double ratio;
+  private double balance; // Guarded by this.
+  private int hedgeCount; // Guarded by this.
+
+  HedgeBudget(double ratio) {
+    this.ratio = ratio;
+  }
+
+  synchronized void deposit() {
+    balance = Math.min(MAX_BALANCE, balance + ratio);
+  }
+
+  synchronized boolean tryWithdraw() {
+    if (balance < 1.0) return false;
+    balance -= 1.0;
+    hedgeCount++;
+    return true;
+  }
+
+  synchronized int hedgeCount() {
+    return hedgeCount;
+  }
+}
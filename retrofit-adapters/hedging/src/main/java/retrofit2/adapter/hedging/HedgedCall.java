@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.hedging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A call which makes a second attempt with a {@linkplain Call#clone() clone} of its delegate if the
+ * first has not completed within the hedging delay, and completes with whichever succeeds first.
+ */
+final class HedgedCall<T> implements Call<T> {
+  private final Call<T> delegate;
+  private final HedgingCallAdapterFactory.Policy policy;
+
+  private volatile boolean canceled;
+
+  // Guarded by this.
+  private boolean executed;
+  private boolean done;
+  private final List<Call<T>> attempts = new ArrayList<>(2);
+  private int outstanding;
+  private @Nullable ScheduledFuture<?> hedge;
+  private @Nullable Response<T> unsuccessfulResponse;
+  private @Nullable Throwable failure;
+  private long startNanos;
+
+  HedgedCall(Call<T> delegate, HedgingCallAdapterFactory.Policy policy) {
+    this.delegate = delegate;
+    this.policy = policy;
+  }
+
+  @Override
+  public void enqueue(Callback<T> callback) {
+    if (callback == null) throw new NullPointerException("callback == null");
+    if (!begin(callback)) return;
+
+    long delayNanos = policy.delayNanos();
+    start(delegate, callback);
+    scheduleHedge(callback, delayNanos);
+  }
+
+  @Override
+  public Response<T> execute() throws IOException {
+    BlockingCallback<T> callback = new BlockingCallback<>();
+    if (begin(callback)) {
+      long delayNanos = policy.delayNanos();
+      if (add(delegate)) {
+        scheduleHedge(callback, delayNanos);
+
+        // Make the first attempt on this thread rather than on OkHttp's dispatcher. If a hedge wins
+        // it cancels this attempt, which ends it early.
+        Response<T> response = null;
+        Throwable failure = null;
+        try {
+          response = delegate.execute();
+        } catch (Throwable t) {
+          failure = t;
+        }
+        complete(callback, response, failure);
+      }
+    }
+
+    // Wait for a hedge if the first attempt was unsuccessful while one was still in flight.
+    try {
+      callback.latch.await();
+    } catch (InterruptedException e) {
+      cancel();
+      Thread.currentThread().interrupt();
+      InterruptedIOException interrupted = new InterruptedIOException("interrupted");
+      interrupted.initCause(e);
+      throw interrupted;
+    }
+
+    Throwable failure = callback.failure;
+    if (failure != null) {
+      if (failure instanceof IOException) throw (IOException) failure;
+      if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+      if (failure instanceof Error) throw (Error) failure;
+      throw new RuntimeException(failure);
+    }
+    return callback.response;
+  }
+
+  /** Mark this call executed, or fail {@code callback} and return false if it was canceled. */
+  private boolean begin(Callback<T> callback) {
+    synchronized (this) {
+      if (executed) throw new IllegalStateException("Already executed.");
+      executed = true;
+      startNanos = System.nanoTime();
+    }
+    if (canceled) {
+      callback.onFailure(this, new IOException("Canceled"));
+      return false;
+    }
+    policy.budget.deposit();
+    return true;
+  }
+
+  private void scheduleHedge(Callback<T> callback, long delayNanos) {
+    if (delayNanos < 0L) return;
+    ScheduledFuture<?> hedge =
+        policy.scheduler.schedule(() -> hedge(callback), delayNanos, TimeUnit.NANOSECONDS);
+    synchronized (this) {
+      this.hedge = hedge;
+    }
+  }
+
+  private void hedge(Callback<T> callback) {
+    synchronized (this) {
+      if (done || canceled) return;
+    }
+    if (!policy.budget.tryWithdraw()) return;
+
+    Call<T> attempt;
+    try {
+      attempt = delegate.clone();
+    } catch (Throwable t) {
+      return; // The first attempt is unaffected.
+    }
+    start(attempt, callback);
+  }
+
+  private void start(Call<T> attempt, Callback<T> callback) {
+    if (!add(attempt)) return;
+
+    attempt.enqueue(
+        new Callback<T>() {
+          @Override
+          public void onResponse(Call<T> call, Response<T> response) {
+            complete(callback, response, null);
+          }
+
+          @Override
+          public void onFailure(Call<T> call, Throwable t) {
+            complete(callback, null, t);
+          }
+        });
+  }
+
+  /** Track {@code attempt} so that it is canceled with this call, or return false if done. */
+  private boolean add(Call<T> attempt) {
+    boolean canceled;
+    synchronized (this) {
+      if (done) return false;
+      attempts.add(attempt);
+      outstanding++;
+      // Read under the lock so that a racing cancel() either sees this attempt or is seen here.
+      canceled = this.canceled;
+    }
+    if (canceled) {
+      attempt.cancel(); // It still reports its failure to complete the call.
+    }
+    return true;
+  }
+
+  /**
+   * Deliver the outcome of an attempt if it succeeded or was the last outstanding. Otherwise hold
+   * it in case no other attempt succeeds either.
+   */
+  private void complete(
+      Callback<T> callback, @Nullable Response<T> response, @Nullable Throwable failure) {
+    boolean deliver = false;
+    Response<T> discarded = null;
+    List<Call<T>> attempts = Collections.emptyList();
+    ScheduledFuture<?> hedge = null;
+    synchronized (this) {
+      if (done) {
+        discarded = response; // Another attempt already completed the call.
+      } else {
+        outstanding--;
+
+        boolean successful = response != null && response.isSuccessful();
+        if (successful) {
+          discarded = this.unsuccessfulResponse; // Held in case no attempt succeeded.
+          deliver = true;
+
+          // Record the latency of the call rather than of the winning attempt. A hedge's own
+          // latency excludes the delay before it started and would pull the percentile down.
+          policy.latencies.record(System.nanoTime() - startNanos);
+        } else {
+          if (this.unsuccessfulResponse == null && this.failure == null) {
+            this.unsuccessfulResponse = response;
+            this.failure = failure;
+          } else {
+            discarded = response; // Only the first unsuccessful outcome is delivered.
+          }
+          if (outstanding == 0) {
+            response = this.unsuccessfulResponse;
+            failure = this.failure;
+            deliver = true;
+          }
+        }
+
+        if (deliver) {
+          done = true;
+          attempts = new ArrayList<>(this.attempts);
+          hedge = this.hedge;
+        }
+      }
+    }
+
+    closeQuietly(discarded);
+    if (!deliver) return;
+
+    if (hedge != null) {
+      hedge.cancel(false);
+    }
+    for (Call<T> attempt : attempts) {
+      attempt.cancel(); // Only affects attempts which are still in flight.
+    }
+
+    try {
+      if (response != null) {
+        callback.onResponse(this, response);
+      } else {
+        callback.onFailure(this, failure);
+      }
+    } catch (Throwable t) {
+      t.printStackTrace();
+    }
+  }
+
+  /** Release the connection held by a response which will not be delivered. */
+  private static void closeQuietly(@Nullable Response<?> response) {
+    if (response == null) return;
+    try {
+      Object body = response.body();
+      if (body instanceof Closeable) {
+        ((Closeable) body).close();
+      }
+      ResponseBody errorBody = response.errorBody();
+      if (errorBody != null) {
+        errorBody.close();
+      }
+    } catch (IOException | RuntimeException ignored) {
+    }
+  }
+
+  @Override
+  public synchronized boolean isExecuted() {
+    return executed;
+  }
+
+  @Override
+  public void cancel() {
+    canceled = true;
+
+    List<Call<T>> attempts;
+    ScheduledFuture<?> hedge;
+    synchronized (this) {
+      attempts = new ArrayList<>(this.attempts);
+      hedge = this.hedge;
+    }
+    if (hedge != null) {
+      hedge.cancel(false);
+    }
+    for (Call<T> attempt : attempts) {
+      attempt.cancel();
+    }
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return canceled;
+  }
+
+  @SuppressWarnings("CloneDoesntCallSuperClone") // We are a final type & this saves clearing state.
+  @Override
+  public Call<T> clone() {
+    return new HedgedCall<>(delegate.clone(), policy);
+  }
+
+  @Override
+  public Request request() {
+    return delegate.request();
+  }
+
+  @Override
+  public Timeout timeout() {
+    return delegate.timeout();
+  }
+
+  static final class BlockingCallback<T> implements Callback<T> {
+    final CountDownLatch latch = new CountDownLatch(1);
+    @Nullable Response<T> response;
+    @Nullable Throwable failure;
+
+    @Override
+    public void onResponse(Call<T> call, Response<T> response) {
+      this.response = response;
+      latch.countDown();
+    }
+
+    @Override
+    public void onFailure(Call<T> call, Throwable t) {
+      this.failure = t;
+      latch.countDown();
+    }
+  }
+}
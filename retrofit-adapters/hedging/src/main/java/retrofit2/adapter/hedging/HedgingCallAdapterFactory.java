@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.hedging;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nullable;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.HTTP;
+
+/**
+ * A {@linkplain CallAdapter.Factory call adapter} which hedges calls to {@link GET GET} and {@link
+ * HEAD HEAD} service methods. When a call has not completed within a percentile of the method's
+ * recent latencies, a duplicate request is made with a {@linkplain Call#clone() clone} of the call.
+ * The first successful response is used and the other request is canceled. {@link Call#execute()}
+ * makes its first request on the calling thread, and only a hedge is enqueued on OkHttp's
+ * dispatcher.
+ *
+ * <p>Each method tracks the latencies of its last 100 successful calls, measured from when each
+ * call was enqueued regardless of which request won, and hedging begins once it has 10. Hedged
+ * requests are limited by a budget which is a fraction of all calls made through this factory.
+ *
+ * <p>Calls are adapted to the method's return type by the next matching factory, so this works
+ * with {@code Call}, {@code CompletableFuture}, RxJava, and {@code suspend} functions. This factory
+ * must be {@linkplain Retrofit.Builder#addCallAdapterFactory(CallAdapter.Factory) added} before the
+ * factory which handles the return type.
+ */
+public final class HedgingCallAdapterFactory extends CallAdapter.Factory {
+  private static final int LATENCY_SAMPLES = 100;
+
+  private static @Nullable ScheduledExecutorService defaultScheduler;
+
+  private static synchronized ScheduledExecutorService defaultScheduler() {
+    if (defaultScheduler == null) {
+      defaultScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "Retrofit hedging");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return defaultScheduler;
+  }
+
+  /**
+   * Create an instance which hedges calls slower than the 95th percentile, with a budget of 5% of
+   * calls.
+   */
+  public static HedgingCallAdapterFactory create() {
+    return new Builder().build();
+  }
+
+  private final double percentile;
+  private final HedgeBudget budget;
+  private final ScheduledExecutorService scheduler;
+
+  HedgingCallAdapterFactory(Builder builder) {
+    this.percentile = builder.percentile;
+    this.budget = new HedgeBudget(builder.budget);
+    this.scheduler = builder.scheduler != null ? builder.scheduler : defaultScheduler();
+  }
+
+  /** The number of hedged requests which have been made. */
+  public int hedgeCount() {
+    return budget.hedgeCount();
+  }
+
+  @Override
+  public @Nullable CallAdapter<?, ?> get(
+      Type returnType, Annotation[] annotations, Retrofit retrofit) {
+    boolean idempotent = false;
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof GET || annotation instanceof HEAD) {
+        idempotent = true;
+      } else if (annotation instanceof HTTP) {
+        HTTP http = (HTTP) annotation;
+        idempotent =
+            !http.hasBody() && (http.method().equals("GET") || http.method().equals("HEAD"));
+      }
+    }
+    if (!idempotent) {
+      return null;
+    }
+
+    CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+    Policy policy = new Policy(percentile, new LatencyTracker(LATENCY_SAMPLES), budget, scheduler);
+    return new HedgingCallAdapter<>(delegate, policy);
+  }
+
+  /** The hedging configuration and latencies of one service method. */
+  static final class Policy {
+    final double percentile;
+    final LatencyTracker latencies;
+    final HedgeBudget budget;
+    final ScheduledExecutorService scheduler;
+
+    Policy(
+        double percentile,
+        LatencyTracker latencies,
+        HedgeBudget budget,
+        ScheduledExecutorService scheduler) {
+      this.percentile = percentile;
+      this.latencies = latencies;
+      this.budget = budget;
+      this.scheduler = scheduler;
+    }
+
+    /** How long to wait before hedging a call, or -1 to not hedge it. */
+    long delayNanos() {
+      return latencies.percentile(percentile);
+    }
+  }
+
+  static final class HedgingCallAdapter<R, T> implements CallAdapter<R, T> {
+    private final CallAdapter<R, T> delegate;
+    private final Policy policy;
+
+    @SuppressWarnings("unchecked") // The delegate is only ever used with its own types.
+    HedgingCallAdapter(CallAdapter<?, ?> delegate, Policy policy) {
+      this.delegate = (CallAdapter<R, T>) delegate;
+      this.policy = policy;
+    }
+
+    @Override
+    public Type responseType() {
+      return delegate.responseType();
+    }
+
+    @Override
+    public T adapt(Call<R> call) {
+      return delegate.adapt(new HedgedCall<>(call, policy));
+    }
+  }
+
+  public static final class Builder {
+    double percentile = 0.95;
+    double budget = 0.05;
+    @Nullable ScheduledExecutorService scheduler;
+
+    /**
+     * Hedge calls which have not completed within this percentile of recent latencies, such as
+     * 0.95 for the 95th percentile. Defaults to 0.95.
+     */
+    public Builder percentile(double percentile) {
+      if (!(percentile > 0.0 && percentile < 1.0)) {
+        throw new IllegalArgumentException("percentile must be in (0, 1): " + percentile);
+      }
+      this.percentile = percentile;
+      return this;
+    }
+
+    /**
+     * The fraction of calls which may be hedged, such as 0.05 for at most 5% additional requests.
+     * Defaults to 0.05.
+     */
+    public Builder budget(double budget) {
+      if (!(budget > 0.0 && budget <= 1.0)) {
+        throw new IllegalArgumentException("budget must be in (0, 1]: " + budget);
+      }
+      this.budget = budget;
+      return this;
+    }
+
+    /** Where hedged requests are scheduled. Defaults to a shared daemon thread. */
+    @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      if (scheduler == null) throw new NullPointerException("scheduler == null");
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    public HedgingCallAdapterFactory build() {
+      return new HedgingCallAdapterFactory(this);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.hedging;
+
+import java.util.Arrays;
+
+/** Records the most recent latencies of a service method's successful calls. */
+final class LatencyTracker {
+  /** Percentiles of fewer samples than this are too noisy to act on. */
+  static final int MIN_SAMPLES = 10;
+
+  private final long[] samples; // Guarded by this.
+  private int count; // Guarded by this.
+  private int next; // Guarded by this.
+
+  LatencyTracker(int capacity) {
+    this.samples = new long[capacity];
+  }
+
+  synchronized void record(long latencyNanos) {
+    samples[next] = latencyNanos;
+    next = (next + 1) % samples.length;
+    if (count < samples.length) count++;
+  }
+
+  /**
+   * Returns the latency which {@code percentile} of recent samples did not exceed, or -1 if there
+   * are not yet enough samples.
+   */
+  synchronized long percentile(double percentile) {
+    if (count < MIN_SAMPLES) return -1L;
+    long[] sorted = Arrays.copyOf(samples, count);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile * count) - 1;
+    return sorted[Math.max(0, index)];
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.hedging;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public final class HedgeBudgetTest {
+  @Test
+  public void limitsHedgesToFractionOfCalls() {
+    HedgeBudget budget = new HedgeBudget(0.25);
+    int hedges = 0;
+    for (int i = 0; i < 100; i++) {
+      budget.deposit();
+      if (budget.tryWithdraw()) hedges++;
+    }
+    assertThat(hedges).isEqualTo(25);
+    assertThat(budget.hedgeCount()).isEqualTo(25);
+  }
+
+  @Test
+  public void balanceIsCapped() {
+    HedgeBudget budget = new HedgeBudget(1.0);
+    for (int i = 0; i < 100; i++) {
+      budget.deposit();
+    }
+    int hedges = 0;
+    while (budget.tryWithdraw()) {
+      hedges++;
+    }
+    assertThat(hedges).isEqualTo(10);
+  }
+}
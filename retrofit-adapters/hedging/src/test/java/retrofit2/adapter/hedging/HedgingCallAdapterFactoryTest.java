@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.hedging;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Timeout;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+
+public final class HedgingCallAdapterFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  interface Service {
+    @GET("/")
+    Call<String> get();
+
+    @GET("/")
+    CompletableFuture<String> future();
+
+    @POST("/")
+    Call<String> post();
+  }
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  private Service service(HedgingCallAdapterFactory factory) {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .addCallAdapterFactory(factory)
+            .build();
+    return retrofit.create(Service.class);
+  }
+
+  private HedgingCallAdapterFactory.Builder builder() {
+    return new HedgingCallAdapterFactory.Builder().scheduler(scheduler);
+  }
+
+  /** Make enough fast calls for the method to start hedging. */
+  private void warmUp(Service service) throws IOException {
+    for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+      server.enqueue(new MockResponse().setBody("Warm"));
+      assertThat(service.get().execute().body()).isEqualTo("Warm");
+    }
+  }
+
+  @Test
+  public void slowCallIsHedged() throws IOException {
+    HedgingCallAdapterFactory factory = builder().budget(1.0).build();
+    Service service = service(factory);
+    warmUp(service);
+
+    server.enqueue(new MockResponse().setHeadersDelay(5, SECONDS).setBody("Slow"));
+    server.enqueue(new MockResponse().setBody("Fast"));
+
+    long start = System.nanoTime();
+    assertThat(service.get().execute().body()).isEqualTo("Fast");
+    assertThat(System.nanoTime() - start).isLessThan(SECONDS.toNanos(5));
+    assertThat(factory.hedgeCount()).isEqualTo(1);
+    assertThat(server.getRequestCount()).isEqualTo(12);
+  }
+
+  @Test
+  public void slowCallIsHedgedWhenEnqueued() throws Exception {
+    HedgingCallAdapterFactory factory = builder().budget(1.0).build();
+    Service service = service(factory);
+    warmUp(service);
+
+    server.enqueue(new MockResponse().setHeadersDelay(5, SECONDS).setBody("Slow"));
+    server.enqueue(new MockResponse().setBody("Fast"));
+
+    assertThat(service.future().get(4, SECONDS)).isEqualTo("Fast");
+    assertThat(factory.hedgeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void hedgedCallRecordsLatencySinceEnqueue() throws IOException {
+    LatencyTracker latencies = new LatencyTracker(100);
+    for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+      latencies.record(MILLISECONDS.toNanos(500));
+    }
+    HedgingCallAdapterFactory.Policy policy =
+        new HedgingCallAdapterFactory.Policy(0.95, latencies, new HedgeBudget(1.0), scheduler);
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .build();
+    Call<String> delegate = retrofit.create(Service.class).get();
+
+    server.enqueue(new MockResponse().setHeadersDelay(5, SECONDS).setBody("Slow"));
+    server.enqueue(new MockResponse().setBody("Fast"));
+
+    assertThat(new HedgedCall<>(delegate, policy).execute().body()).isEqualTo("Fast");
+    // The hedge itself was fast, but the call waited for the hedging delay before making it.
+    assertThat(latencies.percentile(0.05)).isAtLeast(MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  public void losingResponseIsClosed() throws Exception {
+    LatencyTracker latencies = new LatencyTracker(100);
+    for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+      latencies.record(MILLISECONDS.toNanos(10));
+    }
+    HedgingCallAdapterFactory.Policy policy =
+        new HedgingCallAdapterFactory.Policy(0.95, latencies, new HedgeBudget(1.0), scheduler);
+    FakeCall first = new FakeCall();
+    BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+    new HedgedCall<>(first, policy)
+        .enqueue(
+            new Callback<ResponseBody>() {
+              @Override
+              public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+                results.add(response.body());
+              }
+
+              @Override
+              public void onFailure(Call<ResponseBody> call, Throwable t) {
+                results.add(t);
+              }
+            });
+
+    FakeCall hedge = first.clones.poll(5, SECONDS);
+    TrackingBody winner = new TrackingBody();
+    hedge.respond(winner);
+    assertThat(results.poll(5, SECONDS)).isSameInstanceAs(winner);
+
+    TrackingBody loser = new TrackingBody();
+    first.respond(loser);
+    assertThat(loser.closed).isTrue();
+    assertThat(winner.closed).isFalse();
+  }
+
+  @Test
+  public void executeMakesFirstAttemptOnCallingThread() throws IOException {
+    HedgingCallAdapterFactory.Policy policy =
+        new HedgingCallAdapterFactory.Policy(
+            0.95, new LatencyTracker(100), new HedgeBudget(1.0), scheduler);
+    FakeCall first = new FakeCall();
+
+    assertThat(new HedgedCall<>(first, policy).execute().body()).isInstanceOf(TrackingBody.class);
+    assertThat(first.executingThread).isSameInstanceAs(Thread.currentThread());
+  }
+
+  @Test
+  public void fastCallIsNotHedged() throws IOException {
+    HedgingCallAdapterFactory factory = builder().budget(1.0).build();
+    Service service = service(factory);
+    warmUp(service);
+
+    server.enqueue(new MockResponse().setBody("Fast"));
+    assertThat(service.get().execute().body()).isEqualTo("Fast");
+    assertThat(factory.hedgeCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void callIsNotHedgedWithoutEnoughSamples() throws IOException {
+    HedgingCallAdapterFactory factory = builder().budget(1.0).build();
+    Service service = service(factory);
+
+    server.enqueue(new MockResponse().setHeadersDelay(200, MILLISECONDS).setBody("Slow"));
+    assertThat(service.get().execute().body()).isEqualTo("Slow");
+    assertThat(factory.hedgeCount()).isEqualTo(0);
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void callIsNotHedgedBeyondBudget() throws IOException {
+    HedgingCallAdapterFactory factory = builder().budget(0.05).build();
+    Service service = service(factory);
+    warmUp(service);
+
+    server.enqueue(new MockResponse().setHeadersDelay(500, MILLISECONDS).setBody("Slow"));
+    assertThat(service.get().execute().body()).isEqualTo("Slow");
+    assertThat(factory.hedgeCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void unsuccessfulHedgeWaitsForFirstAttempt() throws IOException {
+    HedgingCallAdapterFactory factory = builder().budget(1.0).build();
+    Service service = service(factory);
+    warmUp(service);
+
+    server.enqueue(new MockResponse().setHeadersDelay(500, MILLISECONDS).setBody("Slow"));
+    server.enqueue(new MockResponse().setResponseCode(503));
+
+    Response<String> response = service.get().execute();
+    assertThat(response.body()).isEqualTo("Slow");
+    assertThat(factory.hedgeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void firstUnsuccessfulResponseIsDeliveredWhenAllAttemptsFail() throws IOException {
+    HedgingCallAdapterFactory factory = builder().budget(1.0).build();
+    Service service = service(factory);
+    warmUp(service);
+
+    server.enqueue(new MockResponse().setHeadersDelay(500, MILLISECONDS).setResponseCode(404));
+    server.enqueue(new MockResponse().setResponseCode(503));
+
+    assertThat(service.get().execute().code()).isEqualTo(503);
+  }
+
+  @Test
+  public void cancelCancelsEveryAttempt() throws Exception {
+    HedgingCallAdapterFactory factory = builder().budget(1.0).build();
+    Service service = service(factory);
+    warmUp(service);
+
+    server.enqueue(new MockResponse().setHeadersDelay(5, SECONDS).setBody("Slow"));
+    server.enqueue(new MockResponse().setHeadersDelay(5, SECONDS).setBody("Slow"));
+
+    Call<String> call = service.get();
+    BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+    call.enqueue(
+        new Callback<String>() {
+          @Override
+          public void onResponse(Call<String> call, Response<String> response) {
+            results.add(response);
+          }
+
+          @Override
+          public void onFailure(Call<String> call, Throwable t) {
+            results.add(t);
+          }
+        });
+    // Wait for the warm up requests and both attempts.
+    for (int i = 0; i < LatencyTracker.MIN_SAMPLES + 2; i++) {
+      server.takeRequest();
+    }
+
+    call.cancel();
+    Object result = results.poll(4, SECONDS);
+    assertThat(result).isInstanceOf(IOException.class);
+    assertThat(call.isCanceled()).isTrue();
+  }
+
+  @Test
+  public void nonIdempotentMethodIsNotHedged() {
+    Service service = service(builder().build());
+    assertThat(service.post()).isNotInstanceOf(HedgedCall.class);
+    assertThat(service.get()).isInstanceOf(HedgedCall.class);
+  }
+
+  /** A call which completes immediately when executed, or when {@link #respond} is called. */
+  static final class FakeCall implements Call<ResponseBody> {
+    final BlockingQueue<FakeCall> clones = new LinkedBlockingQueue<>();
+    private volatile Callback<ResponseBody> callback;
+    private volatile boolean canceled;
+    volatile Thread executingThread;
+
+    void respond(ResponseBody body) {
+      callback.onResponse(this, Response.success(body));
+    }
+
+    @Override
+    public Response<ResponseBody> execute() {
+      executingThread = Thread.currentThread();
+      return Response.success(new TrackingBody());
+    }
+
+    @Override
+    public void enqueue(Callback<ResponseBody> callback) {
+      this.callback = callback;
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return callback != null;
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public FakeCall clone() {
+      FakeCall clone = new FakeCall();
+      clones.add(clone);
+      return clone;
+    }
+
+    @Override
+    public Request request() {
+      return new Request.Builder().url("https://example.com/").build();
+    }
+
+    @Override
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+  }
+
+  static final class TrackingBody extends ResponseBody {
+    volatile boolean closed;
+
+    @Override
+    public MediaType contentType() {
+      return null;
+    }
+
+    @Override
+    public long contentLength() {
+      return 0;
+    }
+
+    @Override
+    public BufferedSource source() {
+      return new Buffer();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.hedging;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public final class LatencyTrackerTest {
+  @Test
+  public void noPercentileUntilEnoughSamples() {
+    LatencyTracker tracker = new LatencyTracker(100);
+    for (int i = 1; i < LatencyTracker.MIN_SAMPLES; i++) {
+      tracker.record(i);
+    }
+    assertThat(tracker.percentile(0.95)).isEqualTo(-1L);
+
+    tracker.record(LatencyTracker.MIN_SAMPLES);
+    assertThat(tracker.percentile(0.95)).isEqualTo(10L);
+  }
+
+  @Test
+  public void percentile() {
+    LatencyTracker tracker = new LatencyTracker(100);
+    for (int i = 100; i >= 1; i--) {
+      tracker.record(i);
+    }
+    assertThat(tracker.percentile(0.5)).isEqualTo(50L);
+    assertThat(tracker.percentile(0.95)).isEqualTo(95L);
+    assertThat(tracker.percentile(0.99)).isEqualTo(99L);
+  }
+
+  @Test
+  public void oldestSamplesAreReplaced() {
+    LatencyTracker tracker = new LatencyTracker(10);
+    for (int i = 0; i < 10; i++) {
+      tracker.record(1_000L);
+    }
+    for (int i = 0; i < 10; i++) {
+      tracker.record(1L);
+    }
+    assertThat(tracker.percentile(0.95)).isEqualTo(1L);
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.limiter;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/** A call which waits for capacity from its {@link Limiter} before executing its delegate. */
+final class LimitedCall<T> implements Call<T> {
+  private final Call<T> delegate;
+  private final LimiterCallAdapterFactory.LimiterSelector selector;
+
+  private volatile boolean canceled;
+  private boolean executed; // Guarded by this.
+  private @Nullable Limiter limiter; // Guarded by this.
+  private @Nullable Limiter.Permit permit; // Guarded by this.
+
+  LimitedCall(Call<T> delegate, LimiterCallAdapterFactory.LimiterSelector selector) {
+    this.delegate = delegate;
+    this.selector = selector;
+  }
+
+  @Override
+  public Response<T> execute() throws IOException {
+    synchronized (this) {
+      if (executed) throw new IllegalStateException("Already executed.");
+      executed = true;
+    }
+    if (canceled) throw new IOException("Canceled");
+
+    Limiter limiter = selector.limiter(delegate);
+    limiter.acquire();
+    long start = System.nanoTime();
+    boolean released = false;
+    try {
+      Response<T> response = delegate.execute();
+      limiter.release(System.nanoTime() - start, isDropped(response));
+      released = true;
+      return response;
+    } catch (IOException e) {
+      if (delegate.isCanceled()) {
+        limiter.releaseCanceled();
+      } else {
+        limiter.release(System.nanoTime() - start, true);
+      }
+      released = true;
+      throw e;
+    } finally {
+      if (!released) {
+        limiter.releaseCanceled();
+      }
+    }
+  }
+
+  @Override
+  public void enqueue(Callback<T> callback) {
+    if (callback == null) throw new NullPointerException("callback == null");
+
+    synchronized (this) {
+      if (executed) throw new IllegalStateException("Already executed.");
+      executed = true;
+    }
+    if (canceled) {
+      callback.onFailure(this, new IOException("Canceled"));
+      return;
+    }
+
+    Limiter limiter;
+    try {
+      limiter = selector.limiter(delegate);
+    } catch (Throwable t) {
+      callback.onFailure(this, t);
+      return;
+    }
+
+    Limiter.Permit permit =
+        new Limiter.Permit() {
+          @Override
+          public void granted() {
+            long start = System.nanoTime();
+            delegate.enqueue(
+                new Callback<T>() {
+                  @Override
+                  public void onResponse(Call<T> call, Response<T> response) {
+                    limiter.release(System.nanoTime() - start, isDropped(response));
+                    callback.onResponse(LimitedCall.this, response);
+                  }
+
+                  @Override
+                  public void onFailure(Call<T> call, Throwable t) {
+                    if (call.isCanceled()) {
+                      limiter.releaseCanceled();
+                    } else {
+                      limiter.release(System.nanoTime() - start, true);
+                    }
+                    callback.onFailure(LimitedCall.this, t);
+                  }
+                });
+          }
+
+          @Override
+          public void rejected(IOException e) {
+            callback.onFailure(LimitedCall.this, e);
+          }
+        };
+    synchronized (this) {
+      this.limiter = limiter;
+      this.permit = permit;
+    }
+    limiter.acquire(permit);
+  }
+
+  /** Responses which indicate that the server is overloaded. */
+  static boolean isDropped(Response<?> response) {
+    int code = response.code();
+    return code == 429 || code == 503;
+  }
+
+  @Override
+  public synchronized boolean isExecuted() {
+    return executed;
+  }
+
+  @Override
+  public void cancel() {
+    canceled = true;
+    delegate.cancel();
+
+    Limiter limiter;
+    Limiter.Permit permit;
+    synchronized (this) {
+      limiter = this.limiter;
+      permit = this.permit;
+    }
+    // A call which is still waiting for capacity fails now rather than when it is granted.
+    if (limiter != null && permit != null && limiter.remove(permit)) {
+      permit.rejected(new IOException("Canceled"));
+    }
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return canceled || delegate.isCanceled();
+  }
+
+  @SuppressWarnings("CloneDoesntCallSuperClone") // We are a final type & this saves clearing state.
+  @Override
+  public Call<T> clone() {
+    return new LimitedCall<>(delegate.clone(), selector);
+  }
+
+  @Override
+  public Request request() {
+    return delegate.request();
+  }
+
+  @Override
+  public Timeout timeout() {
+    return delegate.timeout();
+  }
+}
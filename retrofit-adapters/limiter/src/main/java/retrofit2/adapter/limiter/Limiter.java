@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.limiter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Limits the number of calls in flight at once, adapting the limit to how the server responds with
+ * additive-increase/multiplicative-decrease (AIMD).
+ *
+ * <p>When a call fails with an {@link IOException}, receives a {@code 429} or {@code 503}
+ * response, or takes longer than the {@linkplain Builder#latencyThreshold latency threshold}, the
+ * limit is multiplied by the {@linkplain Builder#backoffRatio backoff ratio}. Otherwise, when at
+ * least half of the limit is in use, it is increased by one. Calls beyond the limit wait for up to
+ * {@linkplain Builder#maxWait the maximum wait} and then fail with {@link LimitExceededException}.
+ */
+public final class Limiter {
+  private static @Nullable ScheduledExecutorService defaultScheduler;
+
+  private static synchronized ScheduledExecutorService defaultScheduler() {
+    if (defaultScheduler == null) {
+      defaultScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "Retrofit limiter timeout");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return defaultScheduler;
+  }
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+  private final long maxWaitNanos;
+  private final ScheduledExecutorService scheduler;
+
+  // Guarded by this.
+  private double limit;
+  private int inFlight;
+  private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+
+  Limiter(Builder builder, ScheduledExecutorService scheduler) {
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.backoffRatio = builder.backoffRatio;
+    this.latencyThresholdNanos = builder.latencyThresholdNanos;
+    this.maxWaitNanos = builder.maxWaitNanos;
+    this.scheduler = scheduler;
+    this.limit = builder.initialLimit;
+  }
+
+  /** The number of calls which may currently be in flight at once. */
+  public synchronized int limit() {
+    return (int) limit;
+  }
+
+  /** The number of calls currently in flight. */
+  public synchronized int inFlight() {
+    return inFlight;
+  }
+
+  /** The number of calls currently waiting for another to complete. */
+  public synchronized int queued() {
+    return queue.size();
+  }
+
+  /** Block until a call may start, or throw if it has waited too long. */
+  void acquire() throws IOException {
+    Waiter waiter = new Waiter(null);
+    if (tryAcquire(waiter)) return;
+
+    boolean interrupted = false;
+    boolean granted;
+    synchronized (this) {
+      long deadline = System.nanoTime() + maxWaitNanos;
+      while (!waiter.granted) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          queue.remove(waiter);
+          throw exceeded();
+        }
+        try {
+          TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        } catch (InterruptedException e) {
+          interrupted = true;
+          queue.remove(waiter);
+          break;
+        }
+      }
+      granted = waiter.granted;
+    }
+
+    if (interrupted) {
+      if (granted) {
+        releaseCanceled();
+      }
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted");
+    }
+  }
+
+  /**
+   * Call {@code permit} once a call may start, or fail it if it waits too long. This does not block
+   * and {@code permit} may be invoked on the calling thread.
+   */
+  void acquire(Permit permit) {
+    Waiter waiter = new Waiter(permit);
+    try {
+      if (tryAcquire(waiter)) {
+        permit.granted();
+        return;
+      }
+    } catch (LimitExceededException e) {
+      permit.rejected(e);
+      return;
+    }
+
+    waiter.timeout =
+        scheduler.schedule(
+            () -> {
+              if (remove(waiter)) {
+                permit.rejected(exceeded());
+              }
+            },
+            maxWaitNanos,
+            TimeUnit.NANOSECONDS);
+  }
+
+  /** Returns true if a call may start now, or false if {@code waiter} was queued to wait. */
+  private synchronized boolean tryAcquire(Waiter waiter) throws LimitExceededException {
+    if (queue.isEmpty() && inFlight < (int) limit) {
+      inFlight++;
+      return true;
+    }
+    if (maxWaitNanos == 0L) {
+      throw exceeded();
+    }
+    queue.add(waiter);
+    return false;
+  }
+
+  /** Remove a waiting {@code permit}. Returns false if it has already been granted or rejected. */
+  boolean remove(Permit permit) {
+    synchronized (this) {
+      for (Waiter waiter : queue) {
+        if (waiter.permit == permit) {
+          return remove(waiter);
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean remove(Waiter waiter) {
+    synchronized (this) {
+      if (!queue.remove(waiter)) return false;
+    }
+    ScheduledFuture<?> timeout = waiter.timeout;
+    if (timeout != null) {
+      timeout.cancel(false);
+    }
+    return true;
+  }
+
+  /**
+   * Release the capacity held by a completed call and adjust the limit. A call which took {@code
+   * latencyNanos} or which {@code dropped} is a sign the server is overloaded.
+   */
+  void release(long latencyNanos, boolean dropped) {
+    sample(latencyNanos, dropped, true);
+  }
+
+  /** Release the capacity held by a canceled call without adjusting the limit. */
+  void releaseCanceled() {
+    sample(0L, false, false);
+  }
+
+  private void sample(long latencyNanos, boolean dropped, boolean adjust) {
+    List<Waiter> granted = new ArrayList<>();
+    synchronized (this) {
+      if (adjust) {
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+          limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+          limit = Math.min(maxLimit, limit + 1);
+        }
+      }
+      inFlight--;
+
+      while (inFlight < (int) limit && !queue.isEmpty()) {
+        Waiter waiter = queue.remove();
+        waiter.granted = true;
+        inFlight++;
+        granted.add(waiter);
+      }
+      notifyAll();
+    }
+
+    for (Waiter waiter : granted) {
+      ScheduledFuture<?> timeout = waiter.timeout;
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+      if (waiter.permit != null) {
+        waiter.permit.granted();
+      }
+    }
+  }
+
+  private LimitExceededException exceeded() {
+    return new LimitExceededException("Concurrency limit of " + limit() + " exceeded");
+  }
+
+  /** Receives the outcome of a non-blocking {@link #acquire(Permit)}. */
+  interface Permit {
+    void granted();
+
+    void rejected(IOException e);
+  }
+
+  private static final class Waiter {
+    final @Nullable Permit permit;
+    boolean granted; // Guarded by the limiter.
+    volatile @Nullable ScheduledFuture<?> timeout;
+
+    Waiter(@Nullable Permit permit) {
+      this.permit = permit;
+    }
+  }
+
+  public static final class Builder {
+    int initialLimit = 20;
+    int minLimit = 1;
+    int maxLimit = 200;
+    double backoffRatio = 0.9;
+    long latencyThresholdNanos = TimeUnit.SECONDS.toNanos(5);
+    long maxWaitNanos = 0L;
+    @Nullable ScheduledExecutorService scheduler;
+
+    /** The limit before any calls have completed. Defaults to 20. */
+    public Builder initialLimit(int initialLimit) {
+      if (initialLimit < 1) throw new IllegalArgumentException("initialLimit < 1: " + initialLimit);
+      this.initialLimit = initialLimit;
+      return this;
+    }
+
+    /** The limit will not be decreased below this. Defaults to 1. */
+    public Builder minLimit(int minLimit) {
+      if (minLimit < 1) throw new IllegalArgumentException("minLimit < 1: " + minLimit);
+      this.minLimit = minLimit;
+      return this;
+    }
+
+    /** The limit will not be increased above this. Defaults to 200. */
+    public Builder maxLimit(int maxLimit) {
+      if (maxLimit < 1) throw new IllegalArgumentException("maxLimit < 1: " + maxLimit);
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /** The limit is multiplied by this when the server is overloaded. Defaults to 0.9. */
+    public Builder backoffRatio(double backoffRatio) {
+      if (!(backoffRatio > 0.0 && backoffRatio < 1.0)) {
+        throw new IllegalArgumentException("backoffRatio must be in (0, 1): " + backoffRatio);
+      }
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    /** Calls which take longer than this decrease the limit. Defaults to 5 seconds. */
+    @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+    public Builder latencyThreshold(long latencyThreshold, TimeUnit unit) {
+      if (unit == null) throw new NullPointerException("unit == null");
+      if (latencyThreshold < 0) {
+        throw new IllegalArgumentException("latencyThreshold < 0: " + latencyThreshold);
+      }
+      this.latencyThresholdNanos = unit.toNanos(latencyThreshold);
+      return this;
+    }
+
+    /**
+     * How long a call beyond the limit waits for another to complete before it fails. Defaults to
+     * 0, which fails such calls immediately.
+     */
+    @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+    public Builder maxWait(long maxWait, TimeUnit unit) {
+      if (unit == null) throw new NullPointerException("unit == null");
+      if (maxWait < 0) throw new IllegalArgumentException("maxWait < 0: " + maxWait);
+      this.maxWaitNanos = unit.toNanos(maxWait);
+      return this;
+    }
+
+    /** Where the waits of asynchronous calls are timed. Defaults to a shared daemon thread. */
+    @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      if (scheduler == null) throw new NullPointerException("scheduler == null");
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    /** Create a new limiter. A builder may be used to create any number of them. */
+    public Limiter build() {
+      if (minLimit > maxLimit) {
+        throw new IllegalArgumentException("minLimit > maxLimit: " + minLimit + " > " + maxLimit);
+      }
+      if (initialLimit < minLimit || initialLimit > maxLimit) {
+        throw new IllegalArgumentException(
+            "initialLimit must be in [" + minLimit + ", " + maxLimit + "]: " + initialLimit);
+      }
+      return new Limiter(this, scheduler != null ? scheduler : defaultScheduler());
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.limiter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+
+/**
+ * A {@linkplain CallAdapter.Factory call adapter} which limits how many calls are in flight at
+ * once with {@link Limiter Limiters}. Unlike the limits of OkHttp's {@link okhttp3.Dispatcher
+ * Dispatcher}, which are fixed and queue excess calls without bound, these adapt to how the server
+ * responds, and excess calls fail with {@link LimitExceededException} after a bounded wait.
+ *
+ * <p>Calls are adapted to the method's return type by the next matching factory, so this works
+ * with {@code Call}, {@code CompletableFuture}, RxJava, and {@code suspend} functions. This factory
+ * must be {@linkplain Retrofit.Builder#addCallAdapterFactory(CallAdapter.Factory) added} before the
+ * factory which handles the return type.
+ */
+public final class LimiterCallAdapterFactory extends CallAdapter.Factory {
+  /** Create an instance which limits every call with {@code limiter}. */
+  @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+  public static LimiterCallAdapterFactory create(Limiter limiter) {
+    if (limiter == null) throw new NullPointerException("limiter == null");
+    return new LimiterCallAdapterFactory(limiter, null, false);
+  }
+
+  /**
+   * Create an instance which limits the calls of each service method with its own limiter from
+   * {@code builder}.
+   */
+  public static LimiterCallAdapterFactory perMethod(Limiter.Builder builder) {
+    checkBuilder(builder);
+    return new LimiterCallAdapterFactory(null, builder, false);
+  }
+
+  /**
+   * Create an instance which limits calls to each host with its own limiter from {@code builder}.
+   */
+  public static LimiterCallAdapterFactory perHost(Limiter.Builder builder) {
+    checkBuilder(builder);
+    return new LimiterCallAdapterFactory(null, builder, true);
+  }
+
+  @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+  private static void checkBuilder(Limiter.Builder builder) {
+    if (builder == null) throw new NullPointerException("builder == null");
+    builder.build(); // Fail now rather than on the first call if the limits are invalid.
+  }
+
+  private final @Nullable Limiter limiter;
+  private final @Nullable Limiter.Builder builder;
+  private final boolean perHost;
+  private final ConcurrentMap<String, Limiter> hostLimiters = new ConcurrentHashMap<>();
+
+  private LimiterCallAdapterFactory(
+      @Nullable Limiter limiter, @Nullable Limiter.Builder builder, boolean perHost) {
+    this.limiter = limiter;
+    this.builder = builder;
+    this.perHost = perHost;
+  }
+
+  @Override
+  public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+    CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+
+    LimiterSelector selector;
+    if (limiter != null) {
+      Limiter shared = limiter;
+      selector = call -> shared;
+    } else if (perHost) {
+      selector = call -> hostLimiter(call.request().url().host());
+    } else {
+      Limiter methodLimiter = builder.build();
+      selector = call -> methodLimiter;
+    }
+    return new LimiterCallAdapter<>(delegate, selector);
+  }
+
+  private Limiter hostLimiter(String host) {
+    Limiter limiter = hostLimiters.get(host);
+    if (limiter == null) {
+      Limiter created = builder.build();
+      limiter = hostLimiters.putIfAbsent(host, created);
+      if (limiter == null) {
+        limiter = created;
+      }
+    }
+    return limiter;
+  }
+
+  /** Chooses the limiter which applies to a call. */
+  interface LimiterSelector {
+    Limiter limiter(Call<?> call);
+  }
+
+  static final class LimiterCallAdapter<R, T> implements CallAdapter<R, T> {
+    private final CallAdapter<R, T> delegate;
+    private final LimiterSelector selector;
+
+    @SuppressWarnings("unchecked") // The delegate is only ever used with its own types.
+    LimiterCallAdapter(CallAdapter<?, ?> delegate, LimiterSelector selector) {
+      this.delegate = (CallAdapter<R, T>) delegate;
+      this.selector = selector;
+    }
+
+    @Override
+    public Type responseType() {
+      return delegate.responseType();
+    }
+
+    @Override
+    public T adapt(Call<R> call) {
+      return delegate.adapt(new LimitedCall<>(call, selector));
+    }
+  }
+}
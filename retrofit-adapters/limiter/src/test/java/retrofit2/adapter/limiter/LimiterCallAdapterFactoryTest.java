@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.limiter;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.mock.BehaviorDelegate;
+import retrofit2.mock.MockRetrofit;
+import retrofit2.mock.NetworkBehavior;
+
+public final class LimiterCallAdapterFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  interface Service {
+    @GET("/a")
+    Call<String> a();
+
+    @GET("/b")
+    Call<String> b();
+  }
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final GatedDispatcher dispatcher = new GatedDispatcher();
+
+  @After
+  public void tearDown() {
+    dispatcher.release();
+    scheduler.shutdownNow();
+  }
+
+  private Limiter.Builder builder() {
+    return new Limiter.Builder().scheduler(scheduler);
+  }
+
+  private Retrofit retrofit(LimiterCallAdapterFactory factory) {
+    return new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(ScalarsConverterFactory.create())
+        .addCallAdapterFactory(factory)
+        .build();
+  }
+
+  private Service service(LimiterCallAdapterFactory factory) {
+    return retrofit(factory).create(Service.class);
+  }
+
+  @Test
+  public void callBeyondLimitIsRejected() throws Exception {
+    server.setDispatcher(dispatcher);
+    Limiter limiter = builder().initialLimit(1).build();
+    Service service = service(LimiterCallAdapterFactory.create(limiter));
+
+    RecordingCallback first = new RecordingCallback();
+    service.a().enqueue(first);
+    dispatcher.awaitRequest();
+
+    RecordingCallback second = new RecordingCallback();
+    service.a().enqueue(second);
+    assertThat(second.take()).isInstanceOf(LimitExceededException.class);
+    try {
+      service.a().execute();
+      fail();
+    } catch (LimitExceededException expected) {
+    }
+
+    dispatcher.release();
+    assertThat(first.take()).isInstanceOf(Response.class);
+    assertThat(limiter.inFlight()).isEqualTo(0);
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void queuedCallStartsWhenCapacityIsReleased() throws Exception {
+    server.setDispatcher(dispatcher);
+    Limiter limiter = builder().initialLimit(1).maxWait(5, SECONDS).build();
+    Service service = service(LimiterCallAdapterFactory.create(limiter));
+
+    RecordingCallback first = new RecordingCallback();
+    service.a().enqueue(first);
+    dispatcher.awaitRequest();
+    RecordingCallback second = new RecordingCallback();
+    service.a().enqueue(second);
+    assertThat(limiter.queued()).isEqualTo(1);
+
+    dispatcher.release();
+    assertThat(first.take()).isInstanceOf(Response.class);
+    assertThat(second.take()).isInstanceOf(Response.class);
+    assertThat(server.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void cancelingQueuedCallRemovesIt() throws Exception {
+    server.setDispatcher(dispatcher);
+    Limiter limiter = builder().initialLimit(1).maxWait(5, SECONDS).build();
+    Service service = service(LimiterCallAdapterFactory.create(limiter));
+
+    service.a().enqueue(new RecordingCallback());
+    dispatcher.awaitRequest();
+    Call<String> queued = service.a();
+    RecordingCallback callback = new RecordingCallback();
+    queued.enqueue(callback);
+
+    queued.cancel();
+    assertThat(((Throwable) callback.take())).hasMessageThat().isEqualTo("Canceled");
+    assertThat(limiter.queued()).isEqualTo(0);
+  }
+
+  @Test
+  public void overloadedResponseDecreasesLimit() throws IOException {
+    Limiter limiter = builder().initialLimit(10).backoffRatio(0.5).build();
+    Service service = service(LimiterCallAdapterFactory.create(limiter));
+    server.enqueue(new MockResponse().setResponseCode(503));
+    server.enqueue(new MockResponse().setResponseCode(429));
+
+    service.a().execute();
+    assertThat(limiter.limit()).isEqualTo(5);
+    service.a().execute();
+    assertThat(limiter.limit()).isEqualTo(2);
+  }
+
+  @Test
+  public void slowResponseDecreasesLimit() throws IOException {
+    Limiter limiter = builder().initialLimit(10).latencyThreshold(50, MILLISECONDS).build();
+    Service service = service(LimiterCallAdapterFactory.create(limiter));
+    server.enqueue(new MockResponse().setHeadersDelay(100, MILLISECONDS).setBody("Hi"));
+
+    assertThat(service.a().execute().body()).isEqualTo("Hi");
+    assertThat(limiter.limit()).isEqualTo(9);
+  }
+
+  @Test
+  public void perMethodLimitsAreIndependent() throws Exception {
+    server.setDispatcher(dispatcher);
+    Service service = service(LimiterCallAdapterFactory.perMethod(builder().initialLimit(1)));
+
+    RecordingCallback a = new RecordingCallback();
+    service.a().enqueue(a);
+    dispatcher.awaitRequest();
+    RecordingCallback b = new RecordingCallback();
+    service.b().enqueue(b);
+    dispatcher.awaitRequest();
+
+    dispatcher.release();
+    assertThat(a.take()).isInstanceOf(Response.class);
+    assertThat(b.take()).isInstanceOf(Response.class);
+  }
+
+  @Test
+  public void perHostLimitIsSharedByMethods() throws Exception {
+    server.setDispatcher(dispatcher);
+    Service service = service(LimiterCallAdapterFactory.perHost(builder().initialLimit(1)));
+
+    RecordingCallback a = new RecordingCallback();
+    service.a().enqueue(a);
+    dispatcher.awaitRequest();
+    RecordingCallback b = new RecordingCallback();
+    service.b().enqueue(b);
+    assertThat(b.take()).isInstanceOf(LimitExceededException.class);
+
+    dispatcher.release();
+    assertThat(a.take()).isInstanceOf(Response.class);
+  }
+
+  @Test
+  public void mockNetworkDelayDecreasesLimit() throws IOException {
+    NetworkBehavior behavior = NetworkBehavior.create();
+    behavior.setDelay(100, MILLISECONDS);
+    behavior.setVariancePercent(0);
+    behavior.setFailurePercent(0);
+    Limiter limiter = builder().initialLimit(10).latencyThreshold(50, MILLISECONDS).build();
+    BehaviorDelegate<Service> delegate = mock(limiter, behavior);
+
+    assertThat(delegate.returningResponse("Hi").a().execute().body()).isEqualTo("Hi");
+    assertThat(limiter.limit()).isEqualTo(9);
+  }
+
+  @Test
+  public void mockNetworkFailureDecreasesLimit() {
+    NetworkBehavior behavior = NetworkBehavior.create();
+    behavior.setDelay(0, MILLISECONDS);
+    behavior.setFailurePercent(100);
+    Limiter limiter = builder().initialLimit(10).build();
+    BehaviorDelegate<Service> delegate = mock(limiter, behavior);
+
+    try {
+      delegate.returningResponse("Hi").a().execute();
+      fail();
+    } catch (IOException expected) {
+    }
+    assertThat(limiter.limit()).isEqualTo(9);
+    assertThat(limiter.inFlight()).isEqualTo(0);
+  }
+
+  private BehaviorDelegate<Service> mock(Limiter limiter, NetworkBehavior behavior) {
+    Retrofit retrofit = retrofit(LimiterCallAdapterFactory.create(limiter));
+    return new MockRetrofit.Builder(retrofit)
+        .networkBehavior(behavior)
+        .build()
+        .create(Service.class);
+  }
+
+  /** Holds every request until {@link #release()} is called. */
+  static final class GatedDispatcher extends Dispatcher {
+    private final Semaphore requests = new Semaphore(0);
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+      requests.release();
+      released.await();
+      return new MockResponse().setBody("Hi");
+    }
+
+    void awaitRequest() throws InterruptedException {
+      assertThat(requests.tryAcquire(5, SECONDS)).isTrue();
+    }
+
+    void release() {
+      released.countDown();
+    }
+  }
+
+  static final class RecordingCallback implements Callback<String> {
+    private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+
+    @Override
+    public void onResponse(Call<String> call, Response<String> response) {
+      results.add(response);
+    }
+
+    @Override
+    public void onFailure(Call<String> call, Throwable t) {
+      results.add(t);
+    }
+
+    Object take() throws InterruptedException {
+      Object result = results.poll(5, SECONDS);
+      assertThat(result).isNotNull();
+      return result;
+    }
+  }
+}
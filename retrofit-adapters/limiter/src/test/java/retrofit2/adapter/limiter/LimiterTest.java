@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.limiter;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Test;
+
+public final class LimiterTest {
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  private Limiter.Builder builder() {
+    return new Limiter.Builder().scheduler(scheduler).latencyThreshold(1, SECONDS);
+  }
+
+  @Test
+  public void successIncreasesLimitWhenHalfIsInUse() throws IOException {
+    Limiter limiter = builder().initialLimit(2).build();
+
+    limiter.acquire();
+    limiter.release(MILLISECONDS.toNanos(10), false);
+    assertThat(limiter.limit()).isEqualTo(3);
+    assertThat(limiter.inFlight()).isEqualTo(0);
+  }
+
+  @Test
+  public void successDoesNotIncreaseUnusedLimit() throws IOException {
+    Limiter limiter = builder().initialLimit(4).build();
+
+    limiter.acquire();
+    limiter.release(MILLISECONDS.toNanos(10), false);
+    assertThat(limiter.limit()).isEqualTo(4);
+  }
+
+  @Test
+  public void limitDoesNotExceedMaximum() throws IOException {
+    Limiter limiter = builder().initialLimit(2).maxLimit(2).build();
+
+    limiter.acquire();
+    limiter.release(MILLISECONDS.toNanos(10), false);
+    assertThat(limiter.limit()).isEqualTo(2);
+  }
+
+  @Test
+  public void dropDecreasesLimit() throws IOException {
+    Limiter limiter = builder().initialLimit(10).backoffRatio(0.5).build();
+
+    limiter.acquire();
+    limiter.release(MILLISECONDS.toNanos(10), true);
+    assertThat(limiter.limit()).isEqualTo(5);
+  }
+
+  @Test
+  public void slowCallDecreasesLimit() throws IOException {
+    Limiter limiter = builder().initialLimit(10).build();
+
+    limiter.acquire();
+    limiter.release(SECONDS.toNanos(2), false);
+    assertThat(limiter.limit()).isEqualTo(9);
+  }
+
+  @Test
+  public void limitDoesNotFallBelowMinimum() throws IOException {
+    Limiter limiter = builder().initialLimit(2).minLimit(2).build();
+
+    limiter.acquire();
+    limiter.release(0L, true);
+    assertThat(limiter.limit()).isEqualTo(2);
+  }
+
+  @Test
+  public void canceledCallDoesNotAdjustLimit() throws IOException {
+    Limiter limiter = builder().initialLimit(2).build();
+
+    limiter.acquire();
+    limiter.releaseCanceled();
+    assertThat(limiter.limit()).isEqualTo(2);
+    assertThat(limiter.inFlight()).isEqualTo(0);
+  }
+
+  @Test
+  public void callBeyondLimitIsRejected() throws IOException {
+    Limiter limiter = builder().initialLimit(1).build();
+
+    limiter.acquire();
+    try {
+      limiter.acquire();
+      fail();
+    } catch (LimitExceededException e) {
+      assertThat(e).hasMessageThat().isEqualTo("Concurrency limit of 1 exceeded");
+    }
+    assertThat(limiter.inFlight()).isEqualTo(1);
+  }
+
+  @Test
+  public void blockingCallWaitsForCapacity() throws Exception {
+    Limiter limiter = builder().initialLimit(1).maxWait(5, SECONDS).build();
+    limiter.acquire();
+
+    BlockingQueue<Object> acquired = new LinkedBlockingQueue<>();
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                limiter.acquire();
+                acquired.add("acquired");
+              } catch (IOException e) {
+                acquired.add(e);
+              }
+            });
+    thread.start();
+    awaitQueued(limiter, 1);
+    assertThat(acquired).isEmpty();
+
+    limiter.release(0L, false);
+    assertThat(acquired.poll(5, SECONDS)).isEqualTo("acquired");
+    assertThat(limiter.inFlight()).isEqualTo(1);
+  }
+
+  @Test
+  public void blockingCallWaitsForBoundedTime() throws IOException {
+    Limiter limiter = builder().initialLimit(1).maxWait(50, MILLISECONDS).build();
+    limiter.acquire();
+
+    long start = System.nanoTime();
+    try {
+      limiter.acquire();
+      fail();
+    } catch (LimitExceededException expected) {
+    }
+    assertThat(System.nanoTime() - start).isAtLeast(MILLISECONDS.toNanos(50));
+    assertThat(limiter.queued()).isEqualTo(0);
+  }
+
+  @Test
+  public void asyncCallIsGrantedInOrder() throws Exception {
+    Limiter limiter = builder().initialLimit(1).maxWait(5, SECONDS).build();
+    RecordingPermit first = new RecordingPermit();
+    RecordingPermit second = new RecordingPermit();
+    RecordingPermit third = new RecordingPermit();
+
+    limiter.acquire(first);
+    limiter.acquire(second);
+    limiter.acquire(third);
+    assertThat(first.take()).isEqualTo("granted");
+    assertThat(limiter.queued()).isEqualTo(2);
+
+    limiter.release(0L, false);
+    assertThat(second.take()).isEqualTo("granted");
+    assertThat(third.events).isEmpty();
+  }
+
+  @Test
+  public void asyncCallWaitsForBoundedTime() throws Exception {
+    Limiter limiter = builder().initialLimit(1).maxWait(50, MILLISECONDS).build();
+    limiter.acquire();
+
+    RecordingPermit permit = new RecordingPermit();
+    limiter.acquire(permit);
+    assertThat(permit.take()).isInstanceOf(LimitExceededException.class);
+    assertThat(limiter.queued()).isEqualTo(0);
+  }
+
+  @Test
+  public void asyncCallBeyondLimitIsRejected() throws Exception {
+    Limiter limiter = builder().initialLimit(1).build();
+    limiter.acquire();
+
+    RecordingPermit permit = new RecordingPermit();
+    limiter.acquire(permit);
+    assertThat(permit.take()).isInstanceOf(LimitExceededException.class);
+  }
+
+  @Test
+  public void removedPermitIsNotGranted() throws Exception {
+    Limiter limiter = builder().initialLimit(1).maxWait(5, SECONDS).build();
+    limiter.acquire();
+
+    RecordingPermit permit = new RecordingPermit();
+    limiter.acquire(permit);
+    assertThat(limiter.remove(permit)).isTrue();
+    assertThat(limiter.remove(permit)).isFalse();
+
+    limiter.release(0L, false);
+    assertThat(permit.events).isEmpty();
+    assertThat(limiter.inFlight()).isEqualTo(0);
+  }
+
+  @Test
+  public void invalidLimits() {
+    try {
+      builder().minLimit(5).maxLimit(4).build();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("minLimit > maxLimit: 5 > 4");
+    }
+    try {
+      builder().initialLimit(300).build();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("initialLimit must be in [1, 200]: 300");
+    }
+    try {
+      builder().backoffRatio(1.0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("backoffRatio must be in (0, 1): 1.0");
+    }
+  }
+
+  private static void awaitQueued(Limiter limiter, int queued) throws InterruptedException {
+    long deadline = System.nanoTime() + SECONDS.toNanos(5);
+    while (limiter.queued() != queued) {
+      if (System.nanoTime() > deadline) throw new AssertionError("queued=" + limiter.queued());
+      Thread.sleep(10);
+    }
+  }
+
+  static final class RecordingPermit implements Limiter.Permit {
+    final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+    @Override
+    public void granted() {
+      events.add("granted");
+    }
+
+    @Override
+    public void rejected(IOException e) {
+      events.add(e);
+    }
+
+    Object take() throws InterruptedException {
+      Object event = events.poll(5, SECONDS);
+      assertThat(event).isNotNull();
+      return event;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.sse;
+
+import java.io.IOException;
+
+/**
+ * A stream of {@linkplain ServerSentEvent server-sent events} returned by a service method. No
+ * request is made until the stream is {@linkplain #start started}.
+ *
+ * <p>When the connection ends, the stream reconnects after the server's requested retry delay and
+ * sends the ID of the last event it received as {@code Last-Event-ID}. When the connection fails
+ * the delay doubles with each consecutive failure, up to a maximum, and the stream fails once too
+ * many consecutive connections have failed. A {@code 204 No Content} response ends the stream.
+ * Responses which are not successful, or which are not {@code text/event-stream}, fail the stream.
+ */
+public interface EventStream<T> {
+  /**
+   * Connect and deliver events to {@code listener} as they arrive. Events are read on one of
+   * OkHttp's background threads and delivered using the {@linkplain
+   * retrofit2.Retrofit#callbackExecutor() callback executor}, if any.
+   *
+   * @throws IllegalStateException if this stream has already been started.
+   */
+  void start(Listener<T> listener);
+
+  /** Stop reading events and do not reconnect. The listener is not notified. */
+  void cancel();
+
+  boolean isCanceled();
+
+  /** Receives the events and terminal state of an {@link EventStream}. */
+  abstract class Listener<T> {
+    /** Invoked for each event in the order it was received. */
+    public abstract void onEvent(ServerSentEvent<T> event);
+
+    /** Invoked when the server ends the stream with {@code 204 No Content}. */
+    public void onClosed() {}
+
+    /**
+     * Invoked when the connection fails with {@code e} and the stream will reconnect after {@code
+     * delayMs}. Once too many consecutive connections have failed {@link #onFailure} is invoked
+     * instead.
+     */
+    public void onReconnecting(IOException e, long delayMs) {}
+
+    /**
+     * Invoked when the stream fails without reconnecting. This is a {@link retrofit2.HttpException}
+     * for unsuccessful responses.
+     */
+    public void onFailure(Throwable t) {}
+  }
+}
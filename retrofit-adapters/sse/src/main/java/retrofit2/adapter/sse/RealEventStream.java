@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.sse;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import retrofit2.Call;
+import retrofit2.Converter;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+final class RealEventStream<T>
+    implements EventStream<T>, okhttp3.Callback, ServerSentEventReader.Callback {
+  /** The least delay that backing off from failed connections starts from. */
+  static final long MIN_FAILURE_DELAY_MS = 1_000L;
+
+  private final Call<ResponseBody> call;
+  private final okhttp3.Call.Factory callFactory;
+  private final Converter<ResponseBody, T> converter;
+  private final @Nullable Executor callbackExecutor;
+  private final ScheduledExecutorService scheduler;
+  private final int maxReconnects;
+  private final long maxDelayMs;
+
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile boolean canceled;
+  private volatile @Nullable okhttp3.Call rawCall;
+  private volatile @Nullable ScheduledFuture<?> reconnect;
+
+  // These are written before each connection and by the thread reading its response. Connections
+  // are made one at a time, each after the previous response has been read.
+  private @Nullable Listener<T> listener;
+  private @Nullable Request request;
+  private @Nullable String lastEventId;
+  private long retryMs;
+  private int failures;
+
+  RealEventStream(
+      Call<ResponseBody> call,
+      okhttp3.Call.Factory callFactory,
+      Converter<ResponseBody, T> converter,
+      @Nullable Executor callbackExecutor,
+      ScheduledExecutorService scheduler,
+      long retryMs,
+      int maxReconnects,
+      long maxDelayMs) {
+    this.call = call;
+    this.callFactory = callFactory;
+    this.converter = converter;
+    this.callbackExecutor = callbackExecutor;
+    this.scheduler = scheduler;
+    this.retryMs = retryMs;
+    this.maxReconnects = maxReconnects;
+    this.maxDelayMs = maxDelayMs;
+  }
+
+  @Override
+  public void start(Listener<T> listener) {
+    Objects.requireNonNull(listener, "listener == null");
+    if (!started.compareAndSet(false, true)) {
+      throw new IllegalStateException("Already started.");
+    }
+    this.listener = listener;
+    connect();
+  }
+
+  @Override
+  public void cancel() {
+    canceled = true;
+    okhttp3.Call rawCall = this.rawCall;
+    if (rawCall != null) {
+      rawCall.cancel();
+    }
+    ScheduledFuture<?> reconnect = this.reconnect;
+    if (reconnect != null) {
+      reconnect.cancel(false);
+    }
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return canceled;
+  }
+
+  private void connect() {
+    if (canceled) return;
+
+    Request request = this.request;
+    if (request == null) {
+      // Retrofit only exposes the request built from the method's arguments through request(),
+      // which creates an okhttp3.Call to hold it. That call is never executed: each connection
+      // needs headers added and a call of its own. Build the request once and reuse it.
+      try {
+        request = call.request();
+      } catch (RuntimeException e) {
+        deliverFailure(e);
+        return;
+      }
+      if (request.header("Accept") == null) {
+        request = request.newBuilder().header("Accept", "text/event-stream").build();
+      }
+      this.request = request;
+    }
+    String lastEventId = this.lastEventId;
+    if (lastEventId != null && !lastEventId.isEmpty()) {
+      request = request.newBuilder().header("Last-Event-ID", lastEventId).build();
+    }
+
+    okhttp3.Call rawCall = callFactory.newCall(request);
+    this.rawCall = rawCall;
+    if (canceled) {
+      // Raced with cancel() which may not have seen this call.
+      rawCall.cancel();
+    }
+    rawCall.enqueue(this);
+  }
+
+  @Override
+  public void onResponse(okhttp3.Call rawCall, okhttp3.Response response) {
+    ServerSentEventReader reader = null;
+    IOException failure = null;
+    try (ResponseBody body = response.body()) {
+      if (response.code() == 204) {
+        deliverClosed();
+        return;
+      }
+      if (!response.isSuccessful()) {
+        ResponseBody errorBody = ResponseBody.create(body.contentType(), body.bytes());
+        deliverFailure(new HttpException(Response.error(errorBody, response)));
+        return;
+      }
+      MediaType contentType = body.contentType();
+      if (contentType == null
+          || !contentType.type().equals("text")
+          || !contentType.subtype().equals("event-stream")) {
+        deliverFailure(
+            new IOException("Expected a text/event-stream response but was " + contentType));
+        return;
+      }
+
+      failures = 0; // Connected successfully.
+      reader = new ServerSentEventReader(body.source(), lastEventId, this);
+      while (!canceled && reader.processNextLine()) {
+        // Events are delivered to onEvent as each is completed.
+      }
+    } catch (IOException e) {
+      failure = e; // The connection failed while reading.
+    } catch (RuntimeException e) {
+      // A converter or listener failed. These are not retried.
+      deliverFailure(e);
+      return;
+    } finally {
+      if (reader != null) {
+        lastEventId = reader.lastId();
+      }
+    }
+    scheduleReconnect(failure);
+  }
+
+  @Override
+  public void onFailure(okhttp3.Call rawCall, IOException e) {
+    scheduleReconnect(e);
+  }
+
+  @Override
+  public void onEvent(@Nullable String id, @Nullable String type, Buffer data)
+      throws IOException {
+    if (canceled) return;
+    T value = converter.convert(ResponseBody.create(null, data.size(), data));
+    // An empty type is dispatched as a message, just like a missing one.
+    String eventType = type != null && !type.isEmpty() ? type : "message";
+    ServerSentEvent<T> event = new ServerSentEvent<>(id, eventType, value);
+    deliver(() -> listener().onEvent(event));
+  }
+
+  @Override
+  public void onRetryChange(long timeMs) {
+    retryMs = timeMs;
+  }
+
+  /**
+   * Reconnect after the server's retry delay, or if the connection failed with {@code failure}
+   * after a backoff which doubles with each consecutive failure. Fails the stream instead once the
+   * maximum number of consecutive reconnections have failed.
+   */
+  private void scheduleReconnect(@Nullable IOException failure) {
+    if (canceled) return;
+    long delayMs = retryMs;
+    if (failure != null) {
+      if (++failures > maxReconnects) {
+        deliverFailure(failure);
+        return;
+      }
+      delayMs = failureDelayMs(retryMs, failures, maxDelayMs);
+      long reconnectDelayMs = delayMs;
+      deliver(() -> listener().onReconnecting(failure, reconnectDelayMs));
+    }
+    try {
+      reconnect = scheduler.schedule(this::connect, delayMs, MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      deliverFailure(e);
+      return;
+    }
+    if (canceled) {
+      // Raced with cancel() which may not have seen this reconnection.
+      reconnect.cancel(false);
+    }
+  }
+
+  /**
+   * The delay before reconnecting after {@code failures} consecutive failed connections. This
+   * starts from at least {@link #MIN_FAILURE_DELAY_MS} so that a retry delay of zero cannot
+   * reconnect in a tight loop.
+   */
+  static long failureDelayMs(long retryMs, int failures, long maxDelayMs) {
+    long delayMs = Math.max(retryMs, MIN_FAILURE_DELAY_MS);
+    for (int i = 1; i < failures && delayMs < maxDelayMs; i++) {
+      delayMs *= 2;
+    }
+    return Math.min(delayMs, maxDelayMs);
+  }
+
+  private void deliverClosed() {
+    deliver(() -> listener().onClosed());
+  }
+
+  private void deliverFailure(Throwable t) {
+    deliver(() -> listener().onFailure(t));
+  }
+
+  private void deliver(Runnable runnable) {
+    Runnable guarded =
+        () -> {
+          if (!canceled) runnable.run();
+        };
+    if (callbackExecutor != null) {
+      callbackExecutor.execute(guarded);
+    } else {
+      guarded.run();
+    }
+  }
+
+  private Listener<T> listener() {
+    return Objects.requireNonNull(listener);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.sse;
+
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/** A single event received from a {@code text/event-stream} response. */
+public final class ServerSentEvent<T> {
+  private final @Nullable String id;
+  private final String type;
+  private final T data;
+
+  public ServerSentEvent(@Nullable String id, String type, T data) {
+    this.id = id;
+    this.type = Objects.requireNonNull(type, "type == null");
+    this.data = data;
+  }
+
+  /** The last event ID set by the stream, or null if none has been set. */
+  public @Nullable String id() {
+    return id;
+  }
+
+  /** The event type. This is {@code "message"} unless the event specifies another. */
+  public String type() {
+    return type;
+  }
+
+  /** The event's data decoded by a response body converter. */
+  public T data() {
+    return data;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object other) {
+    if (!(other instanceof ServerSentEvent)) return false;
+    ServerSentEvent<?> that = (ServerSentEvent<?>) other;
+    return Objects.equals(id, that.id) && type.equals(that.type) && Objects.equals(data, that.data);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, type, data);
+  }
+
+  @Override
+  public String toString() {
+    return "ServerSentEvent{id=" + id + ", type=" + type + ", data=" + data + '}';
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.sse;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+
+/**
+ * Reads the <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">event stream
+ * format</a> directly from a source. Data lines are moved into the event's buffer without being
+ * decoded to strings.
+ */
+final class ServerSentEventReader {
+  private static final ByteString CRLF = ByteString.encodeUtf8("\r\n");
+  private static final ByteString DATA = ByteString.encodeUtf8("data");
+  private static final ByteString EVENT = ByteString.encodeUtf8("event");
+  private static final ByteString ID = ByteString.encodeUtf8("id");
+  private static final ByteString RETRY = ByteString.encodeUtf8("retry");
+
+  interface Callback {
+    void onEvent(@Nullable String id, @Nullable String type, Buffer data) throws IOException;
+
+    void onRetryChange(long timeMs);
+  }
+
+  private final BufferedSource source;
+  private final Callback callback;
+
+  private final Buffer data = new Buffer();
+  private @Nullable String type;
+  /** The most recent {@code id} field. It becomes {@link #lastId} when an event is dispatched. */
+  private @Nullable String pendingId;
+
+  private @Nullable String lastId;
+  /** True when the previous line ended with CR, and a following LF belongs to the same ending. */
+  private boolean skipLf;
+
+  ServerSentEventReader(BufferedSource source, @Nullable String lastId, Callback callback) {
+    this.source = source;
+    this.callback = callback;
+    this.pendingId = lastId;
+    this.lastId = lastId;
+  }
+
+  /**
+   * Process the next line, dispatching an event when it is blank. Returns false once the source is
+   * exhausted. Any partial event at the end of the source is discarded.
+   */
+  boolean processNextLine() throws IOException {
+    if (skipLf) {
+      skipLf = false;
+      if (source.request(1) && source.buffer().getByte(0) == '\n') {
+        source.skip(1);
+      }
+    }
+
+    long end = source.indexOfElement(CRLF);
+    if (end == -1L) {
+      return false;
+    }
+
+    long valueStart;
+    if (end == 0L) {
+      dispatch();
+    } else if (source.buffer().getByte(0) == ':') {
+      source.skip(end); // Comment.
+    } else if ((valueStart = valueStart(DATA, end)) != -1L) {
+      source.skip(valueStart);
+      source.readFully(data, end - valueStart);
+      data.writeByte('\n');
+    } else if ((valueStart = valueStart(EVENT, end)) != -1L) {
+      source.skip(valueStart);
+      type = source.readUtf8(end - valueStart);
+    } else if ((valueStart = valueStart(ID, end)) != -1L) {
+      source.skip(valueStart);
+      String id = source.readUtf8(end - valueStart);
+      if (id.indexOf('\u0000') == -1) {
+        pendingId = id;
+      }
+    } else if ((valueStart = valueStart(RETRY, end)) != -1L) {
+      source.skip(valueStart);
+      String retry = source.readUtf8(end - valueStart);
+      long timeMs = parseRetry(retry);
+      if (timeMs != -1L) {
+        callback.onRetryChange(timeMs);
+      }
+    } else {
+      source.skip(end); // Unknown field.
+    }
+
+    if (source.readByte() == '\r') {
+      skipLf = true;
+    }
+    return true;
+  }
+
+  /** The ID of the most recent event, for use as {@code Last-Event-ID} when reconnecting. */
+  @Nullable
+  String lastId() {
+    return lastId;
+  }
+
+  private void dispatch() throws IOException {
+    lastId = pendingId;
+    String type = this.type;
+    this.type = null;
+    if (data.size() == 0L) {
+      return;
+    }
+    // Remove the trailing newline written after the last data line.
+    Buffer event = new Buffer();
+    event.write(data, data.size() - 1L);
+    data.clear();
+    callback.onEvent(lastId, type, event);
+  }
+
+  /**
+   * If the line of length {@code end} is {@code field}, return the offset of its value. The value
+   * follows a colon and an optional space. A field without a colon has an empty value.
+   */
+  private long valueStart(ByteString field, long end) {
+    int size = field.size();
+    if (end < size || !source.rangeEquals(0, field)) return -1L;
+    if (end == size) return end;
+    if (source.buffer().getByte(size) != ':') return -1L;
+    if (end > size + 1 && source.buffer().getByte(size + 1) == ' ') return size + 2;
+    return size + 1;
+  }
+
+  private static long parseRetry(String retry) {
+    if (retry.isEmpty() || retry.length() > 18) return -1L;
+    for (int i = 0; i < retry.length(); i++) {
+      char c = retry.charAt(i);
+      if (c < '0' || c > '9') return -1L;
+    }
+    return Long.parseLong(retry);
+  }
+}
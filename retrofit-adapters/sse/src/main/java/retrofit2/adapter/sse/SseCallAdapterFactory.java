@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.sse;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.SkipCallbackExecutor;
+
+/**
+ * A {@linkplain CallAdapter.Factory call adapter} for service methods which return an {@link
+ * EventStream EventStream&lt;T&gt;} to consume a {@code text/event-stream} endpoint.
+ *
+ * <pre><code>
+ * interface PriceService {
+ *   &#64;GET("prices")
+ *   EventStream&lt;Price&gt; prices();
+ * }
+ * </code></pre>
+ *
+ * <p>The data of each event is decoded to {@code T} using the response body converter registered
+ * for {@code T}. The response is always read incrementally, so the method does not need to be
+ * annotated with {@link retrofit2.http.Streaming @Streaming}.
+ */
+public final class SseCallAdapterFactory extends CallAdapter.Factory {
+  /** The reconnection delay used until the server sends a {@code retry} field. */
+  private static final long DEFAULT_RETRY_MS = 3_000L;
+  /** Consecutive failed connections after which a stream fails rather than reconnecting. */
+  private static final int DEFAULT_MAX_RECONNECTS = 10;
+  /** The longest delay that backing off from failed connections will wait. */
+  private static final long DEFAULT_MAX_DELAY_MS = 60_000L;
+
+  private static @Nullable ScheduledExecutorService defaultScheduler;
+
+  private static synchronized ScheduledExecutorService defaultScheduler() {
+    if (defaultScheduler == null) {
+      defaultScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "Retrofit SSE reconnect");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return defaultScheduler;
+  }
+
+  /** Create an instance which schedules reconnections on a shared daemon thread. */
+  public static SseCallAdapterFactory create() {
+    return new SseCallAdapterFactory(
+        null, DEFAULT_RETRY_MS, DEFAULT_MAX_RECONNECTS, DEFAULT_MAX_DELAY_MS);
+  }
+
+  /**
+   * Create an instance which schedules reconnections on {@code scheduler}, waiting {@code retry}
+   * until the server requests a different delay.
+   */
+  @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+  public static SseCallAdapterFactory create(
+      ScheduledExecutorService scheduler, long retry, TimeUnit unit) {
+    if (scheduler == null) throw new NullPointerException("scheduler == null");
+    if (unit == null) throw new NullPointerException("unit == null");
+    if (retry < 0) throw new IllegalArgumentException("retry < 0: " + retry);
+    return new SseCallAdapterFactory(
+        scheduler, unit.toMillis(retry), DEFAULT_MAX_RECONNECTS, DEFAULT_MAX_DELAY_MS);
+  }
+
+  private final @Nullable ScheduledExecutorService scheduler;
+  private final long retryMs;
+  private final int maxReconnects;
+  private final long maxDelayMs;
+
+  private SseCallAdapterFactory(
+      @Nullable ScheduledExecutorService scheduler,
+      long retryMs,
+      int maxReconnects,
+      long maxDelayMs) {
+    this.scheduler = scheduler;
+    this.retryMs = retryMs;
+    this.maxReconnects = maxReconnects;
+    this.maxDelayMs = maxDelayMs;
+  }
+
+  /**
+   * Return a new factory whose streams fail after {@code maxReconnects} consecutive reconnections
+   * have failed, and which wait at most {@code maxDelay} between failed connections. By default
+   * streams reconnect 10 times, waiting up to 60 seconds.
+   *
+   * <p>The wait after a failed connection starts from the retry delay or one second, whichever is
+   * longer, and doubles with each consecutive failure.
+   */
+  @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+  public SseCallAdapterFactory withReconnectLimits(
+      int maxReconnects, long maxDelay, TimeUnit unit) {
+    if (unit == null) throw new NullPointerException("unit == null");
+    if (maxReconnects < 0) {
+      throw new IllegalArgumentException("maxReconnects < 0: " + maxReconnects);
+    }
+    if (maxDelay <= 0) throw new IllegalArgumentException("maxDelay <= 0: " + maxDelay);
+    return new SseCallAdapterFactory(scheduler, retryMs, maxReconnects, unit.toMillis(maxDelay));
+  }
+
+  @Override
+  public @Nullable CallAdapter<?, ?> get(
+      Type returnType, Annotation[] annotations, Retrofit retrofit) {
+    if (getRawType(returnType) != EventStream.class) {
+      return null;
+    }
+    if (!(returnType instanceof ParameterizedType)) {
+      throw new IllegalStateException(
+          "EventStream return type must be parameterized as EventStream<Foo> or "
+              + "EventStream<? extends Foo>");
+    }
+    Type dataType = getParameterUpperBound(0, (ParameterizedType) returnType);
+    Converter<ResponseBody, ?> converter = retrofit.responseBodyConverter(dataType, annotations);
+
+    Executor callbackExecutor = retrofit.callbackExecutor();
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof SkipCallbackExecutor) {
+        callbackExecutor = null;
+        break;
+      }
+    }
+
+    ScheduledExecutorService scheduler =
+        this.scheduler != null ? this.scheduler : defaultScheduler();
+    return new SseCallAdapter<>(
+        retrofit.callFactory(),
+        converter,
+        callbackExecutor,
+        scheduler,
+        retryMs,
+        maxReconnects,
+        maxDelayMs);
+  }
+
+  static final class SseCallAdapter<T> implements CallAdapter<ResponseBody, EventStream<T>> {
+    private final okhttp3.Call.Factory callFactory;
+    private final Converter<ResponseBody, T> converter;
+    private final @Nullable Executor callbackExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final long retryMs;
+    private final int maxReconnects;
+    private final long maxDelayMs;
+
+    @SuppressWarnings("unchecked") // The converter was created for T.
+    SseCallAdapter(
+        okhttp3.Call.Factory callFactory,
+        Converter<ResponseBody, ?> converter,
+        @Nullable Executor callbackExecutor,
+        ScheduledExecutorService scheduler,
+        long retryMs,
+        int maxReconnects,
+        long maxDelayMs) {
+      this.callFactory = callFactory;
+      this.converter = (Converter<ResponseBody, T>) converter;
+      this.callbackExecutor = callbackExecutor;
+      this.scheduler = scheduler;
+      this.retryMs = retryMs;
+      this.maxReconnects = maxReconnects;
+      this.maxDelayMs = maxDelayMs;
+    }
+
+    @Override
+    public Type responseType() {
+      return ResponseBody.class;
+    }
+
+    @Override
+    public EventStream<T> adapt(Call<ResponseBody> call) {
+      return new RealEventStream<>(
+          call,
+          callFactory,
+          converter,
+          callbackExecutor,
+          scheduler,
+          retryMs,
+          maxReconnects,
+          maxDelayMs);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.sse;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import okio.Buffer;
+import org.junit.Test;
+
+public final class ServerSentEventReaderTest {
+  private final List<Object> callbacks = new ArrayList<>();
+
+  @Test
+  public void multilineData() throws IOException {
+    consume("data: hey\ndata:\ndata:  there\n\n");
+    assertThat(callbacks).containsExactly(event(null, null, "hey\n\n there"));
+  }
+
+  @Test
+  public void lineEndings() throws IOException {
+    consume("data: a\r\ndata: b\rdata: c\n\r\nevent: e\r\rdata: d\n\n");
+    assertThat(callbacks).containsExactly(event(null, null, "a\nb\nc"), event(null, null, "d"));
+  }
+
+  @Test
+  public void typeAndId() throws IOException {
+    consume("event: update\nid: 1\ndata: a\n\ndata: b\n\n");
+    assertThat(callbacks)
+        .containsExactly(event("1", "update", "a"), event("1", null, "b"))
+        .inOrder();
+  }
+
+  @Test
+  public void idWithNullIsIgnored() throws IOException {
+    consume("id: 1\ndata: a\n\nid: 2\u00003\ndata: b\n\n");
+    assertThat(callbacks).containsExactly(event("1", null, "a"), event("1", null, "b")).inOrder();
+  }
+
+  @Test
+  public void idWithoutDataUpdatesLastId() throws IOException {
+    ServerSentEventReader reader = consume("id: 1\n\nid: 2\n");
+    assertThat(callbacks).isEmpty();
+    // The second ID was not dispatched.
+    assertThat(reader.lastId()).isEqualTo("1");
+  }
+
+  @Test
+  public void initialLastId() throws IOException {
+    consume("data: a\n\n", "5");
+    assertThat(callbacks).containsExactly(event("5", null, "a"));
+  }
+
+  @Test
+  public void commentsAndUnknownFieldsAreIgnored() throws IOException {
+    consume(": comment\nfoo: bar\ndatum: x\ndata: a\n\n");
+    assertThat(callbacks).containsExactly(event(null, null, "a"));
+  }
+
+  @Test
+  public void fieldWithoutColonHasEmptyValue() throws IOException {
+    consume("data\ndata\n\n");
+    assertThat(callbacks).containsExactly(event(null, null, "\n"));
+  }
+
+  @Test
+  public void retry() throws IOException {
+    consume("retry: 22\nretry: 2x\nretry:\nretry: 33\n");
+    assertThat(callbacks).containsExactly(22L, 33L).inOrder();
+  }
+
+  @Test
+  public void partialEventAtEndIsDiscarded() throws IOException {
+    consume("data: a\n\ndata: b\n");
+    assertThat(callbacks).containsExactly(event(null, null, "a"));
+  }
+
+  private ServerSentEventReader consume(String events) throws IOException {
+    return consume(events, null);
+  }
+
+  private ServerSentEventReader consume(String events, @Nullable String lastId)
+      throws IOException {
+    Buffer source = new Buffer().writeUtf8(events);
+    ServerSentEventReader reader =
+        new ServerSentEventReader(
+            source,
+            lastId,
+            new ServerSentEventReader.Callback() {
+              @Override
+              public void onEvent(@Nullable String id, @Nullable String type, Buffer data) {
+                callbacks.add(event(id, type, data.readUtf8()));
+              }
+
+              @Override
+              public void onRetryChange(long timeMs) {
+                callbacks.add(timeMs);
+              }
+            });
+    while (reader.processNextLine()) {}
+    return reader;
+  }
+
+  private static List<String> event(@Nullable String id, @Nullable String type, String data) {
+    List<String> event = new ArrayList<>();
+    event.add(id);
+    event.add(type);
+    event.add(data);
+    return event;
+  }
+}
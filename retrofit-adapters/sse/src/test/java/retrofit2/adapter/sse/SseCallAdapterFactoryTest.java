@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.adapter.sse;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Headers;
+
+public final class SseCallAdapterFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  interface Service {
+    @GET("/")
+    EventStream<String> events();
+
+    @GET("/")
+    @Headers("Accept: text/event-stream, text/plain")
+    EventStream<String> eventsWithAccept();
+
+    @SuppressWarnings("rawtypes")
+    @GET("/")
+    EventStream raw();
+  }
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final RecordingListener listener = new RecordingListener();
+  private Service service;
+
+  @Before
+  public void setUp() {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .addCallAdapterFactory(SseCallAdapterFactory.create(scheduler, 10, MILLISECONDS))
+            .build();
+    service = retrofit.create(Service.class);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void events() throws Exception {
+    server.enqueue(
+        events("data: hello\n\nevent: update\nid: 1\ndata: a\ndata: b\n\n: comment\n\n"));
+    server.enqueue(new MockResponse().setResponseCode(204));
+
+    EventStream<String> stream = service.events();
+    stream.start(listener);
+
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>(null, "message", "hello"));
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>("1", "update", "a\nb"));
+    assertThat(listener.take()).isEqualTo(RecordingListener.CLOSED);
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Accept")).isEqualTo("text/event-stream");
+    assertThat(request.getHeader("Last-Event-ID")).isNull();
+  }
+
+  @Test
+  public void emptyTypeIsMessage() throws Exception {
+    server.enqueue(events("event:\ndata: a\n\nevent\ndata: b\n\n"));
+    server.enqueue(new MockResponse().setResponseCode(204));
+
+    service.events().start(listener);
+
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>(null, "message", "a"));
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>(null, "message", "b"));
+    assertThat(listener.take()).isEqualTo(RecordingListener.CLOSED);
+  }
+
+  @Test
+  public void explicitAcceptIsKept() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(204));
+
+    service.eventsWithAccept().start(listener);
+    assertThat(listener.take()).isEqualTo(RecordingListener.CLOSED);
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Accept")).isEqualTo("text/event-stream, text/plain");
+  }
+
+  @Test
+  public void reconnectsWithLastEventId() throws Exception {
+    server.enqueue(events("retry: 1\nid: 1\ndata: a\n\nid: 2\ndata: b\n"));
+    server.enqueue(events("data: c\n\n"));
+    server.enqueue(new MockResponse().setResponseCode(204));
+
+    service.events().start(listener);
+
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>("1", "message", "a"));
+    // The partial event with ID 2 was discarded so its ID is not used.
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>("1", "message", "c"));
+    assertThat(listener.take()).isEqualTo(RecordingListener.CLOSED);
+
+    assertThat(server.takeRequest().getHeader("Last-Event-ID")).isNull();
+    assertThat(server.takeRequest().getHeader("Last-Event-ID")).isEqualTo("1");
+    assertThat(server.takeRequest().getHeader("Last-Event-ID")).isEqualTo("1");
+  }
+
+  @Test
+  public void failedConnectionsBackOffAndThenFail() throws Exception {
+    OkHttpClient client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .client(client)
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .addCallAdapterFactory(
+                SseCallAdapterFactory.create(scheduler, 10, MILLISECONDS)
+                    .withReconnectLimits(2, 15, MILLISECONDS))
+            .build();
+    Service service = retrofit.create(Service.class);
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    service.events().start(listener);
+
+    // Backing off starts from a second, but is capped by the maximum delay.
+    assertThat(listener.take()).isEqualTo("Reconnecting after 15ms");
+    assertThat(listener.take()).isEqualTo("Reconnecting after 15ms");
+    assertThat(listener.take()).isInstanceOf(IOException.class);
+    assertThat(server.getRequestCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void successfulConnectionResetsFailures() throws Exception {
+    OkHttpClient client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .client(client)
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .addCallAdapterFactory(
+                SseCallAdapterFactory.create(scheduler, 10, MILLISECONDS)
+                    .withReconnectLimits(1, 15, MILLISECONDS))
+            .build();
+    Service service = retrofit.create(Service.class);
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+    server.enqueue(events("data: a\n\n"));
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+    server.enqueue(new MockResponse().setResponseCode(204));
+
+    service.events().start(listener);
+
+    assertThat(listener.take()).isEqualTo("Reconnecting after 15ms");
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>(null, "message", "a"));
+    assertThat(listener.take()).isEqualTo("Reconnecting after 15ms");
+    assertThat(listener.take()).isEqualTo(RecordingListener.CLOSED);
+  }
+
+  @Test
+  public void failureDelayDoublesFromAtLeastOneSecond() {
+    assertThat(RealEventStream.failureDelayMs(0, 1, 60_000)).isEqualTo(1_000);
+    assertThat(RealEventStream.failureDelayMs(0, 2, 60_000)).isEqualTo(2_000);
+    assertThat(RealEventStream.failureDelayMs(3_000, 1, 60_000)).isEqualTo(3_000);
+    assertThat(RealEventStream.failureDelayMs(3_000, 3, 60_000)).isEqualTo(12_000);
+    assertThat(RealEventStream.failureDelayMs(3_000, 10, 60_000)).isEqualTo(60_000);
+    assertThat(RealEventStream.failureDelayMs(0, 1, 15)).isEqualTo(15);
+  }
+
+  @Test
+  public void nonPositiveMaxDelayThrows() {
+    try {
+      SseCallAdapterFactory.create().withReconnectLimits(1, 0, MILLISECONDS);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("maxDelay <= 0: 0");
+    }
+  }
+
+  @Test
+  public void httpErrorFails() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(503).setBody("Unavailable"));
+
+    service.events().start(listener);
+
+    Object failure = listener.take();
+    assertThat(failure).isInstanceOf(HttpException.class);
+    HttpException e = (HttpException) failure;
+    assertThat(e.code()).isEqualTo(503);
+    assertThat(e.response().errorBody().string()).isEqualTo("Unavailable");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void wrongContentTypeFails() throws Exception {
+    server.enqueue(new MockResponse().setHeader("Content-Type", "text/plain").setBody("Hi"));
+
+    service.events().start(listener);
+
+    Object failure = listener.take();
+    assertThat(failure).isInstanceOf(IOException.class);
+    assertThat(((Throwable) failure))
+        .hasMessageThat()
+        .isEqualTo("Expected a text/event-stream response but was text/plain");
+  }
+
+  @Test
+  public void cancelStopsReconnecting() throws Exception {
+    server.enqueue(events("retry: 1\ndata: a\n\n"));
+    server.enqueue(events("data: b\n\n"));
+
+    EventStream<String> stream = service.events();
+    stream.start(
+        new RecordingListener() {
+          @Override
+          public void onEvent(ServerSentEvent<String> event) {
+            stream.cancel();
+            listener.onEvent(event);
+          }
+        });
+
+    assertThat(listener.take()).isEqualTo(new ServerSentEvent<>(null, "message", "a"));
+    assertThat(stream.isCanceled()).isTrue();
+    Thread.sleep(100);
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void startTwiceThrows() {
+    server.enqueue(new MockResponse().setResponseCode(204));
+
+    EventStream<String> stream = service.events();
+    stream.start(listener);
+    try {
+      stream.start(listener);
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat().isEqualTo("Already started.");
+    }
+  }
+
+  @Test
+  public void otherTypesAreIgnored() {
+    Retrofit retrofit = new Retrofit.Builder().baseUrl(server.url("/")).build();
+    SseCallAdapterFactory factory = SseCallAdapterFactory.create();
+    assertThat(factory.get(String.class, new Annotation[0], retrofit)).isNull();
+  }
+
+  @Test
+  public void rawTypeThrows() {
+    try {
+      service.raw();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo(
+              "EventStream return type must be parameterized as EventStream<Foo> or "
+                  + "EventStream<? extends Foo>");
+    }
+  }
+
+  private static MockResponse events(String body) {
+    return new MockResponse().setHeader("Content-Type", "text/event-stream").setBody(body);
+  }
+
+  static class RecordingListener extends EventStream.Listener<String> {
+    static final Object CLOSED = new Object();
+
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+    @Override
+    public void onEvent(ServerSentEvent<String> event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onClosed() {
+      events.add(CLOSED);
+    }
+
+    @Override
+    public void onReconnecting(IOException e, long delayMs) {
+      events.add("Reconnecting after " + delayMs + "ms");
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+      events.add(t);
+    }
+
+    Object take() throws InterruptedException {
+      Object event = events.poll(5, SECONDS);
+      if (event == null) throw new AssertionError("Timed out waiting for an event.");
+      return event;
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.http.GET;
+
+/**
+ * Measures making many concurrent calls against a {@link MockWebServer} which delays each response
+ * by a few milliseconds. Calls either block in a {@link BlockingCallAdapterFactory} task, which
+ * runs on a virtual thread when the benchmark is run on Java 21 or newer, or are enqueued on
+ * OkHttp's dispatcher.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BlockingCallBenchmark {
+  interface Service {
+    @GET("/")
+    Future<ResponseBody> blocking();
+
+    @GET("/")
+    CompletableFuture<ResponseBody> enqueued();
+  }
+
+  @Param({"1000", "10000"})
+  int calls;
+
+  private final MockWebServer server = new MockWebServer();
+  private Service service;
+
+  @Setup
+  public void setup() throws IOException {
+    server.setDispatcher(
+        new okhttp3.mockwebserver.Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            return new MockResponse().setHeadersDelay(5, MILLISECONDS).setBody("Hi");
+          }
+        });
+    server.start();
+
+    // Neither approach should be limited by the dispatcher or by reconnecting.
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(calls);
+    dispatcher.setMaxRequestsPerHost(calls);
+    OkHttpClient client =
+        new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(calls, 5, TimeUnit.MINUTES))
+            .build();
+
+    service =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .client(client)
+            .addCallAdapterFactory(BlockingCallAdapterFactory.create())
+            .build()
+            .create(Service.class);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Benchmark
+  public int blocking() throws InterruptedException, ExecutionException {
+    List<Future<ResponseBody>> futures = new ArrayList<>(calls);
+    for (int i = 0; i < calls; i++) {
+      futures.add(service.blocking());
+    }
+    return await(futures);
+  }
+
+  @Benchmark
+  public int enqueued() throws InterruptedException, ExecutionException {
+    List<Future<ResponseBody>> futures = new ArrayList<>(calls);
+    for (int i = 0; i < calls; i++) {
+      futures.add(service.enqueued());
+    }
+    return await(futures);
+  }
+
+  private static int await(List<Future<ResponseBody>> futures)
+      throws InterruptedException, ExecutionException {
+    int length = 0;
+    for (Future<ResponseBody> future : futures) {
+      try (ResponseBody body = future.get()) {
+        length += (int) body.contentLength();
+      }
+    }
+    return length;
+  }
+}
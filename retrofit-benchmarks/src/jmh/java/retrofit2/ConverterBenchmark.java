@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import kotlinx.serialization.json.Json;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.PayloadProtos.ProtoPayload;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+import retrofit2.converter.jaxb.JaxbConverterFactory;
+import retrofit2.converter.kotlinx.serialization.KotlinSerializationConverterFactory;
+import retrofit2.converter.moshi.MoshiConverterFactory;
+import retrofit2.converter.protobuf.ProtoConverterFactory;
+import retrofit2.converter.simplexml.SimpleXmlConverterFactory;
+
+/**
+ * Measures each converter decoding a response body and encoding a request body for a payload
+ * of {@link #items} items. The JSON, XML, and protocol buffer converters each use an equivalent
+ * model for their format.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+  private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+  private static final MediaType XML = MediaType.get("application/xml; charset=UTF-8");
+  private static final MediaType PROTOBUF = MediaType.get("application/x-protobuf");
+  private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+  @Param({
+    "gson",
+    "jackson",
+    "jaxb",
+    "jaxb-pooled",
+    "jaxb3",
+    "jaxb3-pooled",
+    "kotlinx-serialization",
+    "moshi",
+    "protobuf",
+    "simplexml"
+  })
+  String converter;
+
+  /** Small, medium, and large payloads are roughly 100B, 10KB, and 1MB respectively. */
+  @Param({"1", "100", "10000"})
+  int items;
+
+  private MediaType contentType;
+  private byte[] bytes;
+  private Converter<ResponseBody, ?> responseConverter;
+  private Converter<Object, RequestBody> requestConverter;
+  private Object value;
+  private final Buffer sink = new Buffer();
+
+  @SuppressWarnings("deprecation") // Simple XML is deprecated but still supported.
+  @Setup
+  public void setup() throws IOException, JAXBException {
+    Converter.Factory factory;
+    Type type;
+    switch (converter) {
+      case "gson":
+        factory = GsonConverterFactory.create();
+        type = Payload.class;
+        break;
+      case "jackson":
+        factory = JacksonConverterFactory.create();
+        type = Payload.class;
+        break;
+      case "kotlinx-serialization":
+        factory = KotlinSerializationConverterFactory.create(Json.Default, JSON);
+        type = KotlinPayload.class;
+        break;
+      case "moshi":
+        factory = MoshiConverterFactory.create();
+        type = Payload.class;
+        break;
+      case "jaxb":
+        factory = JaxbConverterFactory.create();
+        type = XmlPayload.class;
+        break;
+      case "jaxb-pooled":
+        factory = JaxbConverterFactory.create().withPoolSize(4);
+        type = XmlPayload.class;
+        break;
+      case "jaxb3":
+        factory = retrofit2.converter.jaxb3.JaxbConverterFactory.create();
+        type = XmlPayload.class;
+        break;
+      case "jaxb3-pooled":
+        factory = retrofit2.converter.jaxb3.JaxbConverterFactory.create().withPoolSize(4);
+        type = XmlPayload.class;
+        break;
+      case "simplexml":
+        factory = SimpleXmlConverterFactory.create();
+        type = XmlPayload.class;
+        break;
+      case "protobuf":
+        factory = ProtoConverterFactory.create();
+        type = ProtoPayload.class;
+        break;
+      default:
+        throw new IllegalArgumentException(converter);
+    }
+
+    if (type == XmlPayload.class) {
+      StringWriter writer = new StringWriter();
+      JAXBContext.newInstance(XmlPayload.class)
+          .createMarshaller()
+          .marshal(XmlPayload.create(items), writer);
+      contentType = XML;
+      bytes = writer.toString().getBytes(UTF_8);
+    } else if (type == ProtoPayload.class) {
+      contentType = PROTOBUF;
+      bytes = createProtoPayload(items).toByteArray();
+    } else {
+      contentType = JSON;
+      bytes = new Gson().toJson(Payload.create(items)).getBytes(UTF_8);
+    }
+
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl("https://example.com/")
+            .addConverterFactory(factory)
+            .build();
+    responseConverter = retrofit.responseBodyConverter(type, NO_ANNOTATIONS);
+    @SuppressWarnings("unchecked") // The request converter accepts the response converter's type.
+    Converter<Object, RequestBody> requestConverter =
+        (Converter<Object, RequestBody>)
+            retrofit.requestBodyConverter(type, NO_ANNOTATIONS, NO_ANNOTATIONS);
+    this.requestConverter = requestConverter;
+
+    // Decode the value to encode with the converter itself so that each uses its own model.
+    value = decode();
+  }
+
+  private static ProtoPayload createProtoPayload(int count) {
+    ProtoPayload.Builder builder = ProtoPayload.newBuilder();
+    for (Payload.Item item : Payload.create(count).items) {
+      builder.addItems(
+          ProtoPayload.Item.newBuilder()
+              .setId(item.id)
+              .setName(item.name)
+              .setPrice(item.price)
+              .setAvailable(item.available)
+              .addAllTags(item.tags));
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public Object decode() throws IOException {
+    return responseConverter.convert(ResponseBody.create(contentType, bytes));
+  }
+
+  @Benchmark
+  public long encode() throws IOException {
+    RequestBody body = requestConverter.convert(value);
+    body.writeTo(sink);
+    long size = sink.size();
+    sink.clear();
+    return size;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.http.GET;
+
+/**
+ * Measures {@link OkHttpCall#parseResponse} reading a successful body of {@link #size} bytes. The
+ * converter only drains the body so this is the overhead which Retrofit adds to every converter.
+ * Each invocation also copies the body into a fresh buffer, standing in for the network.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ParseResponseBenchmark {
+  interface Service {
+    @GET("/")
+    Call<Long> get();
+  }
+
+  /** Drains the body and returns the number of bytes read. */
+  static final Converter<ResponseBody, Long> DRAINING =
+      value -> {
+        BufferedSource source = value.source();
+        long byteCount = 0;
+        while (!source.exhausted()) {
+          Buffer buffer = source.buffer();
+          byteCount += buffer.size();
+          buffer.clear();
+        }
+        return byteCount;
+      };
+
+  @Param({"1024", "65536", "4194304"})
+  int size;
+
+  private StubCallFactory callFactory;
+  private OkHttpCall<Long> call;
+  private Request request;
+
+  @Setup
+  public void setup() throws NoSuchMethodException {
+    callFactory = new StubCallFactory(MediaType.get("application/octet-stream"), new byte[size]);
+    Retrofit retrofit =
+        new Retrofit.Builder().baseUrl("https://example.com/").callFactory(callFactory).build();
+    Method method = Service.class.getDeclaredMethod("get");
+    RequestFactory requestFactory =
+        RequestFactory.parseAnnotations(retrofit, Service.class, method);
+    call = new OkHttpCall<>(requestFactory, this, new Object[0], callFactory, DRAINING);
+    request = call.request();
+  }
+
+  @Benchmark
+  public Response<Long> parseResponse() throws IOException {
+    return call.parseResponse(callFactory.response(request));
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** The model decoded and encoded by the JSON converter benchmarks. */
+public final class Payload {
+  public List<Item> items;
+
+  public static final class Item {
+    public long id;
+    public String name;
+    public double price;
+    public boolean available;
+    public List<String> tags;
+  }
+
+  static Payload create(int count) {
+    Payload payload = new Payload();
+    payload.items = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Item item = new Item();
+      item.id = i;
+      item.name = "Item number " + i + " with a name long enough to be realistic";
+      item.price = i * 1.25;
+      item.available = i % 3 != 0;
+      item.tags = Arrays.asList("tag" + i % 7, "tag" + i % 11, "ünïcödé");
+      payload.items.add(item);
+    }
+    return payload;
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.http.Field;
+import retrofit2.http.FormUrlEncoded;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Multipart;
+import retrofit2.http.POST;
+import retrofit2.http.Part;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.QueryMap;
+
+/** Measures creating a {@link Request} from the parsed model of a method and its arguments. */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RequestFactoryBenchmark {
+  interface Service {
+    @GET("repos/{owner}/{repo}/contributors")
+    Call<ResponseBody> path(@Path("owner") String owner, @Path("repo") String repo);
+
+    @GET("repos/{owner}/{repo}/commits/{sha}/comments/{id}")
+    Call<ResponseBody> manyPaths(
+        @Path("owner") String owner,
+        @Path("repo") String repo,
+        @Path("sha") String sha,
+        @Path("id") long id);
+
+    @GET("search/repositories")
+    Call<ResponseBody> query(
+        @Query("q") String q, @Query("page") int page, @Query("per_page") int perPage);
+
+    @GET("search/repositories")
+    Call<ResponseBody> queryMap(@QueryMap Map<String, String> query);
+
+    @FormUrlEncoded
+    @POST("login")
+    Call<ResponseBody> field(@Field("user") String user, @Field("password") String password);
+
+    @Multipart
+    @POST("upload")
+    Call<ResponseBody> part(
+        @Part("description") RequestBody description, @Part MultipartBody.Part file);
+
+    @GET("repos/{owner}/{repo}/issues")
+    Call<ResponseBody> mixed(
+        @Header("Authorization") String authorization,
+        @Path("owner") String owner,
+        @Path("repo") String repo,
+        @Query("state") String state,
+        @Query("labels") String labels);
+  }
+
+  private RequestFactory path;
+  private RequestFactory manyPaths;
+  private RequestFactory query;
+  private RequestFactory queryMap;
+  private RequestFactory field;
+  private RequestFactory part;
+  private RequestFactory mixed;
+
+  private final Map<String, String> queryMapArgument = new LinkedHashMap<>();
+  private final RequestBody description =
+      RequestBody.create(MediaType.get("text/plain"), "A description");
+  private final MultipartBody.Part file =
+      MultipartBody.Part.createFormData(
+          "file", "file.bin", RequestBody.create(MediaType.get("application/octet-stream"), "a"));
+
+  @Setup
+  public void setup() {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl("https://api.github.com/")
+            .callFactory(new StubCallFactory())
+            .build();
+    path = parse(retrofit, "path");
+    manyPaths = parse(retrofit, "manyPaths");
+    query = parse(retrofit, "query");
+    queryMap = parse(retrofit, "queryMap");
+    field = parse(retrofit, "field");
+    part = parse(retrofit, "part");
+    mixed = parse(retrofit, "mixed");
+
+    queryMapArgument.put("q", "retrofit");
+    queryMapArgument.put("page", "2");
+    queryMapArgument.put("per_page", "100");
+  }
+
+  private static RequestFactory parse(Retrofit retrofit, String name) {
+    for (Method method : Service.class.getDeclaredMethods()) {
+      if (method.getName().equals(name)) {
+        return RequestFactory.parseAnnotations(retrofit, Service.class, method);
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+
+  @Benchmark
+  public Request path() throws IOException {
+    return path.create(null, new Object[] {"square", "retrofit"});
+  }
+
+  @Benchmark
+  public Request manyPaths() throws IOException {
+    return manyPaths.create(null, new Object[] {"square", "retrofit", "a1b2c3d4", 4242L});
+  }
+
+  @Benchmark
+  public Request query() throws IOException {
+    return query.create(null, new Object[] {"retrofit", 2, 100});
+  }
+
+  @Benchmark
+  public Request queryMap() throws IOException {
+    return queryMap.create(null, new Object[] {queryMapArgument});
+  }
+
+  @Benchmark
+  public Request field() throws IOException {
+    return field.create(null, new Object[] {"jake", "hunter2"});
+  }
+
+  @Benchmark
+  public Request part() throws IOException {
+    return part.create(null, new Object[] {description, file});
+  }
+
+  @Benchmark
+  public Request mixed() throws IOException {
+    return mixed.create(
+        null, new Object[] {"token abc123", "square", "retrofit", "open", "bug,help wanted"});
+  }
+}
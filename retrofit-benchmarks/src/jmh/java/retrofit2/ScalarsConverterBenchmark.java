@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+/** Measures the scalars converter decoding a response body and encoding a request body. */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ScalarsConverterBenchmark {
+  private static final MediaType PLAIN_TEXT = MediaType.get("text/plain; charset=UTF-8");
+  private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+  @Param({"String", "Boolean", "Integer", "Long", "Double"})
+  String type;
+
+  private byte[] bytes;
+  private Converter<ResponseBody, ?> responseConverter;
+  private Converter<Object, RequestBody> requestConverter;
+  private Object value;
+  private final Buffer sink = new Buffer();
+
+  @Setup
+  public void setup() throws IOException {
+    Class<?> scalarType;
+    String text;
+    switch (type) {
+      case "String":
+        scalarType = String.class;
+        text = "Hello, World!";
+        break;
+      case "Boolean":
+        scalarType = Boolean.class;
+        text = "true";
+        break;
+      case "Integer":
+        scalarType = Integer.class;
+        text = "-1234567890";
+        break;
+      case "Long":
+        scalarType = Long.class;
+        text = "-1234567890123456789";
+        break;
+      case "Double":
+        scalarType = Double.class;
+        text = "1234.5678";
+        break;
+      default:
+        throw new IllegalArgumentException(type);
+    }
+    bytes = text.getBytes(UTF_8);
+
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl("https://example.com/")
+            .addConverterFactory(ScalarsConverterFactory.create())
+            .build();
+    responseConverter = retrofit.responseBodyConverter(scalarType, NO_ANNOTATIONS);
+    @SuppressWarnings("unchecked") // The request converter accepts the response converter's type.
+    Converter<Object, RequestBody> requestConverter =
+        (Converter<Object, RequestBody>)
+            retrofit.requestBodyConverter(scalarType, NO_ANNOTATIONS, NO_ANNOTATIONS);
+    this.requestConverter = requestConverter;
+    value = decode();
+  }
+
+  @Benchmark
+  public Object decode() throws IOException {
+    return responseConverter.convert(ResponseBody.create(PLAIN_TEXT, bytes));
+  }
+
+  @Benchmark
+  public long encode() throws IOException {
+    RequestBody body = requestConverter.convert(value);
+    body.writeTo(sink);
+    long size = sink.size();
+    sink.clear();
+    return size;
+  }
+}
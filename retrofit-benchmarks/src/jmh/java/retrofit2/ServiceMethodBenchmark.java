@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.util.concurrent.TimeUnit;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+/**
+ * Measures invoking service methods through a {@link java.lang.reflect.Proxy} and through an
+ * implementation generated by the service generator. The "create" benchmarks include creating a
+ * {@link Retrofit} instance and parsing the method annotations on the first call.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ServiceMethodBenchmark {
+  /** The service generator creates an implementation of this interface. */
+  interface GeneratedService {
+    @GET("users/{user}/repos")
+    Call<ResponseBody> repos(@Path("user") String user, @Query("sort") String sort);
+
+    default Call<ResponseBody> updatedRepos(String user) {
+      return repos(user, "updated");
+    }
+  }
+
+  /** The service generator skips private interfaces, so this is always a proxy. */
+  private interface ProxiedService {
+    @GET("users/{user}/repos")
+    Call<ResponseBody> repos(@Path("user") String user, @Query("sort") String sort);
+
+    default Call<ResponseBody> updatedRepos(String user) {
+      return repos(user, "updated");
+    }
+  }
+
+  private final StubCallFactory callFactory = new StubCallFactory();
+  private GeneratedService generated;
+  private ProxiedService proxied;
+
+  @Setup
+  public void setup() {
+    Retrofit retrofit = retrofit();
+    generated = retrofit.create(GeneratedService.class);
+    proxied = retrofit.create(ProxiedService.class);
+  }
+
+  private Retrofit retrofit() {
+    return new Retrofit.Builder()
+        .baseUrl("https://api.github.com/")
+        .callFactory(callFactory)
+        .build();
+  }
+
+  @Benchmark
+  public Request createAndFirstCallProxied() {
+    return retrofit().create(ProxiedService.class).repos("square", "updated").request();
+  }
+
+  @Benchmark
+  public Request createAndFirstCallGenerated() {
+    return retrofit().create(GeneratedService.class).repos("square", "updated").request();
+  }
+
+  @Benchmark
+  public Request callProxied() {
+    return proxied.repos("square", "updated").request();
+  }
+
+  @Benchmark
+  public Request callGenerated() {
+    return generated.repos("square", "updated").request();
+  }
+
+  @Benchmark
+  public Request defaultMethodProxied() {
+    return proxied.updatedRepos("square").request();
+  }
+
+  @Benchmark
+  public Request defaultMethodGenerated() {
+    return generated.updatedRepos("square").request();
+  }
+}
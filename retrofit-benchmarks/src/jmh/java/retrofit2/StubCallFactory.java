@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.Timeout;
+
+/**
+ * A {@link okhttp3.Call.Factory} whose calls respond immediately with the same body, without any
+ * network I/O, so that benchmarks only measure Retrofit's own work.
+ */
+final class StubCallFactory implements okhttp3.Call.Factory {
+  private final @Nullable MediaType contentType;
+  private final byte[] body;
+
+  StubCallFactory(@Nullable MediaType contentType, byte[] body) {
+    this.contentType = contentType;
+    this.body = body;
+  }
+
+  StubCallFactory() {
+    this(null, new byte[0]);
+  }
+
+  @Override
+  public okhttp3.Call newCall(Request request) {
+    return new StubCall(request);
+  }
+
+  /** Returns a new response to {@code request} whose body has not yet been read. */
+  Response response(Request request) {
+    return new Response.Builder()
+        .request(request)
+        .protocol(Protocol.HTTP_1_1)
+        .code(200)
+        .message("OK")
+        .body(ResponseBody.create(contentType, body.length, new Buffer().write(body)))
+        .build();
+  }
+
+  final class StubCall implements okhttp3.Call {
+    private final Request request;
+    private boolean executed;
+    private volatile boolean canceled;
+
+    StubCall(Request request) {
+      this.request = request;
+    }
+
+    @Override
+    public Request request() {
+      return request;
+    }
+
+    @Override
+    public Response execute() throws IOException {
+      if (executed) throw new IllegalStateException("Already Executed");
+      executed = true;
+      if (canceled) throw new IOException("Canceled");
+      return response(request);
+    }
+
+    @Override
+    public void enqueue(okhttp3.Callback responseCallback) {
+      Response response;
+      try {
+        response = execute();
+      } catch (IOException e) {
+        responseCallback.onFailure(this, e);
+        return;
+      }
+      try {
+        responseCallback.onResponse(this, response);
+      } catch (IOException e) {
+        throw new AssertionError(e);
+      }
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return executed;
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    @Override
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public okhttp3.Call clone() {
+      return new StubCall(request);
+    }
+  }
+}
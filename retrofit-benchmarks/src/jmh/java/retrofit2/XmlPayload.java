@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.simpleframework.xml.Element;
+import org.simpleframework.xml.ElementList;
+import org.simpleframework.xml.Root;
+
+/**
+ * The model decoded and encoded by the XML converter benchmarks. It is annotated for both JAXB
+ * packages and for Simple XML such that each produces and accepts the same document.
+ */
+@javax.xml.bind.annotation.XmlRootElement(name = "payload")
+@jakarta.xml.bind.annotation.XmlRootElement(name = "payload")
+@Root(name = "payload")
+public final class XmlPayload {
+  @javax.xml.bind.annotation.XmlElement(name = "item")
+  @jakarta.xml.bind.annotation.XmlElement(name = "item")
+  @ElementList(inline = true, entry = "item")
+  public List<Item> items;
+
+  public static final class Item {
+    @Element(name = "id")
+    public long id;
+
+    @Element(name = "name")
+    public String name;
+
+    @Element(name = "price")
+    public double price;
+
+    @Element(name = "available")
+    public boolean available;
+  }
+
+  static XmlPayload create(int count) {
+    XmlPayload payload = new XmlPayload();
+    payload.items = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Item item = new Item();
+      item.id = i;
+      item.name = "Item number " + i + " with a name long enough to be realistic";
+      item.price = i * 1.25;
+      item.available = i % 3 != 0;
+      payload.items.add(item);
+    }
+    return payload;
+  }
+}
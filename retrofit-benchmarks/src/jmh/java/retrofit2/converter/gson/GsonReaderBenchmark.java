@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares decoding a UTF-8 JSON document of {@link #size} bytes through {@link
+ * ResponseBody#charStream()} and through {@link Utf8SourceReader}. The document is only skipped by
+ * Gson so that character decoding dominates.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class GsonReaderBenchmark {
+  private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+  @Param({"10240", "1048576", "10485760"})
+  int size;
+
+  private final Gson gson = new Gson();
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    Buffer buffer = new Buffer().writeUtf8("[");
+    for (int i = 0; buffer.size() < size; i++) {
+      if (i > 0) buffer.writeUtf8(",");
+      buffer.writeUtf8("{\"id\":" + i + ",\"name\":\"Item ünïcödé ∑ 😀 " + i + "\"}");
+    }
+    buffer.writeUtf8("]");
+    bytes = buffer.readByteArray();
+  }
+
+  @Benchmark
+  public void charStream() throws IOException {
+    ResponseBody body = ResponseBody.create(JSON, bytes);
+    skip(body.charStream());
+  }
+
+  @Benchmark
+  public void utf8SourceReader() throws IOException {
+    ResponseBody body = ResponseBody.create(JSON, bytes);
+    skip(new Utf8SourceReader(body.source()));
+  }
+
+  private void skip(Reader reader) throws IOException {
+    try (JsonReader jsonReader = gson.newJsonReader(reader)) {
+      jsonReader.skipValue();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares binding a UTF-8 JSON document of {@link #size} bytes from the response body's byte
+ * stream and from the non-blocking parser used by {@link
+ * JacksonConverterFactory#withIncrementalParsing()}. Compare the {@code gc.alloc.rate.norm} column
+ * as well as throughput, since both paths should allocate little beyond the bound value.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JacksonParsingBenchmark {
+  private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+  public static final class Item {
+    public int id;
+    public String name;
+  }
+
+  @Param({"10240", "1048576", "10485760"})
+  int size;
+
+  private byte[] bytes;
+  private JacksonResponseBodyConverter<List<Item>> byteStream;
+  private JacksonResponseBodyConverter<List<Item>> incremental;
+
+  @Setup
+  public void setup() {
+    Buffer buffer = new Buffer().writeUtf8("[");
+    for (int i = 0; buffer.size() < size; i++) {
+      if (i > 0) buffer.writeUtf8(",");
+      buffer.writeUtf8("{\"id\":" + i + ",\"name\":\"Item ünïcödé ∑ 😀 " + i + "\"}");
+    }
+    buffer.writeUtf8("]");
+    bytes = buffer.readByteArray();
+
+    ObjectReader reader = new ObjectMapper().readerFor(new TypeReference<List<Item>>() {});
+    byteStream = new JacksonResponseBodyConverter<>(reader, false, false);
+    incremental = new JacksonResponseBodyConverter<>(reader, true, false);
+  }
+
+  @Benchmark
+  public List<Item> byteStream() throws IOException {
+    return byteStream.convert(ResponseBody.create(JSON, bytes));
+  }
+
+  @Benchmark
+  public List<Item> incremental() throws IOException {
+    return incremental.convert(ResponseBody.create(JSON, bytes));
+  }
+}
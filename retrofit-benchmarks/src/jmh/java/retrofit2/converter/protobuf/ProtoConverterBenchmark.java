@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.protobuf;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.Converter;
+import retrofit2.PayloadProtos.ProtoBlob;
+import retrofit2.PayloadProtos.ProtoPayload;
+
+/**
+ * Compares parsing from {@link ResponseBody#byteStream()} and serializing through {@link
+ * MessageLite#toByteArray()} with the converters, for messages of {@link #size} bytes. A {@code
+ * blob} message is a single bytes field, and a {@code payload} message is many small items. The
+ * converter is measured both with and without {@link ProtoConverterFactory#withAliasing()}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ProtoConverterBenchmark {
+  private static final MediaType PROTOBUF = MediaType.get("application/x-protobuf");
+
+  @Param({"blob", "payload"})
+  String message;
+
+  @Param({"1048576", "10485760", "52428800"})
+  int size;
+
+  private Parser<? extends MessageLite> parser;
+  private MessageLite value;
+  private byte[] bytes;
+  private Converter<ResponseBody, ?> responseConverter;
+  private Converter<ResponseBody, ?> aliasingResponseConverter;
+  private Converter<MessageLite, RequestBody> requestConverter;
+  private final Buffer sink = new Buffer();
+
+  @Setup
+  public void setup() {
+    if (message.equals("blob")) {
+      byte[] data = new byte[size];
+      new Random(0).nextBytes(data);
+      value = ProtoBlob.newBuilder().setName("blob").setData(ByteString.copyFrom(data)).build();
+      parser = ProtoBlob.parser();
+    } else {
+      ProtoPayload.Builder builder = ProtoPayload.newBuilder();
+      // Each item is roughly 100 bytes, like those of retrofit2.Payload.
+      for (int i = 0, total = 0; total < size; i++) {
+        ProtoPayload.Item item =
+            ProtoPayload.Item.newBuilder()
+                .setId(i)
+                .setName("Item number " + i + " with a name long enough to be realistic")
+                .setPrice(i * 1.25)
+                .setAvailable(i % 3 != 0)
+                .addTags("tag" + i % 7)
+                .addTags("tag" + i % 11)
+                .addTags("ünïcödé")
+                .build();
+        builder.addItems(item);
+        total += CodedOutputStream.computeMessageSize(1, item);
+      }
+      value = builder.build();
+      parser = ProtoPayload.parser();
+    }
+    bytes = value.toByteArray();
+
+    @SuppressWarnings("unchecked") // Parsers and the message type always agree.
+    Parser<MessageLite> messageParser = (Parser<MessageLite>) parser;
+    responseConverter = new ProtoResponseBodyConverter<>(messageParser, null, false);
+    aliasingResponseConverter = new ProtoResponseBodyConverter<>(messageParser, null, true);
+    requestConverter = new ProtoRequestBodyConverter<>();
+  }
+
+  @Benchmark
+  public Object decodeByteStream() throws IOException {
+    return parser.parseFrom(ResponseBody.create(PROTOBUF, bytes).byteStream());
+  }
+
+  @Benchmark
+  public Object decode() throws IOException {
+    return responseConverter.convert(ResponseBody.create(PROTOBUF, bytes));
+  }
+
+  @Benchmark
+  public Object decodeAliasing() throws IOException {
+    return aliasingResponseConverter.convert(ResponseBody.create(PROTOBUF, bytes));
+  }
+
+  @Benchmark
+  public long encodeByteArray() throws IOException {
+    return write(RequestBody.create(PROTOBUF, value.toByteArray()));
+  }
+
+  @Benchmark
+  public long encode() throws IOException {
+    return write(requestConverter.convert(value));
+  }
+
+  private long write(RequestBody body) throws IOException {
+    body.writeTo(sink);
+    long size = sink.size();
+    sink.clear();
+    return size;
+  }
+}
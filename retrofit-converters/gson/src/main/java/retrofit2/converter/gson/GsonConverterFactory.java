@@ -19,7 +19,9 @@ import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import retrofit2.Converter;
@@ -32,6 +34,12 @@ import retrofit2.Retrofit;
  * handle all types. If you are mixing JSON serialization with something else (such as protocol
  * buffers), you must {@linkplain Retrofit.Builder#addConverterFactory(Converter.Factory) add this
  * instance} last to allow the other converters a chance to see their types.
+ *
+ * <p>A response body type of {@link Iterator Iterator&lt;T&gt;} decodes a JSON array lazily, one
+ * element at a time as the iterator advances. The response body is closed once the iterator is
+ * exhausted or fails. Iterators which are abandoned early must be closed by casting them to
+ * {@link java.io.Closeable}. Failures to read the body are thrown from the iterator as a {@link
+ * com.google.gson.JsonIOException}.
  */
 public final class GsonConverterFactory extends Converter.Factory {
   /**
@@ -49,18 +57,53 @@ public final class GsonConverterFactory extends Converter.Factory {
   @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
   public static GsonConverterFactory create(Gson gson) {
     if (gson == null) throw new NullPointerException("gson == null");
-    return new GsonConverterFactory(gson);
+    return new GsonConverterFactory(gson, false, false);
   }
 
   private final Gson gson;
+  private final boolean streaming;
+  private final boolean computeContentLength;
 
-  private GsonConverterFactory(Gson gson) {
+  private GsonConverterFactory(Gson gson, boolean streaming, boolean computeContentLength) {
     this.gson = gson;
+    this.streaming = streaming;
+    this.computeContentLength = computeContentLength;
+  }
+
+  /**
+   * Return a new factory which streams serialization of request messages to bytes on the HTTP
+   * thread. This is either the calling thread for {@link retrofit2.Call#execute()}, or one of
+   * OkHttp's background threads for {@link retrofit2.Call#enqueue}. Rather than first buffering the
+   * entire message, its JSON is written directly to the connection.
+   *
+   * <p>Request bodies created by the returned factory have an unknown length and will be sent with
+   * chunked transfer encoding. Use {@link #withStreamingContentLength()} if the length is required.
+   *
+   * <p>Serialization failures occur while the request is being sent rather than when the call is
+   * created.
+   */
+  public GsonConverterFactory withStreaming() {
+    return new GsonConverterFactory(gson, true, false);
+  }
+
+  /**
+   * Return a new factory which streams serialization of request messages like {@link
+   * #withStreaming()}, but where each request body computes its length before it is sent. The
+   * length is computed by serializing the message an extra time and counting, but discarding, the
+   * bytes. This costs CPU but, unlike buffering, does not hold the entire message in memory.
+   */
+  public GsonConverterFactory withStreamingContentLength() {
+    return new GsonConverterFactory(gson, true, true);
   }
 
   @Override
   public Converter<ResponseBody, ?> responseBodyConverter(
       Type type, Annotation[] annotations, Retrofit retrofit) {
+    if (getRawType(type) == Iterator.class && type instanceof ParameterizedType) {
+      Type elementType = getParameterUpperBound(0, (ParameterizedType) type);
+      TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(elementType));
+      return new GsonIteratorResponseBodyConverter<>(gson, adapter);
+    }
     TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
     return new GsonResponseBodyConverter<>(gson, adapter);
   }
@@ -72,6 +115,6 @@ public final class GsonConverterFactory extends Converter.Factory {
       Annotation[] methodAnnotations,
       Retrofit retrofit) {
     TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
-    return new GsonRequestBodyConverter<>(gson, adapter);
+    return new GsonRequestBodyConverter<>(gson, adapter, streaming, computeContentLength);
   }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+/** Decodes the elements of a JSON array response lazily as the returned iterator advances. */
+final class GsonIteratorResponseBodyConverter<T> implements Converter<ResponseBody, Iterator<T>> {
+  private final Gson gson;
+  private final TypeAdapter<T> adapter;
+
+  GsonIteratorResponseBodyConverter(Gson gson, TypeAdapter<T> adapter) {
+    this.gson = gson;
+    this.adapter = adapter;
+  }
+
+  @Override
+  public Iterator<T> convert(ResponseBody value) throws IOException {
+    try {
+      JsonReader jsonReader = gson.newJsonReader(GsonResponseBodyConverter.reader(value));
+      jsonReader.beginArray();
+      return new ElementIterator<>(value, jsonReader, adapter);
+    } catch (IOException | RuntimeException e) {
+      value.close();
+      throw e;
+    }
+  }
+
+  static final class ElementIterator<T> implements Iterator<T>, Closeable {
+    private final ResponseBody body;
+    private final JsonReader jsonReader;
+    private final TypeAdapter<T> adapter;
+    private boolean closed;
+
+    ElementIterator(ResponseBody body, JsonReader jsonReader, TypeAdapter<T> adapter) {
+      this.body = body;
+      this.jsonReader = jsonReader;
+      this.adapter = adapter;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (closed) return false;
+      try {
+        if (jsonReader.hasNext()) return true;
+        jsonReader.endArray();
+        if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+          throw new JsonIOException("JSON document was not fully consumed.");
+        }
+        close();
+        return false;
+      } catch (IOException e) {
+        close();
+        throw new JsonIOException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      try {
+        return adapter.read(jsonReader);
+      } catch (IOException e) {
+        close();
+        throw new JsonIOException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed) return;
+      closed = true;
+      body.close();
+    }
+  }
+}
@@ -29,18 +29,27 @@ import okio.Buffer;
 import retrofit2.Converter;
 
 final class GsonRequestBodyConverter<T> implements Converter<T, RequestBody> {
-  private static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=UTF-8");
+  static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=UTF-8");
 
   private final Gson gson;
   private final TypeAdapter<T> adapter;
+  private final boolean streaming;
+  private final boolean computeContentLength;
 
-  GsonRequestBodyConverter(Gson gson, TypeAdapter<T> adapter) {
+  GsonRequestBodyConverter(
+      Gson gson, TypeAdapter<T> adapter, boolean streaming, boolean computeContentLength) {
     this.gson = gson;
     this.adapter = adapter;
+    this.streaming = streaming;
+    this.computeContentLength = computeContentLength;
   }
 
   @Override
   public RequestBody convert(T value) throws IOException {
+    if (streaming) {
+      return new GsonStreamingRequestBody<>(gson, adapter, value, computeContentLength);
+    }
+
     Buffer buffer = new Buffer();
     Writer writer = new OutputStreamWriter(buffer.outputStream(), UTF_8);
     JsonWriter jsonWriter = gson.newJsonWriter(writer);
@@ -15,16 +15,28 @@
  */
 package retrofit2.converter.gson;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import okhttp3.MediaType;
 import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ByteString;
 import retrofit2.Converter;
 
 final class GsonResponseBodyConverter<T> implements Converter<ResponseBody, T> {
+  private static final ByteString UTF8_BOM = ByteString.decodeHex("EFBBBF");
+  private static final ByteString UTF16_BE_BOM = ByteString.decodeHex("FEFF");
+  private static final ByteString UTF16_LE_BOM = ByteString.decodeHex("FFFE");
+  private static final ByteString UTF32_BE_BOM = ByteString.decodeHex("0000FEFF");
+
   private final Gson gson;
   private final TypeAdapter<T> adapter;
 
@@ -35,8 +47,8 @@ final class GsonResponseBodyConverter<T> implements Converter<ResponseBody, T> {
 
   @Override
   public T convert(ResponseBody value) throws IOException {
-    JsonReader jsonReader = gson.newJsonReader(value.charStream());
     try {
+      JsonReader jsonReader = gson.newJsonReader(reader(value));
       T result = adapter.read(jsonReader);
       if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
         throw new JsonIOException("JSON document was not fully consumed.");
@@ -46,4 +58,27 @@ final class GsonResponseBodyConverter<T> implements Converter<ResponseBody, T> {
       value.close();
     }
   }
+
+  /**
+   * Returns a reader which decodes UTF-8 directly from the body's source when the body declares
+   * UTF-8 or no charset. Like {@link ResponseBody#charStream()}, a byte order mark takes precedence
+   * over the declared charset, so bodies with a UTF-16 or UTF-32 BOM use {@code charStream()}.
+   */
+  static Reader reader(ResponseBody value) throws IOException {
+    MediaType contentType = value.contentType();
+    Charset charset = contentType != null ? contentType.charset(null) : null;
+    if (charset != null && !charset.equals(UTF_8)) {
+      return value.charStream();
+    }
+
+    BufferedSource source = value.source();
+    if (source.rangeEquals(0, UTF8_BOM)) {
+      source.skip(UTF8_BOM.size());
+    } else if (source.rangeEquals(0, UTF16_BE_BOM)
+        || source.rangeEquals(0, UTF16_LE_BOM)
+        || source.rangeEquals(0, UTF32_BE_BOM)) {
+      return value.charStream();
+    }
+    return new Utf8SourceReader(source);
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.gson;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Sink;
+import okio.Timeout;
+
+/** A request body which serializes its value directly to the sink each time it is written. */
+final class GsonStreamingRequestBody<T> extends RequestBody {
+  private final Gson gson;
+  private final TypeAdapter<T> adapter;
+  private final T value;
+  private final boolean computeContentLength;
+  private long contentLength = -1L;
+
+  GsonStreamingRequestBody(
+      Gson gson, TypeAdapter<T> adapter, T value, boolean computeContentLength) {
+    this.gson = gson;
+    this.adapter = adapter;
+    this.value = value;
+    this.computeContentLength = computeContentLength;
+  }
+
+  @Override
+  public MediaType contentType() {
+    return GsonRequestBodyConverter.MEDIA_TYPE;
+  }
+
+  @Override
+  public long contentLength() throws IOException {
+    if (computeContentLength && contentLength == -1L) {
+      CountingSink countingSink = new CountingSink();
+      BufferedSink sink = Okio.buffer(countingSink);
+      writeJson(sink);
+      sink.flush();
+      contentLength = countingSink.byteCount;
+    }
+    return contentLength;
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    writeJson(sink);
+  }
+
+  private void writeJson(BufferedSink sink) throws IOException {
+    Writer writer = new OutputStreamWriter(sink.outputStream(), UTF_8);
+    JsonWriter jsonWriter = gson.newJsonWriter(writer);
+    adapter.write(jsonWriter, value);
+    // Flush rather than close so that the sink remains open for its owner.
+    jsonWriter.flush();
+  }
+
+  /** Discards all bytes written to it, only counting them. */
+  static final class CountingSink implements Sink {
+    long byteCount;
+
+    @Override
+    public void write(Buffer source, long byteCount) throws IOException {
+      source.skip(byteCount);
+      this.byteCount += byteCount;
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
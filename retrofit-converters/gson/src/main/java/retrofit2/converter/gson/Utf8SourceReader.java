@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.gson;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import okio.BufferedSource;
+
+/**
+ * A reader which decodes UTF-8 from {@code source} into a reused character buffer. Bytes are read
+ * from the source's buffer without an {@link java.io.InputStream} adapter, and no strings or arrays
+ * are allocated after construction.
+ *
+ * <p>Code points which span reads from the source are held back until they are complete. Malformed
+ * input is replaced with U+FFFD like an {@link java.io.InputStreamReader}.
+ */
+final class Utf8SourceReader extends Reader {
+  private static final int BUFFER_SIZE = 8192;
+
+  private final BufferedSource source;
+  private final CharsetDecoder decoder =
+      UTF_8
+          .newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  /** Bytes which have been read from the source but not yet decoded. */
+  private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+  /** Characters which have been decoded but not yet read. */
+  private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+  private boolean endOfInput;
+  private boolean finished;
+
+  Utf8SourceReader(BufferedSource source) {
+    this.source = source;
+    bytes.flip();
+    chars.flip();
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    if (len == 0) return 0;
+    if (!chars.hasRemaining() && !decodeMore()) return -1;
+
+    int charCount = Math.min(len, chars.remaining());
+    chars.get(cbuf, off, charCount);
+    return charCount;
+  }
+
+  /** Decode more characters, returning false if the source is exhausted. */
+  private boolean decodeMore() throws IOException {
+    chars.clear();
+    while (chars.position() == 0 && !finished) {
+      if (!endOfInput) {
+        // Keep any incomplete code point and append the next bytes after it.
+        bytes.compact();
+        int read = source.read(bytes.array(), bytes.position(), bytes.remaining());
+        if (read == -1) {
+          endOfInput = true;
+        } else {
+          bytes.position(bytes.position() + read);
+        }
+        bytes.flip();
+      }
+
+      CoderResult result = decoder.decode(bytes, chars, endOfInput);
+      if (endOfInput && result.isUnderflow()) {
+        decoder.flush(chars);
+        finished = true;
+      }
+    }
+    chars.flip();
+    return chars.hasRemaining();
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+}
@@ -16,6 +16,8 @@
 package retrofit2.converter.gson;
 
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16BE;
 import static org.junit.Assert.fail;
 
 import com.google.gson.Gson;
@@ -25,10 +27,14 @@ import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.Iterator;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.ByteString;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -116,6 +122,9 @@ public final class GsonConverterFactoryTest {
 
     @GET("/")
     Call<Value> value();
+
+    @GET("/")
+    Call<Iterator<AnImplementation>> iterator();
   }
 
   @Rule public final MockWebServer server = new MockWebServer();
@@ -198,4 +207,141 @@ public final class GsonConverterFactoryTest {
       assertThat(e).hasMessageThat().isEqualTo("JSON document was not fully consumed.");
     }
   }
+
+  @Test
+  public void streamingRequestBody() throws IOException, InterruptedException {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(GsonConverterFactory.create().withStreaming())
+            .build();
+    Service service = retrofit.create(Service.class);
+    server.enqueue(new MockResponse().setBody("{\"theName\":\"value\"}"));
+
+    Call<AnImplementation> call = service.anImplementation(new AnImplementation("value"));
+    assertThat(call.request().body().contentLength()).isEqualTo(-1L);
+    Response<AnImplementation> response = call.execute();
+    assertThat(response.body().theName).isEqualTo("value");
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getBody().readUtf8()).isEqualTo("{\"theName\":\"value\"}");
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/json; charset=UTF-8");
+    assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+  }
+
+  @Test
+  public void streamingRequestBodyWithContentLength() throws IOException, InterruptedException {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(GsonConverterFactory.create().withStreamingContentLength())
+            .build();
+    Service service = retrofit.create(Service.class);
+    server.enqueue(new MockResponse().setBody("{\"theName\":\"value\"}"));
+
+    service.anImplementation(new AnImplementation("välue")).execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getBody().readUtf8()).isEqualTo("{\"theName\":\"välue\"}");
+    assertThat(request.getHeader("Content-Length")).isEqualTo("20");
+    assertThat(request.getHeader("Transfer-Encoding")).isNull();
+  }
+
+  @Test
+  public void utf8ResponseBody() throws IOException {
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/json; charset=UTF-8")
+            .setBody("{\"theName\":\"välue ∑ 😀\"}"));
+
+    Response<AnImplementation> response =
+        service.anImplementation(new AnImplementation("value")).execute();
+    assertThat(response.body().theName).isEqualTo("välue ∑ 😀");
+  }
+
+  @Test
+  public void utf8ByteOrderMarkIsSkipped() throws IOException {
+    Buffer body =
+        new Buffer().write(ByteString.decodeHex("EFBBBF")).writeUtf8("{\"theName\":\"välue\"}");
+    server.enqueue(new MockResponse().setBody(body));
+
+    Response<AnImplementation> response =
+        service.anImplementation(new AnImplementation("value")).execute();
+    assertThat(response.body().theName).isEqualTo("välue");
+  }
+
+  @Test
+  public void utf16ByteOrderMarkTakesPrecedence() throws IOException {
+    Buffer body =
+        new Buffer()
+            .write(ByteString.decodeHex("FEFF"))
+            .writeString("{\"theName\":\"välue\"}", UTF_16BE);
+    server.enqueue(
+        new MockResponse().setHeader("Content-Type", "application/json").setBody(body));
+
+    Response<AnImplementation> response =
+        service.anImplementation(new AnImplementation("value")).execute();
+    assertThat(response.body().theName).isEqualTo("välue");
+  }
+
+  @Test
+  public void nonUtf8Charset() throws IOException {
+    Buffer body = new Buffer().writeString("{\"theName\":\"välue\"}", ISO_8859_1);
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/json; charset=ISO-8859-1")
+            .setBody(body));
+
+    Response<AnImplementation> response =
+        service.anImplementation(new AnImplementation("value")).execute();
+    assertThat(response.body().theName).isEqualTo("välue");
+  }
+
+  @Test
+  public void iterator() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":\"b\"}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next().theName).isEqualTo("b");
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorDecodesLazily() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":value}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    try {
+      iterator.next();
+      fail();
+    } catch (RuntimeException expected) {
+    }
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorClose() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":\"b\"}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    ((Closeable) iterator).close();
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorRequiresFullResponseDocumentConsumption() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"}] {}"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (JsonIOException expected) {
+    }
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.gson;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.junit.Test;
+
+public final class Utf8SourceReaderTest {
+  @Test
+  public void multiByteCodePoints() throws IOException {
+    String text = "ascii, é, ∑, 😀";
+    assertThat(readAll(new Buffer().writeUtf8(text))).isEqualTo(text);
+  }
+
+  @Test
+  public void codePointsAreNotSplitAcrossChunks() throws IOException {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 8191; i++) {
+      builder.append('a');
+    }
+    // The 4-byte emoji straddles the 8192-byte chunk boundary.
+    builder.append("😀").append("∑é");
+    String text = builder.toString();
+    assertThat(readAll(new Buffer().writeUtf8(text))).isEqualTo(text);
+  }
+
+  @Test
+  public void sourceReturningOneByteAtATime() throws IOException {
+    String text = "é∑😀a😀";
+    BufferedSource source =
+        Okio.buffer(
+            new ForwardingSource(new Buffer().writeUtf8(text)) {
+              @Override
+              public long read(Buffer sink, long byteCount) throws IOException {
+                return super.read(sink, Math.min(byteCount, 1L));
+              }
+            });
+    assertThat(readAll(source)).isEqualTo(text);
+  }
+
+  @Test
+  public void malformedInputIsReplaced() throws IOException {
+    // A truncated 3-byte sequence at the end of the source.
+    Buffer buffer = new Buffer().writeUtf8("a").write(ByteString.decodeHex("e282"));
+    assertThat(readAll(buffer)).isEqualTo("a\ufffd");
+  }
+
+  private static String readAll(BufferedSource source) throws IOException {
+    StringBuilder result = new StringBuilder();
+    try (Reader reader = new Utf8SourceReader(source)) {
+      char[] chars = new char[3]; // Small to split surrogate pairs across reads.
+      int count;
+      while ((count = reader.read(chars, 0, chars.length)) != -1) {
+        result.append(chars, 0, count);
+      }
+    }
+    return result.toString();
+  }
+}
@@ -15,12 +15,18 @@
  */
 package retrofit2.converter.jackson;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
@@ -34,6 +40,12 @@ import retrofit2.Retrofit;
  * handle all types. If you are mixing JSON serialization with something else (such as protocol
  * buffers), you must {@linkplain Retrofit.Builder#addConverterFactory(Converter.Factory) add this
  * instance} last to allow the other converters a chance to see their types.
+ *
+ * <p>A response body type of {@link Iterator Iterator&lt;T&gt;} decodes a JSON array lazily, one
+ * element at a time as the iterator advances, using a {@link
+ * com.fasterxml.jackson.databind.MappingIterator MappingIterator}. The response body is closed once
+ * the iterator is exhausted. Iterators which are abandoned early or which fail must be closed by
+ * casting them to {@link java.io.Closeable}.
  */
 public final class JacksonConverterFactory extends Converter.Factory {
   private static final MediaType DEFAULT_MEDIA_TYPE =
@@ -41,7 +53,7 @@ public final class JacksonConverterFactory extends Converter.Factory {
 
   /** Create an instance using a default {@link ObjectMapper} instance for conversion. */
   public static JacksonConverterFactory create() {
-    return new JacksonConverterFactory(new ObjectMapper(), DEFAULT_MEDIA_TYPE);
+    return create(new ObjectMapper(), DEFAULT_MEDIA_TYPE);
   }
 
   /** Create an instance using {@code mapper} for conversion. */
@@ -54,23 +66,144 @@ public final class JacksonConverterFactory extends Converter.Factory {
   public static JacksonConverterFactory create(ObjectMapper mapper, MediaType mediaType) {
     if (mapper == null) throw new NullPointerException("mapper == null");
     if (mediaType == null) throw new NullPointerException("mediaType == null");
-    return new JacksonConverterFactory(mapper, mediaType);
+    return new JacksonConverterFactory(
+        mapper, mediaType, Collections.<String, ObjectMapper>emptyMap(), false, false);
   }
 
   private final ObjectMapper mapper;
   private final MediaType mediaType;
+  /** Additional mappers for decoding responses, keyed by {@link #key(MediaType)}. */
+  private final Map<String, ObjectMapper> formats;
+
+  private final boolean streaming;
+  private final boolean incrementalParsing;
 
-  private JacksonConverterFactory(ObjectMapper mapper, MediaType mediaType) {
+  private JacksonConverterFactory(
+      ObjectMapper mapper,
+      MediaType mediaType,
+      Map<String, ObjectMapper> formats,
+      boolean streaming,
+      boolean incrementalParsing) {
     this.mapper = mapper;
     this.mediaType = mediaType;
+    this.formats = formats;
+    this.streaming = streaming;
+    this.incrementalParsing = incrementalParsing;
+  }
+
+  /**
+   * Return a new factory which also decodes response bodies whose {@code Content-Type} is {@code
+   * mediaType} using {@code mapper}. Only the type and subtype are compared, so parameters like
+   * {@code charset} are ignored. Response bodies of any other type, or with no type, continue to be
+   * decoded by this factory's mapper, and request bodies are always encoded by it.
+   *
+   * <p>This allows a server to move an endpoint to a binary format such as Smile or CBOR without
+   * client changes. Pass a mapper created with the format's {@link JsonFactory}:
+   *
+   * <pre><code>
+   * JacksonConverterFactory.create()
+   *     .withFormat(new ObjectMapper(new SmileFactory()),
+   *         MediaType.get("application/x-jackson-smile"));
+   * </code></pre>
+   *
+   * <p>Servers typically choose the format from the request's {@code Accept} header. Requests for
+   * methods which do not declare one get an {@code Accept} header listing each format in the order
+   * they were added, followed by this factory's media type with a lower preference. For example,
+   * {@code application/x-jackson-smile, application/json;q=0.9}.
+   */
+  @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+  public JacksonConverterFactory withFormat(ObjectMapper mapper, MediaType mediaType) {
+    if (mapper == null) throw new NullPointerException("mapper == null");
+    if (mediaType == null) throw new NullPointerException("mediaType == null");
+    Map<String, ObjectMapper> formats = new LinkedHashMap<>(this.formats);
+    formats.put(key(mediaType), mapper);
+    return new JacksonConverterFactory(
+        this.mapper,
+        this.mediaType,
+        Collections.unmodifiableMap(formats),
+        streaming,
+        incrementalParsing);
+  }
+
+  /**
+   * Return a new factory which streams serialization of request messages to bytes on the HTTP
+   * thread. This is either the calling thread for {@link retrofit2.Call#execute()}, or one of
+   * OkHttp's background threads for {@link retrofit2.Call#enqueue}. Rather than first buffering the
+   * entire message, it is written directly to the connection.
+   *
+   * <p>Request bodies created by the returned factory have an unknown length and will be sent with
+   * chunked transfer encoding.
+   *
+   * <p>Serialization failures occur while the request is being sent rather than when the call is
+   * created.
+   */
+  public JacksonConverterFactory withStreaming() {
+    return new JacksonConverterFactory(mapper, mediaType, formats, true, incrementalParsing);
+  }
+
+  /**
+   * Return a new factory which parses response bodies incrementally as their bytes arrive using
+   * Jackson's non-blocking parser. The value is bound directly from the parser, and each time it
+   * needs more input the next chunk read from the connection is fed to it.
+   *
+   * <p>This only applies when the mapper's factory {@linkplain JsonFactory#canParseAsync()
+   * supports non-blocking parsing} and the body is UTF-8. Other bodies are parsed from the body's
+   * byte stream as usual. The calling thread still waits for each chunk to arrive.
+   */
+  public JacksonConverterFactory withIncrementalParsing() {
+    return new JacksonConverterFactory(mapper, mediaType, formats, streaming, true);
   }
 
   @Override
   public Converter<ResponseBody, ?> responseBodyConverter(
       Type type, Annotation[] annotations, Retrofit retrofit) {
+    JacksonResponseBodyConverter<?> converter = responseBodyConverter(mapper, type);
+    if (formats.isEmpty()) {
+      return converter;
+    }
+    Map<String, JacksonResponseBodyConverter<?>> converters = new LinkedHashMap<>();
+    for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+      converters.put(format.getKey(), responseBodyConverter(format.getValue(), type));
+    }
+    return new JacksonFormatResponseBodyConverter<>(converters, converter, accept());
+  }
+
+  /**
+   * Returns an {@code Accept} header value preferring each format in the order they were added,
+   * followed by this factory's own media type.
+   */
+  private String accept() {
+    StringBuilder accept = new StringBuilder();
+    int count = 0;
+    for (String key : formats.keySet()) {
+      appendAccept(accept, key, count++);
+    }
+    String key = key(mediaType);
+    if (!formats.containsKey(key)) {
+      appendAccept(accept, key, count);
+    }
+    return accept.toString();
+  }
+
+  private static void appendAccept(StringBuilder accept, String key, int index) {
+    if (index == 0) {
+      accept.append(key);
+    } else {
+      // Each subsequent type is one tenth less preferred, down to the minimum non-zero weight.
+      int weight = Math.max(1, 10 - index);
+      accept.append(", ").append(key).append(";q=0.").append(weight);
+    }
+  }
+
+  private JacksonResponseBodyConverter<?> responseBodyConverter(ObjectMapper mapper, Type type) {
+    boolean iterator = getRawType(type) == Iterator.class && type instanceof ParameterizedType;
+    if (iterator) {
+      type = getParameterUpperBound(0, (ParameterizedType) type);
+    }
     JavaType javaType = mapper.getTypeFactory().constructType(type);
     ObjectReader reader = mapper.readerFor(javaType);
-    return new JacksonResponseBodyConverter<>(reader);
+    boolean incremental = incrementalParsing && mapper.getFactory().canParseAsync();
+    return new JacksonResponseBodyConverter<>(reader, incremental, iterator);
   }
 
   @Override
@@ -81,6 +214,10 @@ public final class JacksonConverterFactory extends Converter.Factory {
       Retrofit retrofit) {
     JavaType javaType = mapper.getTypeFactory().constructType(type);
     ObjectWriter writer = mapper.writerFor(javaType);
-    return new JacksonRequestBodyConverter<>(writer, mediaType);
+    return new JacksonRequestBodyConverter<>(writer, mediaType, streaming);
+  }
+
+  static String key(MediaType mediaType) {
+    return mediaType.type() + '/' + mediaType.subtype();
   }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.jackson;
+
+import java.io.IOException;
+import java.util.Map;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.ContentNegotiatingConverterFactory;
+import retrofit2.Converter;
+
+/**
+ * Chooses the converter for each response body from its {@code Content-Type}, and advertises the
+ * types it can decode in each request's {@code Accept} header.
+ */
+final class JacksonFormatResponseBodyConverter<T>
+    implements Converter<ResponseBody, T>, ContentNegotiatingConverterFactory.AcceptingConverter {
+  private final Map<String, JacksonResponseBodyConverter<?>> converters;
+  private final JacksonResponseBodyConverter<?> defaultConverter;
+  private final String accept;
+
+  JacksonFormatResponseBodyConverter(
+      Map<String, JacksonResponseBodyConverter<?>> converters,
+      JacksonResponseBodyConverter<?> defaultConverter,
+      String accept) {
+    this.converters = converters;
+    this.defaultConverter = defaultConverter;
+    this.accept = accept;
+  }
+
+  @Override
+  public String accept() {
+    return accept;
+  }
+
+  @SuppressWarnings("unchecked") // Every converter was created for T.
+  @Override
+  public T convert(ResponseBody value) throws IOException {
+    JacksonResponseBodyConverter<?> converter = defaultConverter;
+    MediaType contentType = value.contentType();
+    if (contentType != null) {
+      JacksonResponseBodyConverter<?> formatConverter =
+          converters.get(JacksonConverterFactory.key(contentType));
+      if (formatConverter != null) {
+        converter = formatConverter;
+      }
+    }
+    return (T) converter.convert(value);
+  }
+}
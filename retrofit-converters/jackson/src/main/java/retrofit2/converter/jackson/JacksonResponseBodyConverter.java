@@ -15,24 +15,135 @@
  */
 package retrofit2.converter.jackson;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
 import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.IOException;
 import okhttp3.ResponseBody;
+import okio.BufferedSource;
 import retrofit2.Converter;
 
 final class JacksonResponseBodyConverter<T> implements Converter<ResponseBody, T> {
   private final ObjectReader adapter;
+  private final boolean incremental;
+  /** When true {@code T} is an {@link java.util.Iterator} over elements read by the adapter. */
+  private final boolean iterator;
 
-  JacksonResponseBodyConverter(ObjectReader adapter) {
+  JacksonResponseBodyConverter(ObjectReader adapter, boolean incremental, boolean iterator) {
     this.adapter = adapter;
+    this.incremental = incremental;
+    this.iterator = iterator;
   }
 
   @Override
   public T convert(ResponseBody value) throws IOException {
+    if (iterator) {
+      return readIterator(value);
+    }
     try {
+      if (incremental && isUtf8(value.source())) {
+        return readIncrementally(value.source());
+      }
       return adapter.readValue(value.byteStream());
     } finally {
       value.close();
     }
   }
+
+  /**
+   * Returns an iterator which reads the elements of a root-level array as it advances. The iterator
+   * owns {@code value} and closes it once the array is exhausted.
+   */
+  @SuppressWarnings("unchecked") // T is Iterator<E> where E is the adapter's type.
+  private T readIterator(ResponseBody value) throws IOException {
+    try {
+      return (T) adapter.readValues(value.byteStream());
+    } catch (IOException | RuntimeException e) {
+      value.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Bind the root value directly from a non-blocking parser which is fed {@code source} one chunk
+   * at a time as the adapter asks for tokens. Neither the document nor its tokens are buffered.
+   * Like {@link ObjectReader#readValue(java.io.InputStream)}, any bytes following the root value
+   * are ignored.
+   */
+  private T readIncrementally(BufferedSource source) throws IOException {
+    try (JsonParser parser = adapter.getFactory().createNonBlockingByteArrayParser()) {
+      return adapter.readValue(new FeedingParser(parser, source));
+    }
+  }
+
+  /**
+   * Presents a non-blocking parser as a blocking one by feeding it the next chunk of {@code source}
+   * whenever it runs out of input. Only the methods which {@link JsonParserDelegate} forwards to
+   * the delegate's own token loop are overridden. The others are built on {@link #nextToken()}.
+   */
+  static final class FeedingParser extends JsonParserDelegate {
+    private final ByteArrayFeeder feeder;
+    private final BufferedSource source;
+    private final byte[] chunk = new byte[8192];
+
+    FeedingParser(JsonParser parser, BufferedSource source) {
+      super(parser);
+      this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+      this.source = source;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+      JsonToken token;
+      while ((token = delegate.nextToken()) == JsonToken.NOT_AVAILABLE) {
+        // The parser has consumed all of the previous chunk, so it is safe to reuse.
+        int read = source.read(chunk);
+        if (read == -1) {
+          feeder.endOfInput();
+        } else {
+          feeder.feedInput(chunk, 0, read);
+        }
+      }
+      return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+      JsonToken token = nextToken();
+      return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+      JsonToken token = currentToken();
+      if (token == null || !token.isStructStart()) {
+        return this;
+      }
+      int depth = 1;
+      while (depth > 0 && (token = nextToken()) != null) {
+        if (token.isStructStart()) {
+          depth++;
+        } else if (token.isStructEnd()) {
+          depth--;
+        }
+      }
+      return this;
+    }
+  }
+
+  /**
+   * Jackson detects UTF-16 and UTF-32 from the first bytes of a document, which always begins with
+   * an ASCII character or a byte order mark. The non-blocking parser only supports UTF-8.
+   */
+  private static boolean isUtf8(BufferedSource source) throws IOException {
+    if (!source.request(2)) return true;
+    byte b0 = source.buffer().getByte(0);
+    byte b1 = source.buffer().getByte(1);
+    return b0 != 0
+        && b1 != 0
+        && !(b0 == (byte) 0xFE && b1 == (byte) 0xFF)
+        && !(b0 == (byte) 0xFF && b1 == (byte) 0xFE);
+  }
 }
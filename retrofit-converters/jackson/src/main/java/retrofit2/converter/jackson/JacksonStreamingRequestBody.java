@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/** A request body which serializes its value directly to the sink each time it is written. */
+final class JacksonStreamingRequestBody<T> extends RequestBody {
+  private final ObjectWriter adapter;
+  private final MediaType mediaType;
+  private final T value;
+
+  JacksonStreamingRequestBody(ObjectWriter adapter, MediaType mediaType, T value) {
+    this.adapter = adapter;
+    this.mediaType = mediaType;
+    this.value = value;
+  }
+
+  @Override
+  public MediaType contentType() {
+    return mediaType;
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    JsonGenerator generator = adapter.createGenerator(sink.outputStream());
+    adapter.writeValue(generator, value);
+    // Flush rather than close so that the sink remains open for its owner.
+    generator.flush();
+  }
+}
@@ -16,22 +16,28 @@
 package retrofit2.converter.jackson;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -39,6 +45,7 @@ import retrofit2.Call;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.http.Body;
+import retrofit2.http.GET;
 import retrofit2.http.POST;
 
 public class JacksonConverterFactoryTest {
@@ -108,10 +115,14 @@ public class JacksonConverterFactoryTest {
 
     @POST("/")
     Call<AnInterface> anInterface(@Body AnInterface impl);
+
+    @GET("/")
+    Call<Iterator<AnImplementation>> iterator();
   }
 
   @Rule public final MockWebServer server = new MockWebServer();
 
+  private final ObjectMapper mapper = new ObjectMapper();
   private Service service;
 
   @Before
@@ -119,7 +130,6 @@ public class JacksonConverterFactoryTest {
     SimpleModule module = new SimpleModule();
     module.addSerializer(AnInterface.class, new AnInterfaceSerializer());
     module.addDeserializer(AnInterface.class, new AnInterfaceDeserializer());
-    ObjectMapper mapper = new ObjectMapper();
     mapper.registerModule(module);
     mapper.configure(MapperFeature.AUTO_DETECT_GETTERS, false);
     mapper.configure(MapperFeature.AUTO_DETECT_SETTERS, false);
@@ -166,4 +176,113 @@ public class JacksonConverterFactoryTest {
     assertThat(request.getBody().readUtf8()).isEqualTo("{\"name\":\"value\"}");
     assertThat(request.getHeader("Content-Type")).isEqualTo("application/json; charset=UTF-8");
   }
+
+  @Test
+  public void streamingRequestBody() throws IOException, InterruptedException {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(JacksonConverterFactory.create(mapper).withStreaming())
+            .build();
+    Service service = retrofit.create(Service.class);
+    server.enqueue(new MockResponse().setBody("{\"name\":\"value\"}"));
+
+    Call<AnInterface> call = service.anInterface(new AnImplementation("value"));
+    assertThat(call.request().body().contentLength()).isEqualTo(-1L);
+    Response<AnInterface> response = call.execute();
+    assertThat(response.body().getName()).isEqualTo("value");
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getBody().readUtf8()).isEqualTo("{\"name\":\"value\"}");
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/json; charset=UTF-8");
+    assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+  }
+
+  @Test
+  public void incrementalParsing() throws IOException {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(JacksonConverterFactory.create(mapper).withIncrementalParsing())
+            .build();
+    Service service = retrofit.create(Service.class);
+    // Deliver the body in small chunks so that tokens span multiple reads.
+    server.enqueue(
+        new MockResponse()
+            .setChunkedBody("{\"theName\":\"v\u00e4lue \u2211 \ud83d\ude00\"}", 3));
+
+    Response<AnImplementation> response =
+        service.anImplementation(new AnImplementation("value")).execute();
+    assertThat(response.body().theName).isEqualTo("v\u00e4lue \u2211 \ud83d\ude00");
+  }
+
+  @Test
+  public void incrementalParsingSkipsUnknownValues() throws IOException {
+    ObjectMapper lenient =
+        mapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(JacksonConverterFactory.create(lenient).withIncrementalParsing())
+            .build();
+    Service service = retrofit.create(Service.class);
+    server.enqueue(
+        new MockResponse()
+            .setChunkedBody("{\"unknown\":{\"a\":[1,{\"b\":2}]},\"theName\":\"value\"}", 3));
+
+    Response<AnImplementation> response =
+        service.anImplementation(new AnImplementation("value")).execute();
+    assertThat(response.body().theName).isEqualTo("value");
+  }
+
+  @Test
+  public void incrementalParsingFallsBackForUtf16() throws IOException {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(JacksonConverterFactory.create(mapper).withIncrementalParsing())
+            .build();
+    Service service = retrofit.create(Service.class);
+    Buffer body = new Buffer().writeString("{\"theName\":\"value\"}", StandardCharsets.UTF_16BE);
+    server.enqueue(new MockResponse().setBody(body));
+
+    Response<AnImplementation> response =
+        service.anImplementation(new AnImplementation("value")).execute();
+    assertThat(response.body().theName).isEqualTo("value");
+  }
+
+  @Test
+  public void iterator() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":\"b\"}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next().theName).isEqualTo("b");
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorDecodesLazily() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":value}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    try {
+      iterator.next();
+      fail();
+    } catch (RuntimeException expected) {
+    }
+    ((Closeable) iterator).close();
+  }
+
+  @Test
+  public void iteratorClose() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":\"b\"}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    ((Closeable) iterator).close();
+    assertThat(iterator.hasNext()).isFalse();
+  }
 }
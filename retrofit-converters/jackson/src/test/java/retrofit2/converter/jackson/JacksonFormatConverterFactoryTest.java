@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.jackson;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.Body;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+
+public final class JacksonFormatConverterFactoryTest {
+  static class IntWrapper {
+    public int value;
+
+    public IntWrapper(int v) {
+      value = v;
+    }
+
+    protected IntWrapper() {}
+  }
+
+  interface Service {
+    @POST("/")
+    Call<IntWrapper> post(@Body IntWrapper body);
+
+    @POST("/")
+    @Headers("Accept: application/x-jackson-smile")
+    Call<IntWrapper> postSmile(@Body IntWrapper body);
+  }
+
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  private final SmileMapper smileMapper = new SmileMapper();
+  private final CBORMapper cborMapper = new CBORMapper();
+  private Service service;
+
+  @Before
+  public void setUp() {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(
+                JacksonConverterFactory.create()
+                    .withFormat(smileMapper, MediaType.get("application/x-jackson-smile"))
+                    .withFormat(cborMapper, MediaType.get("application/cbor")))
+            .build();
+    service = retrofit.create(Service.class);
+  }
+
+  @Test
+  public void json() throws IOException, InterruptedException {
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/json; charset=UTF-8")
+            .setBody("{\"value\":42}"));
+
+    assertThat(service.post(new IntWrapper(12)).execute().body().value).isEqualTo(42);
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getBody().readUtf8()).isEqualTo("{\"value\":12}");
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/json; charset=UTF-8");
+  }
+
+  @Test
+  public void acceptListsEachFormat() throws IOException, InterruptedException {
+    enqueue(smileMapper, "application/x-jackson-smile");
+    service.post(new IntWrapper(12)).execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Accept"))
+        .isEqualTo("application/x-jackson-smile, application/cbor;q=0.9, application/json;q=0.8");
+  }
+
+  @Test
+  public void declaredAcceptIsKept() throws IOException, InterruptedException {
+    enqueue(smileMapper, "application/x-jackson-smile");
+    service.postSmile(new IntWrapper(12)).execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Accept")).isEqualTo("application/x-jackson-smile");
+  }
+
+  @Test
+  public void smile() throws IOException {
+    enqueue(smileMapper, "application/x-jackson-smile");
+    assertThat(service.post(new IntWrapper(12)).execute().body().value).isEqualTo(42);
+  }
+
+  @Test
+  public void cbor() throws IOException {
+    enqueue(cborMapper, "application/cbor");
+    assertThat(service.post(new IntWrapper(12)).execute().body().value).isEqualTo(42);
+  }
+
+  @Test
+  public void mediaTypeParametersAreIgnored() throws IOException {
+    enqueue(cborMapper, "application/CBOR; charset=binary");
+    assertThat(service.post(new IntWrapper(12)).execute().body().value).isEqualTo(42);
+  }
+
+  @Test
+  public void missingContentTypeUsesDefault() throws IOException {
+    server.enqueue(new MockResponse().setBody("{\"value\":42}"));
+    assertThat(service.post(new IntWrapper(12)).execute().body().value).isEqualTo(42);
+  }
+
+  private void enqueue(ObjectMapper mapper, String contentType) throws IOException {
+    Buffer body = new Buffer().write(mapper.writeValueAsBytes(new IntWrapper(42)));
+    server.enqueue(new MockResponse().setHeader("Content-Type", contentType).setBody(body));
+  }
+}
@@ -17,10 +17,13 @@ package retrofit.converter.java8;
 
 import java.io.IOException;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import okhttp3.ResponseBody;
+import retrofit2.ContentNegotiatingConverterFactory.AcceptingConverter;
 import retrofit2.Converter;
 
-final class OptionalConverter<T> implements Converter<ResponseBody, Optional<T>> {
+final class OptionalConverter<T>
+    implements Converter<ResponseBody, Optional<T>>, AcceptingConverter {
   private final Converter<ResponseBody, T> delegate;
 
   OptionalConverter(Converter<ResponseBody, T> delegate) {
@@ -31,4 +34,9 @@ final class OptionalConverter<T> implements Converter<ResponseBody, Optional<T>>
   public Optional<T> convert(ResponseBody value) throws IOException {
     return Optional.ofNullable(delegate.convert(value));
   }
+
+  @Override
+  public @Nullable String accept() {
+    return delegate instanceof AcceptingConverter ? ((AcceptingConverter) delegate).accept() : null;
+  }
 }
@@ -16,6 +16,9 @@
 package retrofit2.converter.jaxb;
 
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.annotation.Nullable;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
@@ -27,25 +30,39 @@ import okio.Buffer;
 import retrofit2.Converter;
 
 final class JaxbRequestConverter<T> implements Converter<T, RequestBody> {
-  final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+  final XMLOutputFactory xmlOutputFactory;
   final JAXBContext context;
   final Class<T> type;
 
-  JaxbRequestConverter(JAXBContext context, Class<T> type) {
+  /** Idle marshallers for reuse, or null if pooling is disabled. */
+  private final @Nullable BlockingQueue<Marshaller> marshallers;
+
+  JaxbRequestConverter(
+      XMLOutputFactory xmlOutputFactory, JAXBContext context, Class<T> type, int poolSize) {
+    this.xmlOutputFactory = xmlOutputFactory;
     this.context = context;
     this.type = type;
+    this.marshallers = poolSize > 0 ? new ArrayBlockingQueue<>(poolSize) : null;
   }
 
   @Override
   public RequestBody convert(final T value) throws IOException {
     Buffer buffer = new Buffer();
     try {
-      Marshaller marshaller = context.createMarshaller();
+      Marshaller marshaller = marshallers != null ? marshallers.poll() : null;
+      if (marshaller == null) {
+        marshaller = context.createMarshaller();
+      }
 
       XMLStreamWriter xmlWriter =
           xmlOutputFactory.createXMLStreamWriter(
               buffer.outputStream(), JaxbConverterFactory.XML.charset().name());
       marshaller.marshal(value, xmlWriter);
+
+      // Only reuse marshallers which completed normally.
+      if (marshallers != null) {
+        marshallers.offer(marshaller);
+      }
     } catch (JAXBException | XMLStreamException e) {
       throw new RuntimeException(e);
     }
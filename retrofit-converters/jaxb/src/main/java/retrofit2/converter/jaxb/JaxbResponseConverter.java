@@ -16,6 +16,9 @@
 package retrofit2.converter.jaxb;
 
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.annotation.Nullable;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
@@ -26,25 +29,37 @@ import okhttp3.ResponseBody;
 import retrofit2.Converter;
 
 final class JaxbResponseConverter<T> implements Converter<ResponseBody, T> {
-  final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+  final XMLInputFactory xmlInputFactory;
   final JAXBContext context;
   final Class<T> type;
 
-  JaxbResponseConverter(JAXBContext context, Class<T> type) {
+  /** Idle unmarshallers for reuse, or null if pooling is disabled. */
+  private final @Nullable BlockingQueue<Unmarshaller> unmarshallers;
+
+  JaxbResponseConverter(
+      XMLInputFactory xmlInputFactory, JAXBContext context, Class<T> type, int poolSize) {
+    this.xmlInputFactory = xmlInputFactory;
     this.context = context;
     this.type = type;
-
-    // Prevent XML External Entity attacks (XXE).
-    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    this.unmarshallers = poolSize > 0 ? new ArrayBlockingQueue<>(poolSize) : null;
   }
 
   @Override
   public T convert(ResponseBody value) throws IOException {
     try {
-      Unmarshaller unmarshaller = context.createUnmarshaller();
+      Unmarshaller unmarshaller = unmarshallers != null ? unmarshallers.poll() : null;
+      if (unmarshaller == null) {
+        unmarshaller = context.createUnmarshaller();
+      }
+
       XMLStreamReader streamReader = xmlInputFactory.createXMLStreamReader(value.charStream());
-      return unmarshaller.unmarshal(streamReader, type).getValue();
+      T result = unmarshaller.unmarshal(streamReader, type).getValue();
+
+      // Only reuse unmarshallers which completed normally.
+      if (unmarshallers != null) {
+        unmarshallers.offer(unmarshaller);
+      }
+      return result;
     } catch (JAXBException | XMLStreamException e) {
       throw new RuntimeException(e);
     } finally {
@@ -21,6 +21,8 @@ import jakarta.xml.bind.annotation.XmlRootElement;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import javax.annotation.Nullable;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
@@ -36,21 +38,58 @@ public final class JaxbConverterFactory extends Converter.Factory {
 
   /** Create an instance using a default {@link JAXBContext} instance for conversion. */
   public static JaxbConverterFactory create() {
-    return new JaxbConverterFactory(null);
+    return new JaxbConverterFactory(null, 0, newXmlInputFactory(), XMLOutputFactory.newInstance());
   }
 
   /** Create an instance using {@code context} for conversion. */
   @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
   public static JaxbConverterFactory create(JAXBContext context) {
     if (context == null) throw new NullPointerException("context == null");
-    return new JaxbConverterFactory(context);
+    return new JaxbConverterFactory(
+        context, 0, newXmlInputFactory(), XMLOutputFactory.newInstance());
+  }
+
+  private static XMLInputFactory newXmlInputFactory() {
+    XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+    // Prevent XML External Entity attacks (XXE).
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    return xmlInputFactory;
   }
 
   /** If null, a new JAXB context will be created for each type to be converted. */
   private final @Nullable JAXBContext context;
 
-  private JaxbConverterFactory(@Nullable JAXBContext context) {
+  private final int poolSize;
+
+  /** Shared by all converters. Factories are safe for concurrent use once configured. */
+  private final XMLInputFactory xmlInputFactory;
+
+  private final XMLOutputFactory xmlOutputFactory;
+
+  private JaxbConverterFactory(
+      @Nullable JAXBContext context,
+      int poolSize,
+      XMLInputFactory xmlInputFactory,
+      XMLOutputFactory xmlOutputFactory) {
     this.context = context;
+    this.poolSize = poolSize;
+    this.xmlInputFactory = xmlInputFactory;
+    this.xmlOutputFactory = xmlOutputFactory;
+  }
+
+  /**
+   * Return a new factory whose converters each keep up to {@code poolSize} idle marshallers or
+   * unmarshallers for reuse. Creating these is expensive relative to converting a small document,
+   * but they are not safe for concurrent use. A converter borrows one from its pool for each
+   * conversion, creating a new one if the pool is empty, and returns it afterward unless the pool
+   * is full.
+   *
+   * <p>A pool size of 0, the default, creates a new marshaller or unmarshaller for each conversion.
+   */
+  public JaxbConverterFactory withPoolSize(int poolSize) {
+    if (poolSize < 0) throw new IllegalArgumentException("poolSize < 0: " + poolSize);
+    return new JaxbConverterFactory(context, poolSize, xmlInputFactory, xmlOutputFactory);
   }
 
   @Override
@@ -60,7 +99,8 @@ public final class JaxbConverterFactory extends Converter.Factory {
       Annotation[] methodAnnotations,
       Retrofit retrofit) {
     if (type instanceof Class && ((Class<?>) type).isAnnotationPresent(XmlRootElement.class)) {
-      return new JaxbRequestConverter<>(contextForType((Class<?>) type), (Class<?>) type);
+      return new JaxbRequestConverter<>(
+          xmlOutputFactory, contextForType((Class<?>) type), (Class<?>) type, poolSize);
     }
     return null;
   }
@@ -69,7 +109,8 @@ public final class JaxbConverterFactory extends Converter.Factory {
   public @Nullable Converter<ResponseBody, ?> responseBodyConverter(
       Type type, Annotation[] annotations, Retrofit retrofit) {
     if (type instanceof Class && ((Class<?>) type).isAnnotationPresent(XmlRootElement.class)) {
-      return new JaxbResponseConverter<>(contextForType((Class<?>) type), (Class<?>) type);
+      return new JaxbResponseConverter<>(
+          xmlInputFactory, contextForType((Class<?>) type), (Class<?>) type, poolSize);
     }
     return null;
   }
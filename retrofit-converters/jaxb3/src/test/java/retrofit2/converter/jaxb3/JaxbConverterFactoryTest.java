@@ -123,6 +123,35 @@ public final class JaxbConverterFactoryTest {
     assertThat(request.getBody().readUtf8()).isEqualTo(SAMPLE_CONTACT_XML);
   }
 
+  @Test
+  public void pooledMarshallersAndUnmarshallers() throws Exception {
+    JaxbConverterFactory factory = JaxbConverterFactory.create().withPoolSize(1);
+    Retrofit retrofit =
+        new Retrofit.Builder().baseUrl(server.url("/")).addConverterFactory(factory).build();
+    service = retrofit.create(Service.class);
+
+    for (int i = 0; i < 3; i++) {
+      server.enqueue(new MockResponse());
+      service.postXml(SAMPLE_CONTACT).execute();
+      RecordedRequest request = server.takeRequest();
+      assertThat(request.getBody().readUtf8()).isEqualTo(SAMPLE_CONTACT_XML);
+
+      server.enqueue(new MockResponse().setBody(SAMPLE_CONTACT_XML));
+      Response<Contact> response = service.getXml().execute();
+      assertThat(response.body()).isEqualTo(SAMPLE_CONTACT);
+    }
+  }
+
+  @Test
+  public void negativePoolSizeThrows() {
+    try {
+      JaxbConverterFactory.create().withPoolSize(-1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("poolSize < 0: -1");
+    }
+  }
+
   @Test
   public void malformedXml() throws Exception {
     server.enqueue(new MockResponse().setBody("This is not XML"));
@@ -3,10 +3,12 @@
 package retrofit2.converter.kotlinx.serialization
 
 import retrofit2.converter.kotlinx.serialization.Serializer.FromBytes
+import retrofit2.converter.kotlinx.serialization.Serializer.FromJsonStream
 import retrofit2.converter.kotlinx.serialization.Serializer.FromString
 import java.lang.reflect.Type
 import kotlinx.serialization.BinaryFormat
 import kotlinx.serialization.StringFormat
+import kotlinx.serialization.json.Json
 import okhttp3.MediaType
 import okhttp3.RequestBody
 import okhttp3.ResponseBody
@@ -42,13 +44,17 @@ internal class Factory(
 /**
  * Return a [Converter.Factory] which uses Kotlin serialization for string-based payloads.
  *
+ * When this format is [Json], UTF-8 response bodies are decoded directly from their byte stream
+ * and request bodies are encoded directly to bytes rather than through an intermediate string.
+ *
  * Because Kotlin serialization is so flexible in the types it supports, this converter assumes
  * that it can handle all types. If you are mixing this with something else, you must add this
  * instance last to allow the other converters a chance to see their types.
  */
 @JvmName("create")
 fun StringFormat.asConverterFactory(contentType: MediaType): Converter.Factory {
-  return Factory(contentType, FromString(this))
+  val serializer = if (jsonAvailable && this is Json) FromJsonStream(this) else FromString(this)
+  return Factory(contentType, serializer)
 }
 
 /**
@@ -62,3 +68,11 @@ fun StringFormat.asConverterFactory(contentType: MediaType): Converter.Factory {
 fun BinaryFormat.asConverterFactory(contentType: MediaType): Converter.Factory {
   return Factory(contentType, FromBytes(this))
 }
+
+/** The JSON format is an optional dependency which must be present before referencing [Json]. */
+private val jsonAvailable = try {
+  Class.forName("kotlinx.serialization.json.Json")
+  true
+} catch (_: ClassNotFoundException) {
+  false
+}
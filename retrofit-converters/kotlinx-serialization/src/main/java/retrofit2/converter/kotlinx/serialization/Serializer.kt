@@ -3,14 +3,21 @@ package retrofit2.converter.kotlinx.serialization
 import java.lang.reflect.Type
 import kotlinx.serialization.BinaryFormat
 import kotlinx.serialization.DeserializationStrategy
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.KSerializer
 import kotlinx.serialization.SerialFormat
 import kotlinx.serialization.SerializationStrategy
 import kotlinx.serialization.StringFormat
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import kotlinx.serialization.json.encodeToStream
 import kotlinx.serialization.serializer
 import okhttp3.MediaType
 import okhttp3.RequestBody
 import okhttp3.ResponseBody
+import okio.Buffer
+import okio.BufferedSink
+import okio.ByteString
 
 internal sealed class Serializer {
   abstract fun <T> fromResponseBody(loader: DeserializationStrategy<T>, body: ResponseBody): T
@@ -43,4 +50,67 @@ internal sealed class Serializer {
       return RequestBody.create(contentType, bytes)
     }
   }
+
+  /**
+   * Decodes and encodes JSON as UTF-8 bytes without materializing an intermediate [String].
+   * Bodies in any other charset are handled like [FromString].
+   */
+  @OptIn(ExperimentalSerializationApi::class)
+  class FromJsonStream(override val format: Json) : Serializer() {
+    override fun <T> fromResponseBody(loader: DeserializationStrategy<T>, body: ResponseBody): T {
+      if (!body.contentType().isUtf8OrUnspecified()) {
+        return format.decodeFromString(loader, body.string())
+      }
+      body.use {
+        val source = body.source()
+        // Like ResponseBody.string(), a byte order mark takes precedence over the declared charset.
+        if (source.rangeEquals(0, UTF8_BOM)) {
+          source.skip(UTF8_BOM.size().toLong())
+        } else if (source.rangeEquals(0, UTF16_BE_BOM) ||
+          source.rangeEquals(0, UTF16_LE_BOM) ||
+          source.rangeEquals(0, UTF32_BE_BOM)
+        ) {
+          return format.decodeFromString(loader, body.string())
+        }
+        return format.decodeFromStream(loader, source.inputStream())
+      }
+    }
+
+    override fun <T> toRequestBody(contentType: MediaType, saver: SerializationStrategy<T>, value: T): RequestBody {
+      if (!contentType.isUtf8OrUnspecified()) {
+        return RequestBody.create(contentType, format.encodeToString(saver, value))
+      }
+      val buffer = Buffer()
+      format.encodeToStream(saver, value, buffer.outputStream())
+      return BufferRequestBody(contentType, buffer)
+    }
+
+    private fun MediaType?.isUtf8OrUnspecified(): Boolean {
+      val charset = this?.charset(null)
+      return charset == null || charset == Charsets.UTF_8
+    }
+
+    private companion object {
+      val UTF8_BOM = ByteString.decodeHex("efbbbf")
+      val UTF16_BE_BOM = ByteString.decodeHex("feff")
+      val UTF16_LE_BOM = ByteString.decodeHex("fffe")
+      val UTF32_BE_BOM = ByteString.decodeHex("0000feff")
+    }
+  }
+}
+
+/**
+ * Writes the encoded bytes held by [buffer] without copying them. Each write consumes a clone
+ * which shares its segments, so the body can be written more than once.
+ */
+private class BufferRequestBody(
+  private val contentType: MediaType,
+  private val buffer: Buffer
+) : RequestBody() {
+  override fun contentType() = contentType
+  override fun contentLength() = buffer.size()
+
+  override fun writeTo(sink: BufferedSink) {
+    sink.writeAll(buffer.clone())
+  }
 }
@@ -5,6 +5,7 @@ import kotlinx.serialization.json.Json
 import okhttp3.MediaType
 import okhttp3.mockwebserver.MockResponse
 import okhttp3.mockwebserver.MockWebServer
+import okio.Buffer
 import org.junit.Assert.assertEquals
 import org.junit.Before
 import org.junit.Rule
@@ -50,4 +51,36 @@ class KotlinSerializationConverterFactoryStringTest {
     assertEquals("""{"name":"Bob"}""", request.body.readUtf8())
     assertEquals("application/json; charset=utf-8", request.headers["Content-Type"])
   }
+
+  @Test fun deserializeUtf8Bom() {
+    server.enqueue(MockResponse().setBody(Buffer().writeUtf8("\ufeff{\"name\":\"B\u00f6b\"}")))
+    val user = service.deserialize().execute().body()!!
+    assertEquals(User("B\u00f6b"), user)
+  }
+
+  @Test fun deserializeUtf16Bom() {
+    val body = Buffer().writeString("\ufeff{\"name\":\"B\u00f6b\"}", Charsets.UTF_16BE)
+    server.enqueue(MockResponse().setBody(body))
+    val user = service.deserialize().execute().body()!!
+    assertEquals(User("B\u00f6b"), user)
+  }
+
+  @Test fun deserializeDeclaredCharset() {
+    val body = Buffer().writeString("{\"name\":\"B\u00f6b\"}", Charsets.ISO_8859_1)
+    server.enqueue(
+      MockResponse()
+        .setHeader("Content-Type", "application/json; charset=iso-8859-1")
+        .setBody(body),
+    )
+    val user = service.deserialize().execute().body()!!
+    assertEquals(User("B\u00f6b"), user)
+  }
+
+  @Test fun serializeHasContentLength() {
+    server.enqueue(MockResponse())
+    service.serialize(User("B\u00f6b")).execute()
+    val request = server.takeRequest()
+    assertEquals("{\"name\":\"B\u00f6b\"}", request.body.readUtf8())
+    assertEquals("15", request.headers["Content-Length"])
+  }
 }
@@ -21,8 +21,10 @@ import com.squareup.moshi.JsonAdapter;
 import com.squareup.moshi.JsonQualifier;
 import com.squareup.moshi.Moshi;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import okhttp3.RequestBody;
@@ -41,6 +43,12 @@ import retrofit2.Retrofit;
  * <p>Any {@link JsonQualifier @JsonQualifier}-annotated annotations on the parameter will be used
  * when looking up a request body converter and those on the method will be used when looking up a
  * response body converter.
+ *
+ * <p>A response body type of {@link Iterator Iterator&lt;T&gt;} decodes a JSON array lazily, one
+ * element at a time as the iterator advances. The response body is closed once the iterator is
+ * exhausted or fails. Iterators which are abandoned early must be closed by casting them to
+ * {@link java.io.Closeable}. Failures to read the body are thrown from the iterator as a {@link
+ * RuntimeException} whose cause is the {@link java.io.IOException}.
  */
 public final class MoshiConverterFactory extends Converter.Factory {
   /** Create an instance using a default {@link Moshi} instance for conversion. */
@@ -86,6 +94,10 @@ public final class MoshiConverterFactory extends Converter.Factory {
   @Override
   public Converter<ResponseBody, ?> responseBodyConverter(
       Type type, Annotation[] annotations, Retrofit retrofit) {
+    boolean iterator = getRawType(type) == Iterator.class && type instanceof ParameterizedType;
+    if (iterator) {
+      type = getParameterUpperBound(0, (ParameterizedType) type);
+    }
     JsonAdapter<?> adapter = moshi.adapter(type, jsonAnnotations(annotations));
     if (lenient) {
       adapter = adapter.lenient();
@@ -96,6 +108,9 @@ public final class MoshiConverterFactory extends Converter.Factory {
     if (serializeNulls) {
       adapter = adapter.serializeNulls();
     }
+    if (iterator) {
+      return new MoshiIteratorResponseBodyConverter<>(adapter);
+    }
     return new MoshiResponseBodyConverter<>(adapter);
   }
 
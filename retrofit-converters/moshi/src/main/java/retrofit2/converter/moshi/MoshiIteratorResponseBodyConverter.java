@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.moshi;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.JsonReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.Converter;
+
+/** Decodes the elements of a JSON array response lazily as the returned iterator advances. */
+final class MoshiIteratorResponseBodyConverter<T>
+    implements Converter<ResponseBody, Iterator<T>> {
+  private final JsonAdapter<T> adapter;
+
+  MoshiIteratorResponseBodyConverter(JsonAdapter<T> adapter) {
+    this.adapter = adapter;
+  }
+
+  @Override
+  public Iterator<T> convert(ResponseBody value) throws IOException {
+    try {
+      BufferedSource source = value.source();
+      if (source.rangeEquals(0, MoshiResponseBodyConverter.UTF8_BOM)) {
+        source.skip(MoshiResponseBodyConverter.UTF8_BOM.size());
+      }
+      JsonReader reader = JsonReader.of(source);
+      reader.beginArray();
+      return new ElementIterator<>(value, reader, adapter);
+    } catch (IOException | RuntimeException e) {
+      value.close();
+      throw e;
+    }
+  }
+
+  static final class ElementIterator<T> implements Iterator<T>, Closeable {
+    private final ResponseBody body;
+    private final JsonReader reader;
+    private final JsonAdapter<T> adapter;
+    private boolean closed;
+
+    ElementIterator(ResponseBody body, JsonReader reader, JsonAdapter<T> adapter) {
+      this.body = body;
+      this.reader = reader;
+      this.adapter = adapter;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (closed) return false;
+      try {
+        if (reader.hasNext()) return true;
+        reader.endArray();
+        if (reader.peek() != JsonReader.Token.END_DOCUMENT) {
+          throw new JsonDataException("JSON document was not fully consumed.");
+        }
+        close();
+        return false;
+      } catch (IOException e) {
+        close();
+        throw new RuntimeException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      try {
+        return adapter.fromJson(reader);
+      } catch (IOException e) {
+        close();
+        throw new RuntimeException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed) return;
+      closed = true;
+      body.close();
+    }
+  }
+}
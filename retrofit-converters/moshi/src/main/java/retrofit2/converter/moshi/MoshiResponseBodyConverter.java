@@ -25,7 +25,7 @@ import okio.ByteString;
 import retrofit2.Converter;
 
 final class MoshiResponseBodyConverter<T> implements Converter<ResponseBody, T> {
-  private static final ByteString UTF8_BOM = ByteString.decodeHex("EFBBBF");
+  static final ByteString UTF8_BOM = ByteString.decodeHex("EFBBBF");
 
   private final JsonAdapter<T> adapter;
 
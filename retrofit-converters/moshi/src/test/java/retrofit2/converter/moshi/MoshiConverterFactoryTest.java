@@ -27,10 +27,12 @@ import com.squareup.moshi.JsonReader;
 import com.squareup.moshi.JsonWriter;
 import com.squareup.moshi.Moshi;
 import com.squareup.moshi.ToJson;
+import java.io.Closeable;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -138,6 +140,9 @@ public final class MoshiConverterFactoryTest {
     @GET("/")
     Call<Value> value();
 
+    @GET("/")
+    Call<Iterator<AnImplementation>> iterator();
+
     @POST("/")
     @Qualifier
     @NonQualifer //
@@ -314,4 +319,73 @@ public final class MoshiConverterFactoryTest {
       assertThat(e).hasMessageThat().isEqualTo("JSON document was not fully consumed.");
     }
   }
+
+  @Test
+  public void iterator() throws IOException {
+    server.enqueue(
+        new MockResponse()
+            .setBody(
+                new Buffer()
+                    .write(ByteString.decodeHex("EFBBBF"))
+                    .writeUtf8("[{\"theName\":\"a\"},{\"theName\":\"b\"}]")));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next().theName).isEqualTo("b");
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorDecodesLazily() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":value}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    try {
+      iterator.next();
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(IOException.class);
+    }
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorClose() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"},{\"theName\":\"b\"}]"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    ((Closeable) iterator).close();
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorRequiresFullResponseDocumentConsumption() throws IOException {
+    server.enqueue(new MockResponse().setBody("[{\"theName\":\"a\"}] {}"));
+
+    Iterator<AnImplementation> iterator = service.iterator().execute().body();
+    assertThat(iterator.next().theName).isEqualTo("a");
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (JsonDataException e) {
+      assertThat(e).hasMessageThat().isEqualTo("JSON document was not fully consumed.");
+    }
+  }
+
+  @Test
+  public void iteratorRequiresArray() throws IOException {
+    server.enqueue(new MockResponse().setBody("{\"theName\":\"a\"}"));
+
+    try {
+      service.iterator().execute();
+      fail();
+    } catch (JsonDataException e) {
+      assertThat(e)
+          .hasMessageThat()
+          .isEqualTo("Expected BEGIN_ARRAY but was BEGIN_OBJECT at path $");
+    }
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.ndjson;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * A {@linkplain Converter.Factory converter} for <a href="https://github.com/ndjson/ndjson-spec">
+ * newline-delimited JSON</a> which delegates each line to the JSON converter registered after it,
+ * such as Moshi, Gson, or Jackson.
+ *
+ * <p>A response body type of {@link Iterator Iterator&lt;T&gt;} yields one {@code T} for each
+ * line, decoded as the iterator advances. Blank lines are skipped. The response body is closed once
+ * the iterator is exhausted or fails. Iterators which are abandoned early must be closed by casting
+ * them to {@link java.io.Closeable}. Failures to read the body are thrown from the iterator as a
+ * {@link RuntimeException} whose cause is the {@link java.io.IOException}. Responses whose {@code
+ * Content-Type} is JSON rather than NDJSON are passed to the next converter which supports {@code
+ * Iterator<T>}, if any.
+ *
+ * <p>A {@code @Body} of type {@link Iterator Iterator&lt;T&gt;} writes each {@code T} on its own
+ * line as the request is sent. The delegate must not encode newlines within a value. These request
+ * bodies can only be sent once and so cannot be retried.
+ *
+ * <p>This converter must be {@linkplain Retrofit.Builder#addConverterFactory(Converter.Factory)
+ * added} before the JSON converter.
+ */
+public final class NdjsonConverterFactory extends Converter.Factory {
+  static final MediaType MEDIA_TYPE = MediaType.get("application/x-ndjson; charset=utf-8");
+
+  public static NdjsonConverterFactory create() {
+    return new NdjsonConverterFactory();
+  }
+
+  private NdjsonConverterFactory() {}
+
+  @Override
+  public @Nullable Converter<ResponseBody, ?> responseBodyConverter(
+      Type type, Annotation[] annotations, Retrofit retrofit) {
+    if (getRawType(type) != Iterator.class || !(type instanceof ParameterizedType)) {
+      return null;
+    }
+    Type elementType = getParameterUpperBound(0, (ParameterizedType) type);
+    Converter<ResponseBody, ?> elementConverter =
+        retrofit.nextResponseBodyConverter(this, elementType, annotations);
+
+    Converter<ResponseBody, ?> jsonConverter = null;
+    try {
+      jsonConverter = retrofit.nextResponseBodyConverter(this, type, annotations);
+    } catch (IllegalArgumentException ignored) {
+      // No other converter supports Iterator<T>. Every response will be treated as NDJSON.
+    }
+    return new NdjsonResponseBodyConverter<>(elementConverter, jsonConverter);
+  }
+
+  @Override
+  public @Nullable Converter<?, RequestBody> requestBodyConverter(
+      Type type,
+      Annotation[] parameterAnnotations,
+      Annotation[] methodAnnotations,
+      Retrofit retrofit) {
+    if (getRawType(type) != Iterator.class || !(type instanceof ParameterizedType)) {
+      return null;
+    }
+    Type elementType = getParameterUpperBound(0, (ParameterizedType) type);
+    Converter<?, RequestBody> elementConverter =
+        retrofit.nextRequestBodyConverter(
+            this, elementType, parameterAnnotations, methodAnnotations);
+    return new NdjsonRequestBodyConverter<>(elementConverter);
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.ndjson;
+
+import java.io.IOException;
+import java.util.Iterator;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import retrofit2.Converter;
+
+final class NdjsonRequestBodyConverter<T> implements Converter<Iterator<T>, RequestBody> {
+  private final Converter<T, RequestBody> elementConverter;
+
+  @SuppressWarnings("unchecked") // The element converter was created for T.
+  NdjsonRequestBodyConverter(Converter<?, RequestBody> elementConverter) {
+    this.elementConverter = (Converter<T, RequestBody>) elementConverter;
+  }
+
+  @Override
+  public RequestBody convert(Iterator<T> value) {
+    return new NdjsonRequestBody<>(value, elementConverter);
+  }
+
+  /** Encodes and writes each element of an iterator on its own line as the body is sent. */
+  static final class NdjsonRequestBody<T> extends RequestBody {
+    private final Iterator<T> elements;
+    private final Converter<T, RequestBody> elementConverter;
+
+    NdjsonRequestBody(Iterator<T> elements, Converter<T, RequestBody> elementConverter) {
+      this.elements = elements;
+      this.elementConverter = elementConverter;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return NdjsonConverterFactory.MEDIA_TYPE;
+    }
+
+    @Override
+    public boolean isOneShot() {
+      return true;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      // The sink emits complete segments as they fill, so lines are sent in chunks without an
+      // explicit flush for each element.
+      while (elements.hasNext()) {
+        elementConverter.convert(elements.next()).writeTo(sink);
+        sink.writeByte('\n');
+      }
+    }
+  }
+}
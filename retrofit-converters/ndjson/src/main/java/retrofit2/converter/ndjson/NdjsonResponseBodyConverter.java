@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.ndjson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+import retrofit2.Converter;
+
+final class NdjsonResponseBodyConverter<T> implements Converter<ResponseBody, Iterator<T>> {
+  /** The media type given to the element converter for each line. */
+  private static final MediaType LINE_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+  private final Converter<ResponseBody, T> elementConverter;
+  private final @Nullable Converter<ResponseBody, Iterator<T>> jsonConverter;
+
+  @SuppressWarnings("unchecked") // Both converters were created for T.
+  NdjsonResponseBodyConverter(
+      Converter<ResponseBody, ?> elementConverter,
+      @Nullable Converter<ResponseBody, ?> jsonConverter) {
+    this.elementConverter = (Converter<ResponseBody, T>) elementConverter;
+    this.jsonConverter = (Converter<ResponseBody, Iterator<T>>) jsonConverter;
+  }
+
+  @Override
+  public @Nullable Iterator<T> convert(ResponseBody value) throws IOException {
+    MediaType contentType = value.contentType();
+    if (jsonConverter != null
+        && contentType != null
+        && (contentType.subtype().equals("json") || contentType.subtype().endsWith("+json"))) {
+      return jsonConverter.convert(value);
+    }
+    return new LineIterator<>(value, elementConverter);
+  }
+
+  static final class LineIterator<T> implements Iterator<T>, Closeable {
+    private final ResponseBody body;
+    private final BufferedSource source;
+    private final Converter<ResponseBody, T> elementConverter;
+    /** The length of the next line, or -1 if it has not been found yet. */
+    private long lineLength = -1L;
+
+    private boolean closed;
+
+    LineIterator(ResponseBody body, Converter<ResponseBody, T> elementConverter) {
+      this.body = body;
+      this.source = body.source();
+      this.elementConverter = elementConverter;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (closed) return false;
+      if (lineLength != -1L) return true;
+      try {
+        while (!source.exhausted()) {
+          long newline = source.indexOf((byte) '\n');
+          long length = newline != -1L ? newline : source.buffer().size();
+          if (!isBlank(source.buffer(), length)) {
+            lineLength = length;
+            return true;
+          }
+          source.skip(newline != -1L ? length + 1 : length);
+        }
+        close();
+        return false;
+      } catch (IOException e) {
+        close();
+        throw new RuntimeException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      long length = lineLength;
+      lineLength = -1L;
+      try {
+        LineSource line = new LineSource(source, length);
+        T element = elementConverter.convert(new LineResponseBody(line, length));
+        line.close();
+        if (!source.exhausted()) {
+          source.skip(1); // The newline.
+        }
+        return element;
+      } catch (IOException e) {
+        close();
+        throw new RuntimeException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed) return;
+      closed = true;
+      body.close();
+    }
+
+    private static boolean isBlank(Buffer buffer, long length) {
+      for (long i = 0; i < length; i++) {
+        byte b = buffer.getByte(i);
+        if (b != ' ' && b != '\t' && b != '\r') return false;
+      }
+      return true;
+    }
+  }
+
+  /** Exposes a single line as a body for the element converter. */
+  static final class LineResponseBody extends ResponseBody {
+    private final BufferedSource source;
+    private final long contentLength;
+
+    LineResponseBody(LineSource line, long contentLength) {
+      this.source = Okio.buffer(line);
+      this.contentLength = contentLength;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return LINE_MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+      return contentLength;
+    }
+
+    @Override
+    public BufferedSource source() {
+      return source;
+    }
+  }
+
+  /**
+   * Reads at most {@code remaining} bytes from {@code upstream}. The line is already buffered in
+   * full so reads move segments rather than copying bytes. Closing skips the unread remainder of
+   * the line but leaves {@code upstream} open for the lines which follow.
+   */
+  static final class LineSource implements Source {
+    private final BufferedSource upstream;
+    private long remaining;
+
+    LineSource(BufferedSource upstream, long remaining) {
+      this.upstream = upstream;
+      this.remaining = remaining;
+    }
+
+    @Override
+    public long read(Buffer sink, long byteCount) throws IOException {
+      if (remaining == 0L) return -1L;
+      long read = upstream.read(sink, Math.min(byteCount, remaining));
+      if (read != -1L) remaining -= read;
+      return read;
+    }
+
+    @Override
+    public Timeout timeout() {
+      return upstream.timeout();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (remaining != 0L) {
+        upstream.skip(remaining);
+        remaining = 0L;
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.ndjson;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.converter.moshi.MoshiConverterFactory;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+
+public final class NdjsonConverterFactoryTest {
+  static final class Item {
+    final String name;
+
+    Item(String name) {
+      this.name = name;
+    }
+  }
+
+  interface Service {
+    @GET("/")
+    Call<Iterator<Item>> items();
+
+    @POST("/")
+    Call<Void> send(@Body Iterator<Item> items);
+  }
+
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  private Service service;
+
+  @Before
+  public void setUp() {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(NdjsonConverterFactory.create())
+            .addConverterFactory(MoshiConverterFactory.create())
+            .build();
+    service = retrofit.create(Service.class);
+  }
+
+  @Test
+  public void lines() throws IOException {
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/x-ndjson")
+            .setBody("{\"name\":\"a\"}\n\n{\"name\":\"b\"}\r\n  \n{\"name\":\"c\"}"));
+
+    Iterator<Item> items = service.items().execute().body();
+    assertThat(items.next().name).isEqualTo("a");
+    assertThat(items.next().name).isEqualTo("b");
+    assertThat(items.hasNext()).isTrue();
+    assertThat(items.next().name).isEqualTo("c");
+    assertThat(items.hasNext()).isFalse();
+  }
+
+  @Test
+  public void linesSpanningChunks() throws IOException {
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/x-ndjson")
+            .setChunkedBody("{\"name\":\"a\"}\n{\"name\":\"b\"}\n", 5));
+
+    Iterator<Item> items = service.items().execute().body();
+    assertThat(items.next().name).isEqualTo("a");
+    assertThat(items.next().name).isEqualTo("b");
+    assertThat(items.hasNext()).isFalse();
+  }
+
+  @Test
+  public void missingContentTypeIsNdjson() throws IOException {
+    server.enqueue(new MockResponse().setBody("{\"name\":\"a\"}\n"));
+
+    Iterator<Item> items = service.items().execute().body();
+    assertThat(items.next().name).isEqualTo("a");
+    assertThat(items.hasNext()).isFalse();
+  }
+
+  @Test
+  public void jsonContentTypeUsesNextConverter() throws IOException {
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("[{\"name\":\"a\"},{\"name\":\"b\"}]"));
+
+    Iterator<Item> items = service.items().execute().body();
+    assertThat(items.next().name).isEqualTo("a");
+    assertThat(items.next().name).isEqualTo("b");
+    assertThat(items.hasNext()).isFalse();
+  }
+
+  @Test
+  public void malformedLine() throws IOException {
+    server.enqueue(
+        new MockResponse().setBody("{\"name\":\"a\"}\n{\"name\":b}\n{\"name\":\"c\"}\n"));
+
+    Iterator<Item> items = service.items().execute().body();
+    assertThat(items.next().name).isEqualTo("a");
+    try {
+      items.next();
+      fail();
+    } catch (RuntimeException expected) {
+    }
+    assertThat(items.hasNext()).isFalse();
+  }
+
+  @Test
+  public void close() throws IOException {
+    server.enqueue(new MockResponse().setBody("{\"name\":\"a\"}\n{\"name\":\"b\"}\n"));
+
+    Iterator<Item> items = service.items().execute().body();
+    assertThat(items.next().name).isEqualTo("a");
+    ((Closeable) items).close();
+    assertThat(items.hasNext()).isFalse();
+  }
+
+  @Test
+  public void requestBody() throws IOException, InterruptedException {
+    server.enqueue(new MockResponse());
+
+    service.send(Arrays.asList(new Item("a"), new Item("b")).iterator()).execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getBody().readUtf8()).isEqualTo("{\"name\":\"a\"}\n{\"name\":\"b\"}\n");
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/x-ndjson; charset=utf-8");
+    assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+  }
+}
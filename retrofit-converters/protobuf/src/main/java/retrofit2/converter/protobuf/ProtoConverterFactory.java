@@ -22,7 +22,9 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 import javax.annotation.Nullable;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
@@ -34,39 +36,97 @@ import retrofit2.Retrofit;
  *
  * <p>This converter only applies for types which extend from {@link MessageLite} (or one of its
  * subclasses).
+ *
+ * <p>A response body type of {@link Iterator Iterator&lt;T&gt;} reads a stream of length-delimited
+ * messages, as written by {@link MessageLite#writeDelimitedTo}, one at a time as the iterator
+ * advances. Only one message is held in memory at a time regardless of the stream's length. The
+ * response body is closed once the iterator is exhausted or fails. Iterators which are abandoned
+ * early must be closed by casting them to {@link java.io.Closeable}. Failures to read the body are
+ * thrown from the iterator as a {@link RuntimeException} whose cause is the {@link
+ * java.io.IOException}.
+ *
+ * <p>Similarly, a request body type of {@link Iterable Iterable&lt;T&gt;} (or a subtype such as
+ * {@link java.util.List List&lt;T&gt;}) writes each message length-delimited directly to the
+ * connection.
  */
 public final class ProtoConverterFactory extends Converter.Factory {
   public static ProtoConverterFactory create() {
-    return new ProtoConverterFactory(null);
+    return new ProtoConverterFactory(null, false);
   }
 
   /** Create an instance which uses {@code registry} when deserializing. */
   public static ProtoConverterFactory createWithRegistry(@Nullable ExtensionRegistryLite registry) {
-    return new ProtoConverterFactory(registry);
+    return new ProtoConverterFactory(registry, false);
   }
 
   private final @Nullable ExtensionRegistryLite registry;
+  private final boolean aliasing;
 
-  private ProtoConverterFactory(@Nullable ExtensionRegistryLite registry) {
+  private ProtoConverterFactory(@Nullable ExtensionRegistryLite registry, boolean aliasing) {
     this.registry = registry;
+    this.aliasing = aliasing;
+  }
+
+  /**
+   * Return a new factory whose parsed messages share the response body's bytes rather than copying
+   * them for each {@code bytes} field. This avoids a copy of every such field, but a message which
+   * holds any of them also keeps the entire response body reachable for as long as it is.
+   *
+   * <p>This only applies to responses whose {@code Content-Length} is known, which are read fully
+   * into memory before parsing. Other responses are parsed as they stream.
+   */
+  public ProtoConverterFactory withAliasing() {
+    return new ProtoConverterFactory(registry, true);
   }
 
   @Override
   public @Nullable Converter<ResponseBody, ?> responseBodyConverter(
       Type type, Annotation[] annotations, Retrofit retrofit) {
-    if (!(type instanceof Class<?>)) {
+    if (getRawType(type) == Iterator.class && type instanceof ParameterizedType) {
+      Class<?> c = messageClass(getParameterUpperBound(0, (ParameterizedType) type));
+      if (c == null) {
+        return null;
+      }
+      return new ProtoIteratorResponseBodyConverter<>(parser(c), registry);
+    }
+    Class<?> c = messageClass(type);
+    if (c == null) {
       return null;
     }
-    Class<?> c = (Class<?>) type;
-    if (!MessageLite.class.isAssignableFrom(c)) {
+    return new ProtoResponseBodyConverter<>(parser(c), registry, aliasing);
+  }
+
+  @Override
+  public @Nullable Converter<?, RequestBody> requestBodyConverter(
+      Type type,
+      Annotation[] parameterAnnotations,
+      Annotation[] methodAnnotations,
+      Retrofit retrofit) {
+    if (type instanceof ParameterizedType && Iterable.class.isAssignableFrom(getRawType(type))) {
+      if (messageClass(getParameterUpperBound(0, (ParameterizedType) type)) == null) {
+        return null;
+      }
+      return new ProtoDelimitedRequestBodyConverter<>();
+    }
+    if (messageClass(type) == null) {
+      return null;
+    }
+    return new ProtoRequestBodyConverter<>();
+  }
+
+  private static @Nullable Class<?> messageClass(Type type) {
+    if (!(type instanceof Class<?>)) {
       return null;
     }
+    Class<?> c = (Class<?>) type;
+    return MessageLite.class.isAssignableFrom(c) ? c : null;
+  }
 
-    Parser<MessageLite> parser;
+  private static Parser<MessageLite> parser(Class<?> c) {
     try {
       Method method = c.getDeclaredMethod("parser");
       //noinspection unchecked
-      parser = (Parser<MessageLite>) method.invoke(null);
+      return (Parser<MessageLite>) method.invoke(null);
     } catch (InvocationTargetException e) {
       throw new RuntimeException(e.getCause());
     } catch (NoSuchMethodException | IllegalAccessException ignored) {
@@ -74,7 +134,7 @@ public final class ProtoConverterFactory extends Converter.Factory {
       try {
         Field field = c.getDeclaredField("PARSER");
         //noinspection unchecked
-        parser = (Parser<MessageLite>) field.get(null);
+        return (Parser<MessageLite>) field.get(null);
       } catch (NoSuchFieldException | IllegalAccessException e) {
         throw new IllegalArgumentException(
             "Found a protobuf message but "
@@ -83,21 +143,5 @@ public final class ProtoConverterFactory extends Converter.Factory {
             e);
       }
     }
-    return new ProtoResponseBodyConverter<>(parser, registry);
-  }
-
-  @Override
-  public @Nullable Converter<?, RequestBody> requestBodyConverter(
-      Type type,
-      Annotation[] parameterAnnotations,
-      Annotation[] methodAnnotations,
-      Retrofit retrofit) {
-    if (!(type instanceof Class<?>)) {
-      return null;
-    }
-    if (!MessageLite.class.isAssignableFrom((Class<?>) type)) {
-      return null;
-    }
-    return new ProtoRequestBodyConverter<>();
   }
 }
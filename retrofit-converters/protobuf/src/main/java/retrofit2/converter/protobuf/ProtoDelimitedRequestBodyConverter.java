@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.protobuf;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import java.io.IOException;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import retrofit2.Converter;
+
+/** Writes each message length-delimited, as by {@link MessageLite#writeDelimitedTo}. */
+final class ProtoDelimitedRequestBodyConverter<T extends MessageLite>
+    implements Converter<Iterable<T>, RequestBody> {
+  private static final MediaType MEDIA_TYPE = MediaType.get("application/x-protobuf");
+
+  @Override
+  public RequestBody convert(Iterable<T> value) {
+    return new DelimitedRequestBody<>(value);
+  }
+
+  static final class DelimitedRequestBody<T extends MessageLite> extends RequestBody {
+    private final Iterable<T> messages;
+
+    DelimitedRequestBody(Iterable<T> messages) {
+      this.messages = messages;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return MEDIA_TYPE;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      // A single stream is used for every message so that its buffer is allocated once.
+      CodedOutputStream output = CodedOutputStream.newInstance(sink.outputStream());
+      for (T message : messages) {
+        output.writeUInt32NoTag(message.getSerializedSize());
+        message.writeTo(output);
+      }
+      output.flush();
+    }
+  }
+}
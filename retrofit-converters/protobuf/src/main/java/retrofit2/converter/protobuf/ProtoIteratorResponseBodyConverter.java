@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+/** Parses a stream of length-delimited messages lazily as the returned iterator advances. */
+final class ProtoIteratorResponseBodyConverter<T extends MessageLite>
+    implements Converter<ResponseBody, Iterator<T>> {
+  private final Parser<T> parser;
+  private final ExtensionRegistryLite registry;
+
+  ProtoIteratorResponseBodyConverter(Parser<T> parser, @Nullable ExtensionRegistryLite registry) {
+    this.parser = parser;
+    this.registry = registry != null ? registry : ExtensionRegistryLite.getEmptyRegistry();
+  }
+
+  @Override
+  public Iterator<T> convert(ResponseBody value) {
+    CodedInputStream input = CodedInputStream.newInstance(value.byteStream());
+    return new MessageIterator<>(value, input, parser, registry);
+  }
+
+  static final class MessageIterator<T extends MessageLite> implements Iterator<T>, Closeable {
+    private final ResponseBody body;
+    private final CodedInputStream input;
+    private final Parser<T> parser;
+    private final ExtensionRegistryLite registry;
+    private @Nullable T next;
+    private boolean closed;
+
+    MessageIterator(
+        ResponseBody body,
+        CodedInputStream input,
+        Parser<T> parser,
+        ExtensionRegistryLite registry) {
+      this.body = body;
+      this.input = input;
+      this.parser = parser;
+      this.registry = registry;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) return true;
+      if (closed) return false;
+      try {
+        if (input.isAtEnd()) {
+          close();
+          return false;
+        }
+        // The size limit applies to the bytes read since the last reset, so reset it for each
+        // message rather than limiting the length of the whole stream.
+        input.resetSizeCounter();
+        int length = input.readRawVarint32();
+        int oldLimit = input.pushLimit(length);
+        next = parser.parseFrom(input, registry);
+        input.popLimit(oldLimit);
+        return true;
+      } catch (IOException e) {
+        // Includes InvalidProtocolBufferException which, despite extending IOException, is a data
+        // mismatch.
+        close();
+        throw new RuntimeException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      T next = this.next;
+      this.next = null;
+      return next;
+    }
+
+    @Override
+    public void close() {
+      if (closed) return;
+      closed = true;
+      body.close();
+    }
+  }
+}
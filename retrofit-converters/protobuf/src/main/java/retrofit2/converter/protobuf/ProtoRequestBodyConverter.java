@@ -15,18 +15,47 @@
  */
 package retrofit2.converter.protobuf;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.MessageLite;
 import java.io.IOException;
+import javax.annotation.Nullable;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
+import okio.BufferedSink;
 import retrofit2.Converter;
 
 final class ProtoRequestBodyConverter<T extends MessageLite> implements Converter<T, RequestBody> {
   private static final MediaType MEDIA_TYPE = MediaType.get("application/x-protobuf");
 
   @Override
-  public RequestBody convert(T value) throws IOException {
-    byte[] bytes = value.toByteArray();
-    return RequestBody.create(MEDIA_TYPE, bytes);
+  public RequestBody convert(T value) {
+    return new MessageRequestBody(value);
+  }
+
+  /** Serializes the message directly to the sink, rather than first to an array of its size. */
+  static final class MessageRequestBody extends RequestBody {
+    private final MessageLite message;
+
+    MessageRequestBody(MessageLite message) {
+      this.message = message;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+      return message.getSerializedSize(); // Memoized by generated messages.
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      int bufferSize = Math.min(message.getSerializedSize(), CodedOutputStream.DEFAULT_BUFFER_SIZE);
+      CodedOutputStream output = CodedOutputStream.newInstance(sink.outputStream(), bufferSize);
+      message.writeTo(output);
+      output.flush();
+    }
   }
 }
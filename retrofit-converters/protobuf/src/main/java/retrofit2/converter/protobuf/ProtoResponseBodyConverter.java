@@ -15,6 +15,7 @@
  */
 package retrofit2.converter.protobuf;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.ExtensionRegistryLite;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
@@ -28,18 +29,30 @@ final class ProtoResponseBodyConverter<T extends MessageLite>
     implements Converter<ResponseBody, T> {
   private final Parser<T> parser;
   private final @Nullable ExtensionRegistryLite registry;
+  private final boolean aliasing;
 
-  ProtoResponseBodyConverter(Parser<T> parser, @Nullable ExtensionRegistryLite registry) {
+  ProtoResponseBodyConverter(
+      Parser<T> parser, @Nullable ExtensionRegistryLite registry, boolean aliasing) {
     this.parser = parser;
     this.registry = registry;
+    this.aliasing = aliasing;
   }
 
   @Override
   public T convert(ResponseBody value) throws IOException {
     try {
-      return registry == null
-          ? parser.parseFrom(value.byteStream())
-          : parser.parseFrom(value.byteStream(), registry);
+      long contentLength = value.contentLength();
+      if (!aliasing || contentLength == -1L || contentLength > Integer.MAX_VALUE) {
+        return registry == null
+            ? parser.parseFrom(value.byteStream())
+            : parser.parseFrom(value.byteStream(), registry);
+      }
+      // Read the body into an array of exactly its length which bytes fields can alias. This is
+      // only worthwhile when aliasing, as the array otherwise adds a copy of the whole body.
+      CodedInputStream input =
+          CodedInputStream.newInstance(value.source().readByteArray(contentLength));
+      input.enableAliasing(true);
+      return registry == null ? parser.parseFrom(input) : parser.parseFrom(input, registry);
     } catch (InvalidProtocolBufferException e) {
       throw new RuntimeException(e); // Despite extending IOException, this is data mismatch.
     } finally {
@@ -22,7 +22,10 @@ import static retrofit2.converter.protobuf.PhoneProtos.Phone;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -46,6 +49,12 @@ public final class ProtoConverterFactoryTest {
     @POST("/")
     Call<Phone> post(@Body Phone impl);
 
+    @GET("/")
+    Call<Iterator<Phone>> iterator();
+
+    @POST("/")
+    Call<Void> postIterable(@Body List<Phone> phones);
+
     @GET("/")
     Call<String> wrongClass();
 
@@ -95,6 +104,33 @@ public final class ProtoConverterFactoryTest {
     RecordedRequest request = server.takeRequest();
     assertThat(request.getBody().readByteString()).isEqualTo(encoded);
     assertThat(request.getHeader("Content-Type")).isEqualTo("application/x-protobuf");
+    assertThat(request.getHeader("Content-Length")).isEqualTo("16");
+  }
+
+  @Test
+  public void deserializeWithAliasing() throws IOException {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(ProtoConverterFactory.create().withAliasing())
+            .build();
+    Service service = retrofit.create(Service.class);
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    server.enqueue(new MockResponse().setBody(new Buffer().write(encoded)));
+
+    Phone body = service.get().execute().body();
+    assertThat(body.getNumber()).isEqualTo("(519) 867-5309");
+  }
+
+  @Test
+  public void deserializeChunked() throws IOException {
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    server.enqueue(new MockResponse().setChunkedBody(new Buffer().write(encoded), 5));
+
+    Call<Phone> call = service.get();
+    Response<Phone> response = call.execute();
+    Phone body = response.body();
+    assertThat(body.getNumber()).isEqualTo("(519) 867-5309");
   }
 
   @Test
@@ -119,6 +155,70 @@ public final class ProtoConverterFactoryTest {
     assertThat(body.getExtension(PhoneProtos.voicemail)).isEqualTo(true);
   }
 
+  @Test
+  public void deserializeIterator() throws IOException {
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    ByteString other = ByteString.decodeBase64("CgUxMjM0NQ==");
+    Buffer body =
+        new Buffer()
+            .writeByte(encoded.size())
+            .write(encoded)
+            .writeByte(other.size())
+            .write(other)
+            .writeByte(0);
+    server.enqueue(new MockResponse().setBody(body));
+
+    Iterator<Phone> iterator = service.iterator().execute().body();
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next().getNumber()).isEqualTo("(519) 867-5309");
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next().getNumber()).isEqualTo("12345");
+    // An empty message is valid.
+    assertThat(iterator.hasNext()).isTrue();
+    iterator.next();
+    assertThat(iterator.hasNext()).isFalse();
+    try {
+      iterator.next();
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+  }
+
+  @Test
+  public void deserializeIteratorTruncated() throws IOException {
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    Buffer body = new Buffer().writeByte(encoded.size()).write(encoded.substring(0, 5));
+    server.enqueue(new MockResponse().setBody(body));
+
+    Iterator<Phone> iterator = service.iterator().execute().body();
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(e.getCause()).isInstanceOf(InvalidProtocolBufferException.class);
+    }
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void serializeIterable() throws IOException, InterruptedException {
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    server.enqueue(new MockResponse());
+
+    Phone phone = Phone.newBuilder().setNumber("(519) 867-5309").build();
+    service.postIterable(Arrays.asList(phone, phone)).execute();
+
+    RecordedRequest request = server.takeRequest();
+    Buffer expected =
+        new Buffer()
+            .writeByte(encoded.size())
+            .write(encoded)
+            .writeByte(encoded.size())
+            .write(encoded);
+    assertThat(request.getBody().readByteString()).isEqualTo(expected.readByteString());
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/x-protobuf");
+  }
+
   @Test
   public void deserializeWrongClass() throws IOException {
     ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
@@ -18,16 +18,58 @@ package retrofit2.converter.scalars;
 import java.io.IOException;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
+import okio.BufferedSink;
 import retrofit2.Converter;
 
 final class ScalarRequestBodyConverter<T> implements Converter<T, RequestBody> {
   static final ScalarRequestBodyConverter<Object> INSTANCE = new ScalarRequestBodyConverter<>();
   private static final MediaType MEDIA_TYPE = MediaType.get("text/plain; charset=UTF-8");
+  // Bodies created from arrays are immutable so these can be shared by every request.
+  private static final RequestBody TRUE = RequestBody.create(MEDIA_TYPE, "true");
+  private static final RequestBody FALSE = RequestBody.create(MEDIA_TYPE, "false");
 
   private ScalarRequestBodyConverter() {}
 
   @Override
   public RequestBody convert(T value) throws IOException {
+    if (value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte) {
+      return new DecimalRequestBody(((Number) value).longValue());
+    }
+    if (value instanceof Boolean) {
+      return (Boolean) value ? TRUE : FALSE;
+    }
     return RequestBody.create(MEDIA_TYPE, String.valueOf(value));
   }
+
+  /** Writes the digits of an integral value directly to the sink rather than to a string. */
+  static final class DecimalRequestBody extends RequestBody {
+    private final long value;
+
+    DecimalRequestBody(long value) {
+      this.value = value;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+      if (value == Long.MIN_VALUE) return 20L;
+      long length = value < 0L ? 2L : 1L;
+      for (long remaining = Math.abs(value); remaining >= 10L; remaining /= 10L) {
+        length++;
+      }
+      return length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      sink.writeDecimalLong(value);
+    }
+  }
 }
@@ -15,13 +15,77 @@
  */
 package retrofit2.converter.scalars;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.IOException;
+import java.nio.charset.Charset;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
 import retrofit2.Converter;
 
 final class ScalarResponseBodyConverters {
+  /**
+   * Returned by {@link #parseDecimal} for bodies which must be parsed as a string instead. This is
+   * also the value of {@code "-9223372036854775808"}, which is rare enough to parse as a string.
+   */
+  private static final long NOT_DECIMAL = Long.MIN_VALUE;
+
   private ScalarResponseBodyConverters() {}
 
+  /**
+   * Buffers all of {@code body} and returns its buffer if its bytes can be compared to ASCII
+   * directly, or null if its declared charset requires decoding it as a string. The body is not
+   * consumed, so it can still be decoded with {@link ResponseBody#string()}. A byte order mark is
+   * not ASCII, so bodies which start with one fail to match and fall back to being decoded.
+   */
+  private static @Nullable Buffer asciiCompatibleBody(ResponseBody body) throws IOException {
+    MediaType contentType = body.contentType();
+    Charset charset = contentType != null ? contentType.charset() : null;
+    if (charset != null
+        && !charset.equals(UTF_8)
+        && !charset.equals(US_ASCII)
+        && !charset.equals(ISO_8859_1)) {
+      return null;
+    }
+    BufferedSource source = body.source();
+    source.request(Long.MAX_VALUE);
+    return source.buffer();
+  }
+
+  /**
+   * Parses a body of an optional {@code -} and ASCII digits without creating a string. Other
+   * bodies, such as those with a {@code +} sign, non-ASCII digits, or which overflow a {@code
+   * long}, return {@link #NOT_DECIMAL} so that they are parsed as a string with the exact behavior
+   * and errors of each type's {@code valueOf}.
+   */
+  private static long parseDecimal(ResponseBody body) throws IOException {
+    Buffer buffer = asciiCompatibleBody(body);
+    if (buffer == null) return NOT_DECIMAL;
+    long size = buffer.size();
+    if (size == 0L || size > 20L) return NOT_DECIMAL;
+
+    // Accumulate negatively since the magnitude of MIN_VALUE is larger than MAX_VALUE.
+    boolean negative = buffer.getByte(0) == '-';
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long result = 0L;
+    long i = negative ? 1L : 0L;
+    if (i == size) return NOT_DECIMAL;
+    for (; i < size; i++) {
+      int digit = buffer.getByte(i) - '0';
+      if (digit < 0 || digit > 9) return NOT_DECIMAL;
+      if (result < limit / 10) return NOT_DECIMAL;
+      result *= 10;
+      if (result < limit + digit) return NOT_DECIMAL;
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+
   static final class StringResponseBodyConverter implements Converter<ResponseBody, String> {
     static final StringResponseBodyConverter INSTANCE = new StringResponseBodyConverter();
 
@@ -36,6 +100,19 @@ final class ScalarResponseBodyConverters {
 
     @Override
     public Boolean convert(ResponseBody value) throws IOException {
+      Buffer buffer = asciiCompatibleBody(value);
+      // An ASCII first byte rules out a byte order mark. No non-ASCII characters ignore case to
+      // match "true", so only the four ASCII bytes need to be compared.
+      if (buffer != null && (buffer.size() == 0L || buffer.getByte(0) > 0)) {
+        boolean result =
+            buffer.size() == 4L
+                && (buffer.getByte(0) | 0x20) == 't'
+                && (buffer.getByte(1) | 0x20) == 'r'
+                && (buffer.getByte(2) | 0x20) == 'u'
+                && (buffer.getByte(3) | 0x20) == 'e';
+        value.close();
+        return Boolean.valueOf(result);
+      }
       return Boolean.valueOf(value.string());
     }
   }
@@ -45,6 +122,11 @@ final class ScalarResponseBodyConverters {
 
     @Override
     public Byte convert(ResponseBody value) throws IOException {
+      long decimal = parseDecimal(value);
+      if (decimal >= Byte.MIN_VALUE && decimal <= Byte.MAX_VALUE) {
+        value.close();
+        return Byte.valueOf((byte) decimal);
+      }
       return Byte.valueOf(value.string());
     }
   }
@@ -54,6 +136,11 @@ final class ScalarResponseBodyConverters {
 
     @Override
     public Character convert(ResponseBody value) throws IOException {
+      Buffer buffer = asciiCompatibleBody(value);
+      if (buffer != null && buffer.size() == 1L && buffer.getByte(0) > 0) {
+        value.close();
+        return Character.valueOf((char) buffer.getByte(0));
+      }
       String body = value.string();
       if (body.length() != 1) {
         throw new IOException(
@@ -86,6 +173,11 @@ final class ScalarResponseBodyConverters {
 
     @Override
     public Integer convert(ResponseBody value) throws IOException {
+      long decimal = parseDecimal(value);
+      if (decimal >= Integer.MIN_VALUE && decimal <= Integer.MAX_VALUE) {
+        value.close();
+        return Integer.valueOf((int) decimal);
+      }
       return Integer.valueOf(value.string());
     }
   }
@@ -95,6 +187,11 @@ final class ScalarResponseBodyConverters {
 
     @Override
     public Long convert(ResponseBody value) throws IOException {
+      long decimal = parseDecimal(value);
+      if (decimal != NOT_DECIMAL) {
+        value.close();
+        return Long.valueOf(decimal);
+      }
       return Long.valueOf(value.string());
     }
   }
@@ -104,6 +201,11 @@ final class ScalarResponseBodyConverters {
 
     @Override
     public Short convert(ResponseBody value) throws IOException {
+      long decimal = parseDecimal(value);
+      if (decimal >= Short.MIN_VALUE && decimal <= Short.MAX_VALUE) {
+        value.close();
+        return Short.valueOf((short) decimal);
+      }
       return Short.valueOf(value.string());
     }
   }
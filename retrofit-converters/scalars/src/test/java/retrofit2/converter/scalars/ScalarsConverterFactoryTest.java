@@ -16,6 +16,7 @@
 package retrofit2.converter.scalars;
 
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_16BE;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
@@ -23,6 +24,7 @@ import okhttp3.ResponseBody;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -364,4 +366,95 @@ public final class ScalarsConverterFactoryTest {
     Response<Short> shortResponse = service.shortObject().execute();
     assertThat(shortResponse.body()).isEqualTo((short) 134);
   }
+
+  @Test
+  public void integralRequestBodiesHaveExactLength() throws IOException, InterruptedException {
+    RecordedRequest request;
+
+    server.enqueue(new MockResponse());
+    service.longObject(Long.MIN_VALUE).execute();
+    request = server.takeRequest();
+    assertThat(request.getHeader("Content-Length")).isEqualTo("20");
+    assertThat(request.getBody().readUtf8()).isEqualTo("-9223372036854775808");
+
+    server.enqueue(new MockResponse());
+    service.longPrimitive(Long.MAX_VALUE).execute();
+    request = server.takeRequest();
+    assertThat(request.getHeader("Content-Length")).isEqualTo("19");
+    assertThat(request.getBody().readUtf8()).isEqualTo("9223372036854775807");
+
+    server.enqueue(new MockResponse());
+    service.integerPrimitive(-10).execute();
+    request = server.takeRequest();
+    assertThat(request.getHeader("Content-Length")).isEqualTo("3");
+    assertThat(request.getBody().readUtf8()).isEqualTo("-10");
+  }
+
+  @Test
+  public void responsesMatchValueOf() throws IOException {
+    server.enqueue(new MockResponse().setBody("-2147483648"));
+    assertThat(service.integerObject().execute().body()).isEqualTo(Integer.MIN_VALUE);
+
+    server.enqueue(new MockResponse().setBody("+12"));
+    assertThat(service.integerObject().execute().body()).isEqualTo(12);
+
+    server.enqueue(new MockResponse().setBody("-9223372036854775808"));
+    assertThat(service.longObject().execute().body()).isEqualTo(Long.MIN_VALUE);
+
+    server.enqueue(new MockResponse().setBody("2147483648"));
+    try {
+      service.integerObject().execute();
+      fail();
+    } catch (NumberFormatException e) {
+      assertThat(e).hasMessageThat().isEqualTo("For input string: \"2147483648\"");
+    }
+
+    server.enqueue(new MockResponse().setBody("9223372036854775808"));
+    try {
+      service.longObject().execute();
+      fail();
+    } catch (NumberFormatException e) {
+      assertThat(e).hasMessageThat().isEqualTo("For input string: \"9223372036854775808\"");
+    }
+
+    server.enqueue(new MockResponse().setBody("128"));
+    try {
+      service.byteObject().execute();
+      fail();
+    } catch (NumberFormatException e) {
+      assertThat(e).hasMessageThat().contains("Value out of range");
+    }
+
+    server.enqueue(new MockResponse().setBody("-"));
+    try {
+      service.shortObject().execute();
+      fail();
+    } catch (NumberFormatException e) {
+      assertThat(e).hasMessageThat().isEqualTo("For input string: \"-\"");
+    }
+
+    server.enqueue(new MockResponse().setBody("\ufeff42"));
+    assertThat(service.integerObject().execute().body()).isEqualTo(42);
+
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "text/plain; charset=UTF-16BE")
+            .setBody(new Buffer().writeString("43", UTF_16BE)));
+    assertThat(service.integerObject().execute().body()).isEqualTo(43);
+
+    server.enqueue(new MockResponse().setBody("TrUe"));
+    assertThat(service.booleanObject().execute().body()).isTrue();
+
+    server.enqueue(new MockResponse().setBody("\ufefftrue"));
+    assertThat(service.booleanObject().execute().body()).isTrue();
+
+    server.enqueue(new MockResponse().setBody("truee"));
+    assertThat(service.booleanObject().execute().body()).isFalse();
+
+    server.enqueue(new MockResponse().setBody(""));
+    assertThat(service.booleanObject().execute().body()).isFalse();
+
+    server.enqueue(new MockResponse().setBody("\u00e9"));
+    assertThat(service.charObject().execute().body()).isEqualTo('\u00e9');
+  }
 }
@@ -18,7 +18,9 @@ package retrofit2.converter.wire;
 import com.squareup.wire.Message;
 import com.squareup.wire.ProtoAdapter;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 import javax.annotation.Nullable;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
@@ -29,6 +31,17 @@ import retrofit2.Retrofit;
  * A {@linkplain Converter.Factory converter} that uses Wire for protocol buffers.
  *
  * <p>This converter only applies for types which extend from {@link Message}.
+ *
+ * <p>A response body type of {@link Iterator Iterator&lt;T&gt;} reads a stream of length-delimited
+ * messages one at a time as the iterator advances. Only one message is held in memory at a time
+ * regardless of the stream's length. The response body is closed once the iterator is exhausted or
+ * fails. Iterators which are abandoned early must be closed by casting them to {@link
+ * java.io.Closeable}. Failures to read the body are thrown from the iterator as a {@link
+ * RuntimeException} whose cause is the {@link java.io.IOException}.
+ *
+ * <p>Similarly, a request body type of {@link Iterable Iterable&lt;T&gt;} (or a subtype such as
+ * {@link java.util.List List&lt;T&gt;}) writes each message length-delimited directly to the
+ * connection.
  */
 public final class WireConverterFactory extends Converter.Factory {
   public static WireConverterFactory create() {
@@ -40,15 +53,18 @@ public final class WireConverterFactory extends Converter.Factory {
   @Override
   public @Nullable Converter<ResponseBody, ?> responseBodyConverter(
       Type type, Annotation[] annotations, Retrofit retrofit) {
-    if (!(type instanceof Class<?>)) {
-      return null;
+    if (getRawType(type) == Iterator.class && type instanceof ParameterizedType) {
+      ProtoAdapter<? extends Message> adapter =
+          adapter(getParameterUpperBound(0, (ParameterizedType) type));
+      if (adapter == null) {
+        return null;
+      }
+      return new WireIteratorResponseBodyConverter<>(adapter);
     }
-    Class<?> c = (Class<?>) type;
-    if (!Message.class.isAssignableFrom(c)) {
+    ProtoAdapter<? extends Message> adapter = adapter(type);
+    if (adapter == null) {
       return null;
     }
-    //noinspection unchecked
-    ProtoAdapter<? extends Message> adapter = ProtoAdapter.get((Class<? extends Message>) c);
     return new WireResponseBodyConverter<>(adapter);
   }
 
@@ -58,6 +74,22 @@ public final class WireConverterFactory extends Converter.Factory {
       Annotation[] parameterAnnotations,
       Annotation[] methodAnnotations,
       Retrofit retrofit) {
+    if (type instanceof ParameterizedType && Iterable.class.isAssignableFrom(getRawType(type))) {
+      ProtoAdapter<? extends Message> adapter =
+          adapter(getParameterUpperBound(0, (ParameterizedType) type));
+      if (adapter == null) {
+        return null;
+      }
+      return new WireDelimitedRequestBodyConverter<>(adapter);
+    }
+    ProtoAdapter<? extends Message> adapter = adapter(type);
+    if (adapter == null) {
+      return null;
+    }
+    return new WireRequestBodyConverter<>(adapter);
+  }
+
+  private static @Nullable ProtoAdapter<? extends Message> adapter(Type type) {
     if (!(type instanceof Class<?>)) {
       return null;
     }
@@ -66,7 +98,6 @@ public final class WireConverterFactory extends Converter.Factory {
       return null;
     }
     //noinspection unchecked
-    ProtoAdapter<? extends Message> adapter = ProtoAdapter.get((Class<? extends Message>) c);
-    return new WireRequestBodyConverter<>(adapter);
+    return ProtoAdapter.get((Class<? extends Message>) c);
   }
 }
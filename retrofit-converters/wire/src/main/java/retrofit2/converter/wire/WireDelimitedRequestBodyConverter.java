@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.wire;
+
+import com.squareup.wire.Message;
+import com.squareup.wire.ProtoAdapter;
+import java.io.IOException;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import retrofit2.Converter;
+
+/** Writes each message prefixed by its encoded length as a varint. */
+final class WireDelimitedRequestBodyConverter<T extends Message<T, ?>>
+    implements Converter<Iterable<T>, RequestBody> {
+  private static final MediaType MEDIA_TYPE = MediaType.get("application/x-protobuf");
+
+  private final ProtoAdapter<T> adapter;
+
+  WireDelimitedRequestBodyConverter(ProtoAdapter<T> adapter) {
+    this.adapter = adapter;
+  }
+
+  @Override
+  public RequestBody convert(Iterable<T> value) {
+    return new DelimitedRequestBody<>(adapter, value);
+  }
+
+  static final class DelimitedRequestBody<T> extends RequestBody {
+    private final ProtoAdapter<T> adapter;
+    private final Iterable<T> messages;
+
+    DelimitedRequestBody(ProtoAdapter<T> adapter, Iterable<T> messages) {
+      this.adapter = adapter;
+      this.messages = messages;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return MEDIA_TYPE;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      for (T message : messages) {
+        int length = adapter.encodedSize(message);
+        while ((length & ~0x7f) != 0) {
+          sink.writeByte((length & 0x7f) | 0x80);
+          length >>>= 7;
+        }
+        sink.writeByte(length);
+        adapter.encode(sink, message);
+      }
+    }
+  }
+}
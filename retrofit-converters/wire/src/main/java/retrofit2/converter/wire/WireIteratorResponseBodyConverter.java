@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.converter.wire;
+
+import com.squareup.wire.Message;
+import com.squareup.wire.ProtoAdapter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import retrofit2.Converter;
+
+/** Decodes a stream of length-delimited messages lazily as the returned iterator advances. */
+final class WireIteratorResponseBodyConverter<T extends Message<T, ?>>
+    implements Converter<ResponseBody, Iterator<T>> {
+  private final ProtoAdapter<T> adapter;
+
+  WireIteratorResponseBodyConverter(ProtoAdapter<T> adapter) {
+    this.adapter = adapter;
+  }
+
+  @Override
+  public Iterator<T> convert(ResponseBody value) {
+    return new MessageIterator<>(value, adapter);
+  }
+
+  static final class MessageIterator<T> implements Iterator<T>, Closeable {
+    private final ResponseBody body;
+    private final BufferedSource source;
+    private final ProtoAdapter<T> adapter;
+    /** Holds the bytes of one message at a time, reusing its segments for each. */
+    private final Buffer message = new Buffer();
+    private @Nullable T next;
+    private boolean closed;
+
+    MessageIterator(ResponseBody body, ProtoAdapter<T> adapter) {
+      this.body = body;
+      this.source = body.source();
+      this.adapter = adapter;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) return true;
+      if (closed) return false;
+      try {
+        if (source.exhausted()) {
+          close();
+          return false;
+        }
+        source.readFully(message, readVarint32(source));
+        next = adapter.decode(message);
+        return true;
+      } catch (IOException e) {
+        close();
+        throw new RuntimeException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      T next = this.next;
+      this.next = null;
+      return next;
+    }
+
+    @Override
+    public void close() {
+      if (closed) return;
+      closed = true;
+      message.clear();
+      body.close();
+    }
+
+    private static long readVarint32(BufferedSource source) throws IOException {
+      int result = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        byte b = source.readByte();
+        result |= (b & 0x7f) << shift;
+        if ((b & 0x80) == 0) {
+          if (result < 0) throw new ProtocolException("Negative message length: " + result);
+          return result;
+        }
+      }
+      throw new ProtocolException("Malformed message length");
+    }
+  }
+}
@@ -20,7 +20,10 @@ import static org.junit.Assert.fail;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -44,6 +47,12 @@ public final class WireConverterFactoryTest {
     @POST("/")
     Call<Phone> post(@Body Phone impl);
 
+    @GET("/")
+    Call<Iterator<Phone>> iterator();
+
+    @POST("/")
+    Call<Void> postIterable(@Body List<Phone> phones);
+
     @GET("/")
     Call<String> wrongClass();
 
@@ -90,6 +99,70 @@ public final class WireConverterFactoryTest {
     assertThat(body.number).isNull();
   }
 
+  @Test
+  public void deserializeIterator() throws IOException {
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    ByteString other = ByteString.decodeBase64("CgUxMjM0NQ==");
+    Buffer body =
+        new Buffer()
+            .writeByte(encoded.size())
+            .write(encoded)
+            .writeByte(other.size())
+            .write(other)
+            .writeByte(0);
+    server.enqueue(new MockResponse().setBody(body));
+
+    Iterator<Phone> iterator = service.iterator().execute().body();
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next().number).isEqualTo("(519) 867-5309");
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next().number).isEqualTo("12345");
+    // An empty message is valid.
+    assertThat(iterator.hasNext()).isTrue();
+    iterator.next();
+    assertThat(iterator.hasNext()).isFalse();
+    try {
+      iterator.next();
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+  }
+
+  @Test
+  public void deserializeIteratorTruncated() throws IOException {
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    Buffer body = new Buffer().writeByte(encoded.size()).write(encoded.substring(0, 5));
+    server.enqueue(new MockResponse().setBody(body));
+
+    Iterator<Phone> iterator = service.iterator().execute().body();
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(e.getCause()).isInstanceOf(EOFException.class);
+    }
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void serializeIterable() throws IOException, InterruptedException {
+    ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
+    server.enqueue(new MockResponse());
+
+    Phone phone = new Phone("(519) 867-5309");
+    service.postIterable(Arrays.asList(phone, phone)).execute();
+
+    RecordedRequest request = server.takeRequest();
+    Buffer expected =
+        new Buffer()
+            .writeByte(encoded.size())
+            .write(encoded)
+            .writeByte(encoded.size())
+            .write(encoded);
+    assertThat(request.getBody().readByteString()).isEqualTo(expected.readByteString());
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/x-protobuf");
+  }
+
   @Test
   public void deserializeWrongClass() throws IOException {
     ByteString encoded = ByteString.decodeBase64("Cg4oNTE5KSA4NjctNTMwOQ==");
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.generator
+
+import com.google.auto.service.AutoService
+import com.squareup.javapoet.AnnotationSpec
+import com.squareup.javapoet.ClassName
+import com.squareup.javapoet.CodeBlock
+import com.squareup.javapoet.FieldSpec
+import com.squareup.javapoet.JavaFile
+import com.squareup.javapoet.MethodSpec
+import com.squareup.javapoet.TypeName
+import com.squareup.javapoet.TypeSpec
+import javax.annotation.processing.AbstractProcessor
+import javax.annotation.processing.Processor
+import javax.annotation.processing.RoundEnvironment
+import javax.lang.model.SourceVersion
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.Modifier.ABSTRACT
+import javax.lang.model.element.Modifier.FINAL
+import javax.lang.model.element.Modifier.PRIVATE
+import javax.lang.model.element.Modifier.PUBLIC
+import javax.lang.model.element.TypeElement
+import javax.lang.model.type.DeclaredType
+import javax.lang.model.util.ElementFilter
+import javax.tools.StandardLocation.CLASS_OUTPUT
+import net.ltgt.gradle.incap.IncrementalAnnotationProcessor
+import net.ltgt.gradle.incap.IncrementalAnnotationProcessorType.ISOLATING
+
+private val RETROFIT = ClassName.get("retrofit2", "Retrofit")
+private val BOUND_SERVICE_METHOD = ClassName.get("retrofit2", "BoundServiceMethod")
+
+@AutoService(Processor::class)
+@IncrementalAnnotationProcessor(ISOLATING)
+class RetrofitServiceProcessor : AbstractProcessor() {
+  override fun getSupportedSourceVersion() = SourceVersion.latestSupported()
+  override fun getSupportedAnnotationTypes() = setOf(
+    "retrofit2.http.DELETE",
+    "retrofit2.http.GET",
+    "retrofit2.http.HEAD",
+    "retrofit2.http.HTTP",
+    "retrofit2.http.OPTIONS",
+    "retrofit2.http.PATCH",
+    "retrofit2.http.POST",
+    "retrofit2.http.PUT",
+  )
+
+  override fun process(
+    annotations: Set<TypeElement>,
+    roundEnv: RoundEnvironment,
+  ): Boolean {
+    val elements = processingEnv.elementUtils
+
+    val services = supportedAnnotationTypes
+      .mapNotNull(elements::getTypeElement)
+      .flatMap(roundEnv::getElementsAnnotatedWith)
+      .mapTo(LinkedHashSet()) { it.enclosingElement as TypeElement }
+
+    for (service in services) {
+      if (!service.isGeneratable()) continue
+
+      val serviceName = ClassName.get(service)
+      val generatedName = ClassName.get(
+        serviceName.packageName(),
+        serviceName.simpleNames().joinToString("_") + "_Retrofit",
+      )
+
+      JavaFile.builder(generatedName.packageName(), generateService(service, generatedName))
+        .addFileComment("Code generated by retrofit-service-generator. Do not edit.")
+        .build()
+        .writeTo(processingEnv.filer)
+
+      val binaryName = elements.getBinaryName(service).toString()
+      val outputFile = "META-INF/proguard/retrofit-service-generator-$binaryName.pro"
+      val rules = processingEnv.filer.createResource(CLASS_OUTPUT, "", outputFile, service)
+      rules.openWriter().buffered().use { w ->
+        // Retrofit looks up the generated type by name so neither can be renamed.
+        w.write("# $binaryName\n")
+        w.write("-if interface $binaryName\n")
+        w.write("-keepnames interface $binaryName\n")
+        w.write("-if interface $binaryName\n")
+        w.write("-keep class ${generatedName.reflectionName()} {\n")
+        w.write("    public <init>(retrofit2.Retrofit);\n")
+        w.write("}\n")
+      }
+    }
+    return false
+  }
+
+  /**
+   * Retrofit rejects generic service interfaces, and implementations of private interfaces cannot
+   * be generated. Both continue to be handled by a `Proxy` at runtime.
+   */
+  private fun TypeElement.isGeneratable(): Boolean {
+    if (kind != ElementKind.INTERFACE || typeParameters.isNotEmpty()) return false
+    var element: TypeElement? = this
+    while (element != null) {
+      if (PRIVATE in element.modifiers) return false
+      element = element.enclosingElement as? TypeElement
+    }
+    return true
+  }
+
+  private fun generateService(service: TypeElement, generatedName: ClassName): TypeSpec {
+    val elements = processingEnv.elementUtils
+    val types = processingEnv.typeUtils
+    val serviceType = service.asType() as DeclaredType
+
+    val type = TypeSpec.classBuilder(generatedName)
+      .addOriginatingElement(service)
+      .addAnnotation(
+        AnnotationSpec.builder(SuppressWarnings::class.java)
+          .addMember("value", "\$S", "unchecked")
+          .build(),
+      )
+      .addModifiers(PUBLIC, FINAL)
+      .addSuperinterface(serviceType)
+
+    val constructor = MethodSpec.constructorBuilder()
+      .addModifiers(PUBLIC)
+      .addParameter(RETROFIT, "retrofit")
+
+    val fieldNames = mutableSetOf<String>()
+    for (method in ElementFilter.methodsIn(elements.getAllMembers(service))) {
+      // Default methods are inherited as-is and static methods are not members of an instance.
+      if (ABSTRACT !in method.modifiers || method.isObjectMethod()) continue
+
+      val methodName = method.simpleName.toString()
+      var fieldName = methodName
+      var suffix = 2
+      while (!fieldNames.add(fieldName)) {
+        fieldName = "$methodName${suffix++}"
+      }
+
+      type.addField(
+        FieldSpec.builder(BOUND_SERVICE_METHOD, fieldName, PRIVATE, FINAL).build(),
+      )
+
+      val bindArguments = mutableListOf(
+        CodeBlock.of("retrofit"),
+        CodeBlock.of("\$T.class", service),
+        CodeBlock.of("\$S", methodName),
+      )
+      for (parameter in method.parameters) {
+        bindArguments += CodeBlock.of("\$T.class", TypeName.get(types.erasure(parameter.asType())))
+      }
+      constructor.addStatement(
+        "this.\$N = \$T.bind(\$L)",
+        fieldName,
+        BOUND_SERVICE_METHOD,
+        CodeBlock.join(bindArguments, ", "),
+      )
+
+      val overriding = MethodSpec.overriding(method, serviceType, types)
+      val spec = overriding.build()
+      val arguments = CodeBlock.of(
+        "new \$T[] {\$L}",
+        Object::class.java,
+        CodeBlock.join(spec.parameters.map { CodeBlock.of("\$N", it) }, ", "),
+      )
+      if (spec.returnType == TypeName.VOID) {
+        overriding.addStatement("this.\$N.invoke(this, \$L)", fieldName, arguments)
+      } else {
+        overriding.addStatement(
+          "return (\$T) this.\$N.invoke(this, \$L)",
+          spec.returnType,
+          fieldName,
+          arguments,
+        )
+      }
+      type.addMethod(overriding.build())
+    }
+
+    return type.addMethod(constructor.build()).build()
+  }
+
+  /** Interfaces may redeclare methods of `Object` which a proxy would not route to Retrofit. */
+  private fun ExecutableElement.isObjectMethod(): Boolean {
+    val name = simpleName.toString()
+    return when (parameters.size) {
+      0 -> name == "hashCode" || name == "toString"
+      1 -> name == "equals" && parameters[0].asType().toString() == "java.lang.Object"
+      else -> false
+    }
+  }
+}
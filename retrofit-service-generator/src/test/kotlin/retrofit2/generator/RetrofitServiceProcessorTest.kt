@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.generator
+
+import com.google.common.truth.Truth.assertAbout
+import com.google.common.truth.Truth.assertThat
+import com.google.testing.compile.CompilationSubject.assertThat
+import com.google.testing.compile.Compiler.javac
+import com.google.testing.compile.JavaFileObjects
+import com.google.testing.compile.JavaSourceSubjectFactory.javaSource
+import java.lang.reflect.Proxy
+import java.nio.charset.StandardCharsets.UTF_8
+import javax.tools.JavaFileObject
+import javax.tools.StandardLocation.CLASS_OUTPUT
+import org.junit.Test
+import retrofit2.Call
+import retrofit2.Invocation
+import retrofit2.Retrofit
+
+class RetrofitServiceProcessorTest {
+  @Test
+  fun generatesImplementation() {
+    val service = JavaFileObjects.forSourceString(
+      "test.Service",
+      """
+      package test;
+      import retrofit2.*;
+      import retrofit2.http.*;
+
+      interface Service {
+        @GET("/{id}") Call<String> get(@Path("id") int id, @Query("q") String... query);
+
+        default Call<String> first() {
+          return get(1);
+        }
+
+        static Call<String> second(Service service) {
+          return service.get(2);
+        }
+      }
+    """.trimIndent(),
+    )
+
+    val expected = JavaFileObjects.forSourceString(
+      "test.Service_Retrofit",
+      """
+      package test;
+      import retrofit2.BoundServiceMethod;
+      import retrofit2.Call;
+      import retrofit2.Retrofit;
+
+      @SuppressWarnings("unchecked")
+      public final class Service_Retrofit implements Service {
+        private final BoundServiceMethod get;
+
+        public Service_Retrofit(Retrofit retrofit) {
+          this.get = BoundServiceMethod.bind(retrofit, Service.class, "get", int.class, String[].class);
+        }
+
+        @Override
+        public Call<String> get(int id, String... query) {
+          return (Call<String>) this.get.invoke(this, new Object[] {id, query});
+        }
+      }
+    """.trimIndent(),
+    )
+
+    assertAbout(javaSource())
+      .that(service)
+      .processedWith(RetrofitServiceProcessor())
+      .compilesWithoutError()
+      .and()
+      .generatesSources(expected)
+  }
+
+  @Test
+  fun overloadsAndInheritedMethods() {
+    val service = JavaFileObjects.forSourceString(
+      "test.Service",
+      """
+      package test;
+      import retrofit2.*;
+      import retrofit2.http.*;
+
+      interface Parent {
+        @GET("/") Call<String> get();
+      }
+
+      interface Service extends Parent {
+        @GET("/") Call<String> get(@Query("q") String query);
+        @POST("/") Call<String> get(@Body Object body, @Query("q") String query);
+      }
+    """.trimIndent(),
+    )
+
+    assertAbout(javaSource())
+      .that(service)
+      .processedWith(RetrofitServiceProcessor())
+      .compilesWithoutError()
+  }
+
+  @Test
+  fun nestedAndPrivate() {
+    val service = JavaFileObjects.forSourceString(
+      "test.Outer",
+      """
+      package test;
+      import retrofit2.*;
+      import retrofit2.http.*;
+
+      class Outer {
+        interface Service {
+          @GET("/") Call<String> get();
+        }
+
+        private interface PrivateService {
+          @GET("/") Call<String> get();
+        }
+      }
+    """.trimIndent(),
+    )
+
+    assertAbout(javaSource())
+      .that(service)
+      .processedWith(RetrofitServiceProcessor())
+      .compilesWithoutError()
+      .and()
+      .generatesFileNamed(
+        CLASS_OUTPUT,
+        "",
+        "META-INF/proguard/retrofit-service-generator-test.Outer\$Service.pro",
+      ).withStringContents(
+        UTF_8,
+        """
+        |# test.Outer${'$'}Service
+        |-if interface test.Outer${'$'}Service
+        |-keepnames interface test.Outer${'$'}Service
+        |-if interface test.Outer${'$'}Service
+        |-keep class test.Outer_Service_Retrofit {
+        |    public <init>(retrofit2.Retrofit);
+        |}
+        |
+        """.trimMargin(),
+      )
+  }
+
+  @Test
+  fun kotlinSuspend() {
+    val service = JavaFileObjects.forSourceString(
+      "test.Service",
+      """
+      package test;
+      import kotlin.coroutines.Continuation;
+      import retrofit2.*;
+      import retrofit2.http.*;
+
+      interface Service {
+        @GET("/") Object get(Continuation<? super String> c);
+      }
+    """.trimIndent(),
+    )
+
+    assertAbout(javaSource())
+      .that(service)
+      .processedWith(RetrofitServiceProcessor())
+      .compilesWithoutError()
+  }
+
+  @Test
+  fun retrofitCreateUsesGeneratedImplementation() {
+    val service = JavaFileObjects.forSourceString(
+      "test.Service",
+      """
+      package test;
+      import okhttp3.ResponseBody;
+      import retrofit2.*;
+      import retrofit2.http.*;
+
+      public interface Service {
+        @GET("/{id}") Call<ResponseBody> get(@Path("id") int id);
+      }
+    """.trimIndent(),
+    )
+
+    val compilation = javac()
+      .withProcessors(RetrofitServiceProcessor())
+      .compile(service)
+    assertThat(compilation).succeeded()
+
+    val loader = CompilationClassLoader(compilation.generatedFiles())
+    val serviceClass = loader.loadClass("test.Service")
+
+    val retrofit = Retrofit.Builder()
+      .baseUrl("https://example.com/")
+      .build()
+    val instance = retrofit.create(serviceClass)
+    assertThat(instance.javaClass.name).isEqualTo("test.Service_Retrofit")
+    assertThat(Proxy.isProxyClass(instance.javaClass)).isFalse()
+
+    val call = serviceClass.getMethod("get", Int::class.javaPrimitiveType)
+      .invoke(instance, 1) as Call<*>
+    val request = call.request()
+    assertThat(request.url().toString()).isEqualTo("https://example.com/1")
+    val invocation = request.tag(Invocation::class.java)!!
+    assertThat(invocation.service()).isEqualTo(serviceClass)
+    assertThat(invocation.instance()).isSameInstanceAs(instance)
+  }
+
+  /** Loads classes written by a compilation, delegating everything else to the test's loader. */
+  private class CompilationClassLoader(
+    private val files: List<JavaFileObject>,
+  ) : ClassLoader(RetrofitServiceProcessorTest::class.java.classLoader) {
+    override fun findClass(name: String): Class<*> {
+      val path = "/" + name.replace('.', '/') + ".class"
+      val file = files.firstOrNull {
+        it.kind == JavaFileObject.Kind.CLASS && it.toUri().path.endsWith(path)
+      } ?: throw ClassNotFoundException(name)
+      val bytes = file.openInputStream().use { it.readBytes() }
+      return defineClass(name, bytes, 0, bytes.size)
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import static com.google.common.truth.Truth.assertThat;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static okhttp3.mockwebserver.SocketPolicy.NO_RESPONSE;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.helpers.ToStringConverterFactory;
+import retrofit2.http.GET;
+
+public final class BlockingCallAdapterFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  interface Service {
+    @GET("/")
+    String body() throws IOException;
+
+    @GET("/")
+    String bodyUndeclared();
+
+    @GET("/")
+    Response<String> response() throws IOException;
+
+    @GET("/")
+    Future<String> futureBody();
+
+    @GET("/")
+    Future<Response<String>> futureResponse();
+
+    @GET("/")
+    Call<String> call();
+
+    @GET("/")
+    CompletableFuture<String> completableFuture();
+
+    @SuppressWarnings("rawtypes")
+    @GET("/")
+    Future rawFuture();
+  }
+
+  private Service service;
+
+  @Before
+  public void setUp() {
+    service = service(BlockingCallAdapterFactory.create());
+  }
+
+  private Service service(BlockingCallAdapterFactory factory) {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(new ToStringConverterFactory())
+            .addCallAdapterFactory(factory)
+            .build();
+    return retrofit.create(Service.class);
+  }
+
+  @Test
+  public void bodySuccess200() throws IOException {
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body()).isEqualTo("Hi");
+  }
+
+  @Test
+  public void bodySuccess404() throws IOException {
+    server.enqueue(new MockResponse().setResponseCode(404));
+
+    try {
+      service.body();
+      fail();
+    } catch (HttpException e) {
+      assertThat(e).hasMessageThat().isEqualTo("HTTP 404 Client Error");
+    }
+  }
+
+  @Test
+  public void bodyFailure() {
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    try {
+      service.body();
+      fail();
+    } catch (IOException ignored) {
+    }
+  }
+
+  @Test
+  public void bodyFailureUndeclared() {
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    try {
+      service.bodyUndeclared();
+      fail();
+    } catch (UndeclaredThrowableException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(IOException.class);
+    }
+  }
+
+  @Test
+  public void responseSuccess404() throws IOException {
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("Hi"));
+
+    Response<String> response = service.response();
+    assertThat(response.isSuccessful()).isFalse();
+    assertThat(response.errorBody().string()).isEqualTo("Hi");
+  }
+
+  @Test
+  public void blockingCallsExecuteOnCallingThread() throws IOException {
+    Service service =
+        service(
+            BlockingCallAdapterFactory.create(
+                task -> {
+                  throw new AssertionError();
+                }));
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body()).isEqualTo("Hi");
+    assertThat(service.response().body()).isEqualTo("Hi");
+  }
+
+  @Test
+  public void futureBody() throws Exception {
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setResponseCode(404));
+
+    assertThat(service.futureBody().get()).isEqualTo("Hi");
+
+    Future<String> failed = service.futureBody();
+    try {
+      failed.get();
+      fail();
+    } catch (ExecutionException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(HttpException.class);
+    }
+  }
+
+  @Test
+  public void futureResponse() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("Hi"));
+
+    Response<String> response = service.futureResponse().get();
+    assertThat(response.code()).isEqualTo(404);
+    assertThat(response.errorBody().string()).isEqualTo("Hi");
+  }
+
+  @Test
+  public void futureCancel() throws Exception {
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+
+    Future<String> future = service.futureBody();
+    assertThat(future.cancel(true)).isTrue();
+    assertThat(future.isCancelled()).isTrue();
+    try {
+      future.get();
+      fail();
+    } catch (CancellationException expected) {
+    }
+  }
+
+  @Test
+  public void customExecutor() throws Exception {
+    List<Runnable> tasks = new CopyOnWriteArrayList<>();
+    Service service =
+        service(
+            BlockingCallAdapterFactory.create(
+                task -> {
+                  tasks.add(task);
+                  task.run();
+                }));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Future<String> future = service.futureBody();
+    assertThat(future.isDone()).isTrue();
+    assertThat(future.get()).isEqualTo("Hi");
+    assertThat(tasks).hasSize(1);
+  }
+
+  @Test
+  public void otherTypesAreNotAdapted() throws Exception {
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.call().execute().body()).isEqualTo("Hi");
+    assertThat(service.completableFuture().get()).isEqualTo("Hi");
+  }
+
+  @Test
+  public void rawFutureThrows() {
+    try {
+      service.rawFuture();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasCauseThat()
+          .hasMessageThat()
+          .isEqualTo(
+              "Future return type must be parameterized as Future<Foo> or Future<? extends Foo>");
+    }
+  }
+}
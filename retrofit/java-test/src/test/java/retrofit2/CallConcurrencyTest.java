@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import org.junit.After;
+import org.junit.Test;
+import retrofit2.helpers.ToStringConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+/** Races the operations of a single {@link Call} from multiple threads. */
+public final class CallConcurrencyTest {
+  private static final int ITERATIONS = 500;
+  private static final int THREADS = 4;
+
+  interface Service {
+    @GET("/")
+    Call<String> getString();
+
+    @GET("/")
+    Call<String> getQuery(@Query("q") String q);
+  }
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void onlyOneExecuteSucceeds() throws Exception {
+    for (int i = 0; i < ITERATIONS; i++) {
+      RecordingCallFactory callFactory = new RecordingCallFactory();
+      Call<String> call = service(callFactory).getString();
+
+      List<Object> results =
+          race(
+              () -> {
+                try {
+                  return call.execute().body();
+                } catch (IllegalStateException e) {
+                  return e.getMessage();
+                }
+              });
+
+      int executed = 0;
+      for (Object result : results) {
+        if ("Hi".equals(result)) {
+          executed++;
+        } else {
+          assertThat(result).isEqualTo("Already executed.");
+        }
+      }
+      assertThat(executed).isEqualTo(1);
+      assertThat(call.isExecuted()).isTrue();
+
+      int executedRawCalls = 0;
+      for (FakeCall rawCall : callFactory.calls) {
+        if (rawCall.executed) executedRawCalls++;
+      }
+      assertThat(executedRawCalls).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void racingRequestsObserveTheSameRawCall() throws Exception {
+    for (int i = 0; i < ITERATIONS; i++) {
+      RecordingCallFactory callFactory = new RecordingCallFactory();
+      Call<String> call = service(callFactory).getString();
+
+      List<Object> results = race(call::request);
+
+      Request request = call.request();
+      for (Object result : results) {
+        assertThat(result).isSameInstanceAs(request);
+      }
+    }
+  }
+
+  @Test
+  public void racingRequestsCreateTheRawCallOnce() throws Exception {
+    for (int i = 0; i < ITERATIONS; i++) {
+      AtomicInteger conversions = new AtomicInteger();
+      Converter.Factory countingFactory =
+          new Converter.Factory() {
+            @Override
+            public Converter<?, String> stringConverter(
+                Type type, Annotation[] annotations, Retrofit retrofit) {
+              return value -> {
+                conversions.incrementAndGet();
+                return String.valueOf(value);
+              };
+            }
+          };
+      RecordingCallFactory callFactory = new RecordingCallFactory();
+      Retrofit retrofit =
+          new Retrofit.Builder()
+              .baseUrl("http://example.com/")
+              .addConverterFactory(new ToStringConverterFactory())
+              .addConverterFactory(countingFactory)
+              .callFactory(callFactory)
+              .build();
+      Call<String> call = retrofit.create(Service.class).getQuery("hey");
+
+      race(call::request);
+
+      assertThat(conversions.get()).isEqualTo(1);
+      assertThat(callFactory.calls).hasSize(1);
+    }
+  }
+
+  @Test
+  public void racingCreationFailuresAreCached() throws Exception {
+    for (int i = 0; i < ITERATIONS; i++) {
+      AtomicInteger attempts = new AtomicInteger();
+      okhttp3.Call.Factory callFactory =
+          request -> {
+            throw new IllegalStateException("Attempt " + attempts.incrementAndGet());
+          };
+      Call<String> call = service(callFactory).getString();
+
+      List<Object> results =
+          race(
+              () -> {
+                try {
+                  return call.request();
+                } catch (IllegalStateException e) {
+                  return e;
+                }
+              });
+
+      Object failure = results.get(0);
+      assertThat(failure).isInstanceOf(IllegalStateException.class);
+      assertThat(attempts.get()).isEqualTo(1);
+      for (Object result : results) {
+        assertThat(result).isSameInstanceAs(failure);
+      }
+      try {
+        call.execute();
+        throw new AssertionError();
+      } catch (IllegalStateException e) {
+        assertThat(e).isSameInstanceAs(failure);
+      }
+    }
+  }
+
+  @Test
+  public void cancelRacingExecuteAlwaysCancelsRawCall() throws Exception {
+    for (int i = 0; i < ITERATIONS; i++) {
+      RecordingCallFactory callFactory = new RecordingCallFactory();
+      Call<String> call = service(callFactory).getString();
+
+      AtomicInteger index = new AtomicInteger();
+      race(
+          () -> {
+            int thread = index.getAndIncrement();
+            if (thread == 0) {
+              call.cancel();
+            } else if (thread == 1) {
+              try {
+                call.execute();
+              } catch (IOException ignored) {
+                // Canceled before the raw call was executed.
+              }
+            } else {
+              call.request();
+            }
+            return null;
+          });
+
+      assertThat(call.isCanceled()).isTrue();
+      for (FakeCall rawCall : callFactory.calls) {
+        if (rawCall.executed) {
+          assertThat(rawCall.canceled).isTrue();
+        }
+      }
+      assertThat(call.request()).isNotNull();
+    }
+  }
+
+  private static Service service(okhttp3.Call.Factory callFactory) {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl("http://example.com/")
+            .addConverterFactory(new ToStringConverterFactory())
+            .callFactory(callFactory)
+            .build();
+    return retrofit.create(Service.class);
+  }
+
+  /** Run {@code task} on every thread at once and return their results. */
+  private List<Object> race(Callable<?> task) throws Exception {
+    CountDownLatch ready = new CountDownLatch(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                ready.countDown();
+                start.await();
+                return task.call();
+              }));
+    }
+    ready.await();
+    start.countDown();
+
+    List<Object> results = new ArrayList<>();
+    for (Future<?> future : futures) {
+      results.add(future.get(10, SECONDS));
+    }
+    return results;
+  }
+
+  static final class RecordingCallFactory implements okhttp3.Call.Factory {
+    final List<FakeCall> calls = new CopyOnWriteArrayList<>();
+
+    @Override
+    public okhttp3.Call newCall(Request request) {
+      FakeCall call = new FakeCall(request);
+      calls.add(call);
+      return call;
+    }
+  }
+
+  /** A raw call which completes immediately without performing any I/O. */
+  static final class FakeCall implements okhttp3.Call {
+    private final Request request;
+    volatile boolean executed;
+    volatile boolean canceled;
+
+    FakeCall(Request request) {
+      this.request = request;
+    }
+
+    @Override
+    public Request request() {
+      return request;
+    }
+
+    @Override
+    public okhttp3.Response execute() throws IOException {
+      if (executed) throw new IllegalStateException("Already Executed");
+      executed = true;
+      if (canceled) throw new IOException("Canceled");
+      return new okhttp3.Response.Builder()
+          .request(request)
+          .protocol(Protocol.HTTP_1_1)
+          .code(200)
+          .message("OK")
+          .body(ResponseBody.create(null, "Hi"))
+          .build();
+    }
+
+    @Override
+    public void enqueue(okhttp3.Callback responseCallback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return executed;
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    @Override
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public okhttp3.Call clone() {
+      return new FakeCall(request);
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+
+public final class ContentNegotiatingConverterFactoryTest {
+  interface Service {
+    @GET("/")
+    Call<String> get();
+
+    @GET("/")
+    @Headers("Accept: text/plain")
+    Call<String> declaredAccept();
+
+    @GET("/")
+    Call<String> parameterAccept(@Header("Accept") String accept);
+
+    @GET("/")
+    Call<Integer> integer();
+
+    @GET("/")
+    Call<Optional<String>> optional();
+
+    @POST("/")
+    Call<String> post(@Body String body);
+  }
+
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  private Service service;
+
+  @Before
+  public void setUp() {
+    Retrofit retrofit =
+        new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(
+                new ContentNegotiatingConverterFactory.Builder()
+                    .add(MediaType.get("application/x-a"), new PrefixConverterFactory("a", false))
+                    .add(MediaType.get("application/x-b"), new PrefixConverterFactory("b", true))
+                    .add(MediaType.get("application/x-c"), new PrefixConverterFactory("c", false))
+                    .build())
+            .build();
+    service = retrofit.create(Service.class);
+  }
+
+  @Test
+  public void dispatchesOnContentType() throws IOException {
+    server.enqueue(new MockResponse().setHeader("Content-Type", "application/x-a").setBody("Hi"));
+    server.enqueue(new MockResponse().setHeader("Content-Type", "application/x-c").setBody("Hi"));
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "Application/X-B; charset=utf-8")
+            .setBody("Hi"));
+
+    assertThat(service.get().execute().body()).isEqualTo("a: Hi");
+    assertThat(service.get().execute().body()).isEqualTo("c: Hi");
+    assertThat(service.get().execute().body()).isEqualTo("b: Hi");
+  }
+
+  @Test
+  public void missingOrUnknownContentTypeUsesFirst() throws IOException {
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setHeader("Content-Type", "text/html").setBody("Hi"));
+
+    assertThat(service.get().execute().body()).isEqualTo("a: Hi");
+    assertThat(service.get().execute().body()).isEqualTo("a: Hi");
+  }
+
+  @Test
+  public void acceptListsTypesInPreferenceOrder() throws IOException, InterruptedException {
+    server.enqueue(new MockResponse());
+
+    service.get().execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Accept"))
+        .isEqualTo("application/x-a, application/x-b;q=0.9, application/x-c;q=0.8");
+  }
+
+  @Test
+  public void acceptOnlyListsTypesSupportingTheResponseType()
+      throws IOException, InterruptedException {
+    server.enqueue(new MockResponse().setHeader("Content-Type", "application/x-b").setBody("1"));
+
+    assertThat(service.integer().execute().body()).isEqualTo(1);
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Accept")).isEqualTo("application/x-b");
+  }
+
+  @Test
+  public void acceptIsForwardedByWrappingConverters() throws IOException, InterruptedException {
+    server.enqueue(new MockResponse().setHeader("Content-Type", "application/x-b").setBody("Hi"));
+
+    assertThat(service.optional().execute().body()).hasValue("b: Hi");
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Accept"))
+        .isEqualTo("application/x-a, application/x-b;q=0.9, application/x-c;q=0.8");
+  }
+
+  @Test
+  public void declaredAcceptIsNotReplaced() throws IOException, InterruptedException {
+    server.enqueue(new MockResponse());
+    server.enqueue(new MockResponse());
+
+    service.declaredAccept().execute();
+    service.parameterAccept("text/html").execute();
+
+    assertThat(server.takeRequest().getHeaders().values("Accept")).containsExactly("text/plain");
+    assertThat(server.takeRequest().getHeaders().values("Accept")).containsExactly("text/html");
+  }
+
+  @Test
+  public void requestBodyUsesFirstSupportingFactory() throws IOException, InterruptedException {
+    server.enqueue(new MockResponse());
+
+    service.post("Hi").execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getBody().readUtf8()).isEqualTo("Hi");
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/x-b");
+  }
+
+  @Test
+  public void builderRequiresFactory() {
+    try {
+      new ContentNegotiatingConverterFactory.Builder().build();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat().isEqualTo("At least one converter factory is required.");
+    }
+  }
+
+  /**
+   * Decodes strings by prefixing them with {@code name}. Integers and request bodies are only
+   * supported when {@code all} is true.
+   */
+  static final class PrefixConverterFactory extends Converter.Factory {
+    private final String name;
+    private final boolean all;
+
+    PrefixConverterFactory(String name, boolean all) {
+      this.name = name;
+      this.all = all;
+    }
+
+    @Override
+    public @Nullable Converter<ResponseBody, ?> responseBodyConverter(
+        Type type, Annotation[] annotations, Retrofit retrofit) {
+      if (type == String.class) {
+        return value -> name + ": " + value.string();
+      }
+      if (type == Integer.class && all) {
+        return value -> Integer.valueOf(value.string());
+      }
+      return null;
+    }
+
+    @Override
+    public @Nullable Converter<?, RequestBody> requestBodyConverter(
+        Type type,
+        Annotation[] parameterAnnotations,
+        Annotation[] methodAnnotations,
+        Retrofit retrofit) {
+      if (type == String.class && all) {
+        return (String value) -> RequestBody.create(MediaType.get("application/x-" + name), value);
+      }
+      return null;
+    }
+  }
+}
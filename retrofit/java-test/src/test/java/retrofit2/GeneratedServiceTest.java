@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+
+public final class GeneratedServiceTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+
+  interface Service {
+    @GET("/{path}")
+    Call<ResponseBody> get(@Path("path") String path);
+
+    Call<ResponseBody> bad();
+
+    default Call<ResponseBody> root() {
+      return get("root");
+    }
+  }
+
+  interface ProxiedService {
+    @GET("/")
+    Call<ResponseBody> get();
+  }
+
+  @Test
+  public void createUsesGeneratedImplementation() throws IOException, InterruptedException {
+    Retrofit retrofit = new Retrofit.Builder().baseUrl(server.url("/")).build();
+    Service service = retrofit.create(Service.class);
+    assertThat(service).isInstanceOf(GeneratedServiceTest_Service_Retrofit.class);
+
+    server.enqueue(new MockResponse().setBody("Hi"));
+    Call<ResponseBody> call = service.root();
+    Response<ResponseBody> response = call.execute();
+    assertThat(response.body().string()).isEqualTo("Hi");
+
+    Invocation invocation = call.request().tag(Invocation.class);
+    assertThat(invocation.service()).isEqualTo(Service.class);
+    assertThat(invocation.instance()).isSameInstanceAs(service);
+    assertThat(invocation.method().getName()).isEqualTo("get");
+    assertThat(invocation.arguments()).containsExactly("root");
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getPath()).isEqualTo("/root");
+  }
+
+  @Test
+  public void generatedImplementationParsesLazily() {
+    Retrofit retrofit = new Retrofit.Builder().baseUrl(server.url("/")).build();
+    Service service = retrofit.create(Service.class);
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, service::bad);
+    assertThat(e)
+        .hasMessageThat()
+        .isEqualTo(
+            "HTTP method annotation is required (e.g., @GET, @POST, etc.).\n"
+                + "    for method Service.bad");
+  }
+
+  @Test
+  public void generatedImplementationValidatesEagerly() {
+    Retrofit retrofit =
+        new Retrofit.Builder().baseUrl(server.url("/")).validateEagerly(true).build();
+
+    assertThrows(IllegalArgumentException.class, () -> retrofit.create(Service.class));
+  }
+
+  @Test
+  public void createFallsBackToProxy() {
+    Retrofit retrofit = new Retrofit.Builder().baseUrl(server.url("/")).build();
+    ProxiedService service = retrofit.create(ProxiedService.class);
+    assertThat(Proxy.isProxyClass(service.getClass())).isTrue();
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import okhttp3.ResponseBody;
+
+/** Equivalent to what the service generator annotation processor emits for the test service. */
+@SuppressWarnings("unchecked")
+public final class GeneratedServiceTest_Service_Retrofit implements GeneratedServiceTest.Service {
+  private final BoundServiceMethod get;
+  private final BoundServiceMethod bad;
+
+  public GeneratedServiceTest_Service_Retrofit(Retrofit retrofit) {
+    this.get =
+        BoundServiceMethod.bind(retrofit, GeneratedServiceTest.Service.class, "get", String.class);
+    this.bad = BoundServiceMethod.bind(retrofit, GeneratedServiceTest.Service.class, "bad");
+  }
+
+  @Override
+  public Call<ResponseBody> get(String path) {
+    return (Call<ResponseBody>) this.get.invoke(this, new Object[] {path});
+  }
+
+  @Override
+  public Call<ResponseBody> bad() {
+    return (Call<ResponseBody>) this.bad.invoke(this, new Object[] {});
+  }
+}
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Inflater;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -38,10 +39,14 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import okio.Buffer;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
 import org.junit.Ignore;
 import org.junit.Test;
 import retrofit2.helpers.NullObjectConverterFactory;
 import retrofit2.http.Body;
+import retrofit2.http.Compressed;
 import retrofit2.http.DELETE;
 import retrofit2.http.Field;
 import retrofit2.http.FieldMap;
@@ -1174,6 +1179,31 @@ public final class RequestFactoryTest {
     assertThat(buildRequest(Example.class, "..").url().encodedPath()).isEqualTo("/foo..bar/");
   }
 
+  @Test
+  public void adjacentPathParametersAndPathTraversal() {
+    class Example {
+      @GET("/foo/{ping}{pong}/") //
+      Call<ResponseBody> method(
+          @Path(value = "ping", encoded = true) String ping,
+          @Path(value = "pong", encoded = true) String pong) {
+        return null;
+      }
+    }
+
+    try {
+      buildRequest(Example.class, ".", ".");
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage())
+          .isEqualTo("@Path parameters shouldn't perform path traversal ('.' or '..'): .");
+    }
+    assertMalformedRequest(Example.class, "%2e", "");
+    assertMalformedRequest(Example.class, "", "..");
+
+    assertThat(buildRequest(Example.class, ".", "..").url().encodedPath()).isEqualTo("/foo/.../");
+    assertThat(buildRequest(Example.class, "a", "..").url().encodedPath()).isEqualTo("/foo/a../");
+  }
+
   @Test
   public void pathParamRequired() {
     class Example {
@@ -3386,6 +3416,104 @@ public final class RequestFactoryTest {
     }
   }
 
+  @Test
+  public void compressedGzip() throws IOException {
+    class Example {
+      @Compressed(minimumSize = 0) //
+      @POST("/foo/bar/") //
+      Call<ResponseBody> method(@Body RequestBody body) {
+        return null;
+      }
+    }
+    RequestBody body = RequestBody.create(TEXT_PLAIN, "hi");
+    Request request = buildRequest(Example.class, body);
+    assertThat(request.header("Content-Encoding")).isEqualTo("gzip");
+    assertThat(request.body().contentType()).isEqualTo(TEXT_PLAIN);
+    assertThat(request.body().contentLength()).isEqualTo(-1L);
+
+    Buffer compressed = new Buffer();
+    request.body().writeTo(compressed);
+    assertThat(Okio.buffer(new GzipSource(compressed)).readUtf8()).isEqualTo("hi");
+  }
+
+  @Test
+  public void compressedDeflate() throws IOException {
+    class Example {
+      @Compressed(value = Compressed.Encoding.DEFLATE, minimumSize = 0) //
+      @FormUrlEncoded //
+      @POST("/foo/bar/") //
+      Call<ResponseBody> method(@Field("foo") String foo) {
+        return null;
+      }
+    }
+    Request request = buildRequest(Example.class, "bar");
+    assertThat(request.header("Content-Encoding")).isEqualTo("deflate");
+    assertThat(request.body().contentType().toString())
+        .isEqualTo("application/x-www-form-urlencoded");
+
+    Buffer compressed = new Buffer();
+    request.body().writeTo(compressed);
+    assertThat(Okio.buffer(new InflaterSource(compressed, new Inflater())).readUtf8())
+        .isEqualTo("foo=bar");
+  }
+
+  @Test
+  public void compressedSkipsSmallBodies() {
+    class Example {
+      @Compressed(minimumSize = 3) //
+      @POST("/foo/bar/") //
+      Call<ResponseBody> method(@Body RequestBody body) {
+        return null;
+      }
+    }
+    Request small = buildRequest(Example.class, RequestBody.create(TEXT_PLAIN, "hi"));
+    assertThat(small.header("Content-Encoding")).isNull();
+    assertBody(small.body(), "hi");
+
+    Request large = buildRequest(Example.class, RequestBody.create(TEXT_PLAIN, "hey"));
+    assertThat(large.header("Content-Encoding")).isEqualTo("gzip");
+  }
+
+  @Test
+  public void compressedFailsOnNonBodyMethod() {
+    class Example {
+      @Compressed //
+      @GET("/") //
+      Call<ResponseBody> method() {
+        return null;
+      }
+    }
+    try {
+      buildRequest(Example.class);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasMessageThat()
+          .isEqualTo(
+              "Compressed can only be specified on HTTP methods with request body (e.g., @POST).\n    for method Example.method");
+    }
+  }
+
+  @Test
+  public void compressedFailsOnNegativeMinimumSize() {
+    class Example {
+      @Compressed(minimumSize = -1) //
+      @POST("/") //
+      Call<ResponseBody> method(@Body RequestBody body) {
+        return null;
+      }
+    }
+    try {
+      buildRequest(Example.class, RequestBody.create(TEXT_PLAIN, "hi"));
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e)
+          .hasMessageThat()
+          .isEqualTo(
+              "@Compressed minimumSize must not be negative: -1\n    for method Example.method");
+    }
+  }
+
   private static void assertBody(RequestBody body, String expected) {
     assertThat(body).isNotNull();
     Buffer buffer = new Buffer();
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import javax.annotation.Nullable;
+
+/**
+ * A {@linkplain CallAdapter.Factory call adapter} for service methods which execute their call
+ * rather than returning a {@link Call}:
+ *
+ * <ul>
+ *   <li>{@code T} blocks and returns the body of a successful response, or throws {@link
+ *       HttpException}.
+ *   <li>{@code Response<T>} blocks and returns the response.
+ *   <li>{@code Future<T>} and {@code Future<Response<T>>} return immediately while the call
+ *       executes on another thread. Canceling the future with {@code mayInterruptIfRunning} cancels
+ *       the call.
+ * </ul>
+ *
+ * Blocking methods throw {@link IOException} when the call fails. Declare it with {@code throws
+ * IOException} to catch it directly, otherwise it is wrapped in an {@link
+ * java.lang.reflect.UndeclaredThrowableException}.
+ *
+ * <p>Calls are made with {@link Call#execute()}, rather than through the OkHttp {@code Dispatcher}.
+ * Blocking methods execute their call directly on the calling thread, so callers on virtual threads
+ * unmount while waiting for the response. {@code Future} methods execute their call on a new thread
+ * from {@link #create()}, which are virtual threads on Java 21 and newer, or on the executor passed
+ * to {@link #create(Executor)}.
+ *
+ * <p>Since any type may be a body type, this factory must be {@linkplain
+ * Retrofit.Builder#addCallAdapterFactory(CallAdapter.Factory) added} after any others. It does not
+ * adapt {@link Call}, or subtypes of {@link Future} such as {@code CompletableFuture}.
+ */
+public final class BlockingCallAdapterFactory extends CallAdapter.Factory {
+  /**
+   * Create an instance which executes each {@code Future} call on a new thread. On Java 21 and
+   * newer these are virtual threads.
+   */
+  public static BlockingCallAdapterFactory create() {
+    return new BlockingCallAdapterFactory(VirtualThreads.newThreadPerTaskExecutor());
+  }
+
+  /** Create an instance which executes {@code Future} calls on {@code executor}. */
+  @SuppressWarnings("ConstantConditions") // Guarding public API nullability.
+  public static BlockingCallAdapterFactory create(Executor executor) {
+    if (executor == null) throw new NullPointerException("executor == null");
+    return new BlockingCallAdapterFactory(executor);
+  }
+
+  private final Executor executor;
+
+  private BlockingCallAdapterFactory(Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public @Nullable CallAdapter<?, ?> get(
+      Type returnType, Annotation[] annotations, Retrofit retrofit) {
+    Class<?> rawType = getRawType(returnType);
+    if (rawType == Call.class) {
+      return null;
+    }
+    if (rawType != Future.class && Future.class.isAssignableFrom(rawType)) {
+      return null; // Future subtypes like CompletableFuture are left to their own adapters.
+    }
+
+    boolean future = rawType == Future.class;
+    Type type = returnType;
+    if (future) {
+      if (!(returnType instanceof ParameterizedType)) {
+        throw new IllegalStateException(
+            "Future return type must be parameterized as Future<Foo> or Future<? extends Foo>");
+      }
+      type = getParameterUpperBound(0, (ParameterizedType) returnType);
+    }
+
+    boolean body = getRawType(type) != Response.class;
+    if (!body) {
+      if (!(type instanceof ParameterizedType)) {
+        throw new IllegalStateException(
+            "Response must be parameterized as Response<Foo> or Response<? extends Foo>");
+      }
+      type = getParameterUpperBound(0, (ParameterizedType) type);
+    }
+
+    return future
+        ? new FutureCallAdapter<>(type, executor, body)
+        : new BlockingCallAdapter<>(type, body);
+  }
+
+  /** Executes {@code call} and returns its response, or if {@code body} its successful body. */
+  static @Nullable Object execute(Call<?> call, boolean body) throws IOException {
+    Response<?> response = call.execute();
+    if (!body) {
+      return response;
+    }
+    if (!response.isSuccessful()) {
+      throw new HttpException(response);
+    }
+    return response.body();
+  }
+
+  private static final class BlockingCallAdapter<R> implements CallAdapter<R, Object> {
+    private final Type responseType;
+    private final boolean body;
+
+    BlockingCallAdapter(Type responseType, boolean body) {
+      this.responseType = responseType;
+      this.body = body;
+    }
+
+    @Override
+    public Type responseType() {
+      return responseType;
+    }
+
+    @Override
+    public @Nullable Object adapt(Call<R> call) {
+      try {
+        return execute(call, body);
+      } catch (IOException e) {
+        throw BlockingCallAdapterFactory.<RuntimeException>sneakyThrow(e);
+      }
+    }
+  }
+
+  private static final class FutureCallAdapter<R> implements CallAdapter<R, Future<Object>> {
+    private final Type responseType;
+    private final Executor executor;
+    private final boolean body;
+
+    FutureCallAdapter(Type responseType, Executor executor, boolean body) {
+      this.responseType = responseType;
+      this.executor = executor;
+      this.body = body;
+    }
+
+    @Override
+    public Type responseType() {
+      return responseType;
+    }
+
+    @Override
+    public Future<Object> adapt(Call<R> call) {
+      CallTask task = new CallTask(call, body);
+      executor.execute(task);
+      return task;
+    }
+  }
+
+  private static final class CallTask extends FutureTask<Object> {
+    private final Call<?> call;
+
+    CallTask(Call<?> call, boolean body) {
+      super(() -> execute(call, body));
+      this.call = call;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (mayInterruptIfRunning) {
+        call.cancel();
+      }
+      return super.cancel(mayInterruptIfRunning);
+    }
+  }
+
+  /**
+   * Throw {@code t}, even if it is a checked exception which the service method does not declare.
+   * The proxy then wraps it in {@link java.lang.reflect.UndeclaredThrowableException}.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T extends Throwable> T sneakyThrow(Throwable t) throws T {
+    throw (T) t;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * A single service interface method bound to a {@link Retrofit} instance. Service implementations
+ * generated by the {@code retrofit-service-generator} annotation processor hold one of these for
+ * each method and invoke it directly rather than going through a {@link java.lang.reflect.Proxy}.
+ *
+ * <p>This type is an implementation detail of generated code and should not be used directly.
+ */
+public final class BoundServiceMethod {
+  /**
+   * Bind the method {@code name} with {@code parameterTypes} of {@code service} to {@code
+   * retrofit}. The method annotations are not parsed until the first invocation, matching the
+   * behavior of a {@linkplain Retrofit#create(Class) proxied} service.
+   */
+  public static BoundServiceMethod bind(
+      Retrofit retrofit, Class<?> service, String name, Class<?>... parameterTypes) {
+    Objects.requireNonNull(retrofit, "retrofit == null");
+    Objects.requireNonNull(service, "service == null");
+    Objects.requireNonNull(name, "name == null");
+    Method method;
+    try {
+      method = service.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(
+          "Generated implementation of " + service.getName() + " is out of date.", e);
+    }
+    return new BoundServiceMethod(retrofit, service, method);
+  }
+
+  private final Retrofit retrofit;
+  private final Class<?> service;
+  private final Method method;
+
+  /**
+   * Lazily loaded from the {@link Retrofit} instance's cache. Racing threads will observe the same
+   * instance from the cache and the type is safely publishable, so no synchronization is needed.
+   */
+  private @Nullable ServiceMethod<?> serviceMethod;
+
+  private BoundServiceMethod(Retrofit retrofit, Class<?> service, Method method) {
+    this.retrofit = retrofit;
+    this.service = service;
+    this.method = method;
+  }
+
+  /** Invoke the bound method on {@code instance} with {@code args} as its arguments. */
+  public @Nullable Object invoke(Object instance, Object[] args) {
+    ServiceMethod<?> serviceMethod = this.serviceMethod;
+    if (serviceMethod == null) {
+      serviceMethod = retrofit.loadServiceMethod(service, method);
+      this.serviceMethod = serviceMethod;
+    }
+    return serviceMethod.invoke(instance, args);
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+
+/**
+ * A {@link Converter.Factory} which chooses between several converter factories based on the
+ * media type of each response.
+ *
+ * <p>Each factory is registered with the media type it decodes. For every method, response body
+ * converters are created by each factory that supports the method's type. When a response arrives
+ * its {@code Content-Type} selects the converter. Responses with no {@code Content-Type}, or with
+ * one that is not registered, use the converter of the earliest registered factory.
+ *
+ * <p>Requests for these methods include an {@code Accept} header listing each supported media type,
+ * in registration order from most to least preferred, unless the method already declares one.
+ * Request bodies are encoded by the earliest registered factory which supports the type.
+ * Converters which wrap the response body converter of this factory should implement {@link
+ * AcceptingConverter} so that the header is still added.
+ *
+ * <pre><code>
+ * new Retrofit.Builder()
+ *     .addConverterFactory(new ContentNegotiatingConverterFactory.Builder()
+ *         .add(MediaType.get("application/x-protobuf"), ProtoConverterFactory.create())
+ *         .add(MediaType.get("application/json"), MoshiConverterFactory.create())
+ *         .build())
+ * </code></pre>
+ */
+public final class ContentNegotiatingConverterFactory extends Converter.Factory {
+  private final List<MediaType> mediaTypes;
+  private final List<Converter.Factory> factories;
+
+  ContentNegotiatingConverterFactory(Builder builder) {
+    this.mediaTypes = new ArrayList<>(builder.mediaTypes);
+    this.factories = new ArrayList<>(builder.factories);
+  }
+
+  @Override
+  public @Nullable Converter<ResponseBody, ?> responseBodyConverter(
+      Type type, Annotation[] annotations, Retrofit retrofit) {
+    Map<String, Converter<ResponseBody, ?>> converters = new HashMap<>();
+    Converter<ResponseBody, ?> defaultConverter = null;
+    StringBuilder accept = new StringBuilder();
+    for (int i = 0, count = factories.size(); i < count; i++) {
+      Converter<ResponseBody, ?> converter =
+          factories.get(i).responseBodyConverter(type, annotations, retrofit);
+      if (converter == null) continue;
+
+      String key = key(mediaTypes.get(i));
+      if (converters.containsKey(key)) continue;
+      converters.put(key, converter);
+
+      if (defaultConverter == null) {
+        defaultConverter = converter;
+        accept.append(key);
+      } else {
+        // Each subsequent type is one tenth less preferred, down to the minimum non-zero weight.
+        int weight = Math.max(1, 11 - converters.size());
+        accept.append(", ").append(key).append(";q=0.").append(weight);
+      }
+    }
+    if (defaultConverter == null) {
+      return null;
+    }
+    return new NegotiatingResponseBodyConverter<>(converters, defaultConverter, accept.toString());
+  }
+
+  @Override
+  public @Nullable Converter<?, RequestBody> requestBodyConverter(
+      Type type,
+      Annotation[] parameterAnnotations,
+      Annotation[] methodAnnotations,
+      Retrofit retrofit) {
+    for (Converter.Factory factory : factories) {
+      Converter<?, RequestBody> converter =
+          factory.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+      if (converter != null) {
+        return converter;
+      }
+    }
+    return null;
+  }
+
+  static String key(MediaType mediaType) {
+    return mediaType.type() + '/' + mediaType.subtype();
+  }
+
+  /** Returns the {@code Accept} header value of {@code converter}, or null if it has none. */
+  static @Nullable String accept(Converter<?, ?> converter) {
+    return converter instanceof AcceptingConverter
+        ? ((AcceptingConverter) converter).accept()
+        : null;
+  }
+
+  /**
+   * A response body converter which has an {@code Accept} header value for the requests whose
+   * responses it converts. The value is added to requests which do not declare their own.
+   *
+   * <p>Converters which delegate to another response body converter should implement this and
+   * return the delegate's value, or null if the delegate does not implement it.
+   */
+  public interface AcceptingConverter {
+    /** Returns the {@code Accept} header value for requests, or null to not add one. */
+    @Nullable
+    String accept();
+  }
+
+  static final class NegotiatingResponseBodyConverter<T>
+      implements Converter<ResponseBody, T>, AcceptingConverter {
+    private final Map<String, Converter<ResponseBody, ?>> converters;
+    private final Converter<ResponseBody, ?> defaultConverter;
+    /** The {@code Accept} header value for requests whose responses use this converter. */
+    private final String accept;
+
+    NegotiatingResponseBodyConverter(
+        Map<String, Converter<ResponseBody, ?>> converters,
+        Converter<ResponseBody, ?> defaultConverter,
+        String accept) {
+      this.converters = converters;
+      this.defaultConverter = defaultConverter;
+      this.accept = accept;
+    }
+
+    @SuppressWarnings("unchecked") // Every converter was created for T.
+    @Override
+    public @Nullable T convert(ResponseBody value) throws IOException {
+      Converter<ResponseBody, ?> converter = defaultConverter;
+      MediaType contentType = value.contentType();
+      if (contentType != null) {
+        Converter<ResponseBody, ?> match = converters.get(key(contentType));
+        if (match != null) {
+          converter = match;
+        }
+      }
+      return (T) converter.convert(value);
+    }
+
+    @Override
+    public String accept() {
+      return accept;
+    }
+  }
+
+  /** Build a new {@link ContentNegotiatingConverterFactory}. */
+  public static final class Builder {
+    private final List<MediaType> mediaTypes = new ArrayList<>();
+    private final List<Converter.Factory> factories = new ArrayList<>();
+
+    /**
+     * Register {@code factory} for response bodies of {@code mediaType}. Only the type and subtype
+     * of {@code mediaType} are used. Factories registered earlier are preferred.
+     */
+    public Builder add(MediaType mediaType, Converter.Factory factory) {
+      mediaTypes.add(Objects.requireNonNull(mediaType, "mediaType == null"));
+      factories.add(Objects.requireNonNull(factory, "factory == null"));
+      return this;
+    }
+
+    /** Create the {@link ContentNegotiatingConverterFactory} using the registered factories. */
+    public ContentNegotiatingConverterFactory build() {
+      if (factories.isEmpty()) {
+        throw new IllegalStateException("At least one converter factory is required.");
+      }
+      return new ContentNegotiatingConverterFactory(this);
+    }
+  }
+}
@@ -95,6 +95,10 @@ abstract class HttpServiceMethod<ResponseT, ReturnT> extends ServiceMethod<Retur
 
     Converter<ResponseBody, ResponseT> responseConverter =
         createResponseConverter(retrofit, method, responseType);
+    String accept = ContentNegotiatingConverterFactory.accept(responseConverter);
+    if (accept != null) {
+      requestFactory = requestFactory.withDefaultAccept(accept);
+    }
 
     okhttp3.Call.Factory callFactory = retrofit.callFactory;
     if (!isKotlinSuspendFunction) {
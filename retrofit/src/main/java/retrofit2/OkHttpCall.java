@@ -19,8 +19,8 @@ import static retrofit2.Utils.throwIfFatal;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.GuardedBy;
 import okhttp3.MediaType;
 import okhttp3.Request;
 import okhttp3.ResponseBody;
@@ -37,16 +37,15 @@ final class OkHttpCall<T> implements Call<T> {
   private final okhttp3.Call.Factory callFactory;
   private final Converter<ResponseBody, T> responseConverter;
 
-  private volatile boolean canceled;
-
-  @GuardedBy("this")
-  private @Nullable okhttp3.Call rawCall;
-
-  @GuardedBy("this") // Either a RuntimeException, non-fatal Error, or IOException.
-  private @Nullable Throwable creationFailure;
+  /**
+   * All mutable state is held in a single immutable snapshot which is replaced atomically. This
+   * allows observers like {@link #request()} and {@link #isCanceled()} to never contend with the
+   * thread executing the call.
+   */
+  private final AtomicReference<State> state = new AtomicReference<>(State.INITIAL);
 
-  @GuardedBy("this")
-  private boolean executed;
+  /** Guards creation of the raw call so that it happens at most once. */
+  private final Object creationLock = new Object();
 
   OkHttpCall(
       RequestFactory requestFactory,
@@ -68,7 +67,7 @@ final class OkHttpCall<T> implements Call<T> {
   }
 
   @Override
-  public synchronized Request request() {
+  public Request request() {
     try {
       return getRawCall().request();
     } catch (IOException e) {
@@ -77,7 +76,7 @@ final class OkHttpCall<T> implements Call<T> {
   }
 
   @Override
-  public synchronized Timeout timeout() {
+  public Timeout timeout() {
     try {
       return getRawCall().timeout();
     } catch (IOException e) {
@@ -88,65 +87,82 @@ final class OkHttpCall<T> implements Call<T> {
   /**
    * Returns the raw call, initializing it if necessary. Throws if initializing the raw call throws,
    * or has thrown in previous attempts to create it.
+   *
+   * <p>Creation happens at most once: threads which race to initialize the raw call wait on {@link
+   * #creationLock} so parameter handlers and converters are only invoked by the first of them. The
+   * lock is never held once the call or failure is published, and the executed and canceled flags
+   * are still updated without it.
    */
-  @GuardedBy("this")
   private okhttp3.Call getRawCall() throws IOException {
-    okhttp3.Call call = rawCall;
-    if (call != null) return call;
+    State current = state.get();
+    if (current.rawCall == null && current.creationFailure == null) {
+      synchronized (creationLock) {
+        current = state.get();
+        if (current.rawCall == null && current.creationFailure == null) {
+          // Create and remember either the success or the failure.
+          okhttp3.Call call = null;
+          Throwable failure = null;
+          try {
+            call = createRawCall();
+          } catch (RuntimeException | Error | IOException e) {
+            throwIfFatal(e); // Do not assign a fatal error to creationFailure.
+            failure = e;
+          }
 
-    // Re-throw previous failures if this isn't the first attempt.
-    if (creationFailure != null) {
-      if (creationFailure instanceof IOException) {
-        throw (IOException) creationFailure;
-      } else if (creationFailure instanceof RuntimeException) {
-        throw (RuntimeException) creationFailure;
-      } else {
-        throw (Error) creationFailure;
+          // Only the flags can change concurrently since creation is guarded by the lock.
+          State next;
+          do {
+            current = state.get();
+            next = current.withRawCall(call, failure);
+          } while (!state.compareAndSet(current, next));
+          current = next;
+
+          if (call != null && current.canceled) {
+            // The call was canceled before the raw call existed to be canceled directly.
+            call.cancel();
+          }
+        }
       }
     }
 
-    // Create and remember either the success or the failure.
-    try {
-      return rawCall = createRawCall();
-    } catch (RuntimeException | Error | IOException e) {
-      throwIfFatal(e); // Do not assign a fatal error to creationFailure.
-      creationFailure = e;
-      throw e;
+    okhttp3.Call call = current.rawCall;
+    if (call != null) return call;
+
+    // Re-throw the failure which was remembered.
+    Throwable creationFailure = current.creationFailure;
+    if (creationFailure instanceof IOException) {
+      throw (IOException) creationFailure;
+    } else if (creationFailure instanceof RuntimeException) {
+      throw (RuntimeException) creationFailure;
+    } else {
+      throw (Error) creationFailure;
     }
   }
 
+  /** Atomically mark this call as executed, or throw if it already was. */
+  private void markExecuted() {
+    State current;
+    do {
+      current = state.get();
+      if (current.executed) throw new IllegalStateException("Already executed.");
+    } while (!state.compareAndSet(current, current.withExecuted()));
+  }
+
   @Override
   public void enqueue(final Callback<T> callback) {
     Objects.requireNonNull(callback, "callback == null");
 
-    okhttp3.Call call;
-    Throwable failure;
-
-    synchronized (this) {
-      if (executed) throw new IllegalStateException("Already executed.");
-      executed = true;
-
-      call = rawCall;
-      failure = creationFailure;
-      if (call == null && failure == null) {
-        try {
-          call = rawCall = createRawCall();
-        } catch (Throwable t) {
-          throwIfFatal(t);
-          failure = creationFailure = t;
-        }
-      }
-    }
+    markExecuted();
 
-    if (failure != null) {
-      callback.onFailure(this, failure);
+    okhttp3.Call call;
+    try {
+      call = getRawCall();
+    } catch (Throwable t) {
+      throwIfFatal(t);
+      callback.onFailure(this, t);
       return;
     }
 
-    if (canceled) {
-      call.cancel();
-    }
-
     call.enqueue(
         new okhttp3.Callback() {
           @Override
@@ -185,25 +201,14 @@ final class OkHttpCall<T> implements Call<T> {
   }
 
   @Override
-  public synchronized boolean isExecuted() {
-    return executed;
+  public boolean isExecuted() {
+    return state.get().executed;
   }
 
   @Override
   public Response<T> execute() throws IOException {
-    okhttp3.Call call;
-
-    synchronized (this) {
-      if (executed) throw new IllegalStateException("Already executed.");
-      executed = true;
-
-      call = getRawCall();
-    }
-
-    if (canceled) {
-      call.cancel();
-    }
-
+    markExecuted();
+    okhttp3.Call call = getRawCall();
     return parseResponse(call.execute());
   }
 
@@ -255,12 +260,14 @@ final class OkHttpCall<T> implements Call<T> {
 
   @Override
   public void cancel() {
-    canceled = true;
-
-    okhttp3.Call call;
-    synchronized (this) {
-      call = rawCall;
-    }
+    State current;
+    do {
+      current = state.get();
+      if (current.canceled) break;
+    } while (!state.compareAndSet(current, current.withCanceled()));
+
+    // If the raw call does not exist yet, it will be canceled by the thread which publishes it.
+    okhttp3.Call call = current.rawCall;
     if (call != null) {
       call.cancel();
     }
@@ -268,11 +275,45 @@ final class OkHttpCall<T> implements Call<T> {
 
   @Override
   public boolean isCanceled() {
-    if (canceled) {
+    State current = state.get();
+    if (current.canceled) {
       return true;
     }
-    synchronized (this) {
-      return rawCall != null && rawCall.isCanceled();
+    okhttp3.Call call = current.rawCall;
+    return call != null && call.isCanceled();
+  }
+
+  /** An immutable snapshot of the state of an {@link OkHttpCall}. */
+  private static final class State {
+    static final State INITIAL = new State(false, false, null, null);
+
+    final boolean executed;
+    final boolean canceled;
+    final @Nullable okhttp3.Call rawCall;
+    // Either a RuntimeException, non-fatal Error, or IOException.
+    final @Nullable Throwable creationFailure;
+
+    State(
+        boolean executed,
+        boolean canceled,
+        @Nullable okhttp3.Call rawCall,
+        @Nullable Throwable creationFailure) {
+      this.executed = executed;
+      this.canceled = canceled;
+      this.rawCall = rawCall;
+      this.creationFailure = creationFailure;
+    }
+
+    State withExecuted() {
+      return new State(true, canceled, rawCall, creationFailure);
+    }
+
+    State withCanceled() {
+      return new State(executed, true, rawCall, creationFailure);
+    }
+
+    State withRawCall(@Nullable okhttp3.Call rawCall, @Nullable Throwable creationFailure) {
+      return new State(executed, canceled, rawCall, creationFailure);
     }
   }
 
@@ -303,24 +344,11 @@ final class OkHttpCall<T> implements Call<T> {
 
   static final class ExceptionCatchingResponseBody extends ResponseBody {
     private final ResponseBody delegate;
-    private final BufferedSource delegateSource;
+    private @Nullable BufferedSource delegateSource;
     @Nullable IOException thrownException;
 
     ExceptionCatchingResponseBody(ResponseBody delegate) {
       this.delegate = delegate;
-      this.delegateSource =
-          Okio.buffer(
-              new ForwardingSource(delegate.source()) {
-                @Override
-                public long read(Buffer sink, long byteCount) throws IOException {
-                  try {
-                    return super.read(sink, byteCount);
-                  } catch (IOException e) {
-                    thrownException = e;
-                    throw e;
-                  }
-                }
-              });
     }
 
     @Override
@@ -333,9 +361,31 @@ final class OkHttpCall<T> implements Call<T> {
       return delegate.contentLength();
     }
 
+    /**
+     * Returns a buffered view of the delegate's source which records any exception it throws. This
+     * is a second buffer over the delegate's but okio moves whole segments between buffers rather
+     * than copying their bytes. The buffer is only created if the converter reads the body.
+     */
     @Override
     public BufferedSource source() {
-      return delegateSource;
+      BufferedSource source = delegateSource;
+      if (source == null) {
+        source =
+            Okio.buffer(
+                new ForwardingSource(delegate.source()) {
+                  @Override
+                  public long read(Buffer sink, long byteCount) throws IOException {
+                    try {
+                      return super.read(sink, byteCount);
+                    } catch (IOException e) {
+                      thrownException = e;
+                      throw e;
+                    }
+                  }
+                });
+        delegateSource = source;
+      }
+      return source;
     }
 
     @Override
@@ -57,7 +57,9 @@ public final class OptionalConverterFactory extends Converter.Factory {
   }
 
   @IgnoreJRERequirement
-  static final class OptionalConverter<T> implements Converter<ResponseBody, Optional<T>> {
+  static final class OptionalConverter<T>
+      implements Converter<ResponseBody, Optional<T>>,
+          ContentNegotiatingConverterFactory.AcceptingConverter {
     private final Converter<ResponseBody, T> delegate;
 
     OptionalConverter(Converter<ResponseBody, T> delegate) {
@@ -68,5 +70,10 @@ public final class OptionalConverterFactory extends Converter.Factory {
     public Optional<T> convert(ResponseBody value) throws IOException {
       return Optional.ofNullable(delegate.convert(value));
     }
+
+    @Override
+    public @Nullable String accept() {
+      return ContentNegotiatingConverterFactory.accept(delegate);
+    }
   }
 }
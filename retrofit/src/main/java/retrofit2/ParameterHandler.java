@@ -98,13 +98,21 @@ abstract class ParameterHandler<T> {
     private final Method method;
     private final int p;
     private final String name;
+    private final int slot;
     private final Converter<T, String> valueConverter;
     private final boolean encoded;
 
-    Path(Method method, int p, String name, Converter<T, String> valueConverter, boolean encoded) {
+    Path(
+        Method method,
+        int p,
+        String name,
+        int slot,
+        Converter<T, String> valueConverter,
+        boolean encoded) {
       this.method = method;
       this.p = p;
       this.name = Objects.requireNonNull(name, "name == null");
+      this.slot = slot;
       this.valueConverter = valueConverter;
       this.encoded = encoded;
     }
@@ -115,7 +123,7 @@ abstract class ParameterHandler<T> {
         throw Utils.parameterError(
             method, p, "Path parameter \"" + name + "\" value must not be null.");
       }
-      builder.addPathParam(name, valueConverter.convert(value), encoded);
+      builder.addPathParam(slot, valueConverter.convert(value), encoded);
     }
   }
 
@@ -16,7 +16,7 @@
 package retrofit2;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
+import java.util.zip.Deflater;
 import javax.annotation.Nullable;
 import okhttp3.FormBody;
 import okhttp3.Headers;
@@ -27,6 +27,12 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okio.Buffer;
 import okio.BufferedSink;
+import okio.DeflaterSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+import retrofit2.http.Compressed;
 
 final class RequestBuilder {
   private static final char[] HEX_DIGITS = {
@@ -34,25 +40,12 @@ final class RequestBuilder {
   };
   private static final String PATH_SEGMENT_ALWAYS_ENCODE_SET = " \"<>^`{}|\\?#";
 
-  /**
-   * Matches strings that contain {@code .} or {@code ..} as a complete path segment. This also
-   * matches dots in their percent-encoded form, {@code %2E}.
-   *
-   * <p>It is okay to have these strings within a larger path segment (like {@code a..z} or {@code
-   * index.html}) but when alone they have a special meaning. A single dot resolves to no path
-   * segment so {@code /one/./three/} becomes {@code /one/three/}. A double-dot pops the preceding
-   * directory, so {@code /one/../three/} becomes {@code /three/}.
-   *
-   * <p>We forbid these in Retrofit paths because they're likely to have the unintended effect. For
-   * example, passing {@code ..} to {@code DELETE /account/book/{isbn}/} yields {@code DELETE
-   * /account/}.
-   */
-  private static final Pattern PATH_TRAVERSAL = Pattern.compile("(.*/)?(\\.|%2e|%2E){1,2}(/.*)?");
-
   private final String method;
 
   private final HttpUrl baseUrl;
   private @Nullable String relativeUrl;
+  private final @Nullable RelativeUrlTemplate relativeUrlTemplate;
+  private @Nullable String[] pathValues;
   private @Nullable HttpUrl.Builder urlBuilder;
 
   private final Request.Builder requestBuilder;
@@ -63,11 +56,14 @@ final class RequestBuilder {
   private @Nullable MultipartBody.Builder multipartBuilder;
   private @Nullable FormBody.Builder formBuilder;
   private @Nullable RequestBody body;
+  private @Nullable Compressed.Encoding compression;
+  private long compressionMinimumSize;
 
   RequestBuilder(
       String method,
       HttpUrl baseUrl,
       @Nullable String relativeUrl,
+      @Nullable RelativeUrlTemplate relativeUrlTemplate,
       @Nullable Headers headers,
       @Nullable MediaType contentType,
       boolean hasBody,
@@ -76,6 +72,7 @@ final class RequestBuilder {
     this.method = method;
     this.baseUrl = baseUrl;
     this.relativeUrl = relativeUrl;
+    this.relativeUrlTemplate = relativeUrlTemplate;
     this.requestBuilder = new Request.Builder();
     this.contentType = contentType;
     this.hasBody = hasBody;
@@ -118,18 +115,36 @@ final class RequestBuilder {
     headersBuilder.addAll(headers);
   }
 
-  void addPathParam(String name, String value, boolean encoded) {
-    if (relativeUrl == null) {
+  void addHeaderIfAbsent(String name, String value) {
+    if (headersBuilder.get(name) == null) {
+      headersBuilder.add(name, value);
+    }
+  }
+
+  void addPathParam(int slot, String value, boolean encoded) {
+    if (relativeUrl == null || relativeUrlTemplate == null) {
       // The relative URL is cleared when the first query parameter is set.
       throw new AssertionError();
     }
-    String replacement = canonicalizeForPath(value, encoded);
-    String newRelativeUrl = relativeUrl.replace("{" + name + "}", replacement);
-    if (PATH_TRAVERSAL.matcher(newRelativeUrl).matches()) {
-      throw new IllegalArgumentException(
-          "@Path parameters shouldn't perform path traversal ('.' or '..'): " + value);
+    String[] pathValues = this.pathValues;
+    if (pathValues == null) {
+      pathValues = this.pathValues = new String[relativeUrlTemplate.names.length];
+    }
+    // A name may only be replaced once. Subsequent parameters with the same name are ignored.
+    if (pathValues[slot] == null) {
+      pathValues[slot] = canonicalizeForPath(value, encoded);
     }
-    relativeUrl = newRelativeUrl;
+  }
+
+  /** Returns the relative URL after replacing any path parameters into its template. */
+  private @Nullable String relativeUrl() {
+    String[] pathValues = this.pathValues;
+    if (pathValues != null) {
+      //noinspection ConstantConditions Path values are only set when the template is present.
+      relativeUrl = relativeUrlTemplate.expand(pathValues);
+      this.pathValues = null;
+    }
+    return relativeUrl;
   }
 
   private static String canonicalizeForPath(String input, boolean alreadyEncoded) {
@@ -184,6 +199,7 @@ final class RequestBuilder {
   }
 
   void addQueryParam(String name, @Nullable String value, boolean encoded) {
+    String relativeUrl = relativeUrl();
     if (relativeUrl != null) {
       // Do a one-time combination of the built relative URL and the base URL.
       urlBuilder = baseUrl.newBuilder(relativeUrl);
@@ -191,7 +207,7 @@ final class RequestBuilder {
         throw new IllegalArgumentException(
             "Malformed URL. Base: " + baseUrl + ", Relative: " + relativeUrl);
       }
-      relativeUrl = null;
+      this.relativeUrl = null;
     }
 
     if (encoded) {
@@ -226,17 +242,23 @@ final class RequestBuilder {
     this.body = body;
   }
 
+  void setCompression(Compressed.Encoding compression, long minimumSize) {
+    this.compression = compression;
+    this.compressionMinimumSize = minimumSize;
+  }
+
   <T> void addTag(Class<T> cls, @Nullable T value) {
     requestBuilder.tag(cls, value);
   }
 
-  Request.Builder get() {
+  Request.Builder get() throws IOException {
     HttpUrl url;
     HttpUrl.Builder urlBuilder = this.urlBuilder;
     if (urlBuilder != null) {
       url = urlBuilder.build();
     } else {
       // No query parameters triggered builder creation, just combine the relative URL and base URL.
+      String relativeUrl = relativeUrl();
       //noinspection ConstantConditions Non-null if urlBuilder is null.
       url = baseUrl.resolve(relativeUrl);
       if (url == null) {
@@ -267,6 +289,15 @@ final class RequestBuilder {
       }
     }
 
+    Compressed.Encoding compression = this.compression;
+    if (compression != null && body != null) {
+      long contentLength = body.contentLength();
+      if (contentLength == -1L || contentLength >= compressionMinimumSize) {
+        body = new CompressedRequestBody(body, compression);
+        headersBuilder.set("Content-Encoding", compression.token());
+      }
+    }
+
     return requestBuilder.url(url).headers(headersBuilder.build()).method(method, body);
   }
 
@@ -294,4 +325,166 @@ final class RequestBuilder {
       delegate.writeTo(sink);
     }
   }
+
+  /** Compresses the delegate's bytes as they are written, so its length is no longer known. */
+  private static final class CompressedRequestBody extends RequestBody {
+    private final RequestBody delegate;
+    private final Compressed.Encoding compression;
+
+    CompressedRequestBody(RequestBody delegate, Compressed.Encoding compression) {
+      this.delegate = delegate;
+      this.compression = compression;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return delegate.contentType();
+    }
+
+    @Override
+    public boolean isOneShot() {
+      return delegate.isOneShot();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      // Closing the compressing sink writes its trailer, but the caller owns the sink beneath it.
+      Sink uncloseable =
+          new ForwardingSink(sink) {
+            @Override
+            public void close() throws IOException {
+              flush();
+            }
+          };
+      Sink compressing =
+          compression == Compressed.Encoding.GZIP
+              ? new GzipSink(uncloseable)
+              : new DeflaterSink(uncloseable, new Deflater());
+      try (BufferedSink compressed = Okio.buffer(compressing)) {
+        delegate.writeTo(compressed);
+      }
+    }
+  }
+
+  /**
+   * A relative URL split into its literal text and its path parameter slots. This is parsed once
+   * per service method so that each call only has to write the literals and the replacement values
+   * into a single buffer.
+   */
+  static final class RelativeUrlTemplate {
+    /** Literal text surrounding each slot. There is always one more literal than slots. */
+    private final String[] literals;
+    /** For each slot, the index of its parameter in {@link #names}. */
+    private final int[] slots;
+    /** Unique parameter names in order of their first appearance. */
+    final String[] names;
+    private final int literalLength;
+
+    RelativeUrlTemplate(String[] literals, int[] slots, String[] names) {
+      this.literals = literals;
+      this.slots = slots;
+      this.names = names;
+      int literalLength = 0;
+      for (String literal : literals) {
+        literalLength += literal.length();
+      }
+      this.literalLength = literalLength;
+    }
+
+    int indexOf(String name) {
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].equals(name)) {
+          return i;
+        }
+      }
+      throw new AssertionError();
+    }
+
+    /**
+     * Writes the literals and {@code values} into a relative URL. Names with no value are left in
+     * their unreplaced "{name}" form.
+     */
+    String expand(String[] values) {
+      StringBuilder result = new StringBuilder(literalLength + slots.length * 16);
+      result.append(literals[0]);
+      for (int i = 0; i < slots.length; i++) {
+        int index = slots[i];
+        String value = values[index];
+        if (value != null) {
+          result.append(value);
+        } else {
+          result.append('{').append(names[index]).append('}');
+        }
+        result.append(literals[i + 1]);
+      }
+
+      for (int i = 0, segmentStart = 0, length = result.length(); i <= length; i++) {
+        if (i == length || result.charAt(i) == '/') {
+          if (isDotSegment(result, segmentStart, i)) {
+            throw new IllegalArgumentException(
+                "@Path parameters shouldn't perform path traversal ('.' or '..'): "
+                    + valueAt(values, segmentStart, i));
+          }
+          segmentStart = i + 1;
+        }
+      }
+
+      return result.toString();
+    }
+
+    /**
+     * Returns true if the characters of {@code url} between {@code start} and {@code end} are
+     * {@code .} or {@code ..}, also allowing dots in their percent-encoded form, {@code %2E}.
+     *
+     * <p>It is okay to have these strings within a larger path segment (like {@code a..z} or {@code
+     * index.html}) but when alone they have a special meaning. A single dot resolves to no path
+     * segment so {@code /one/./three/} becomes {@code /one/three/}. A double-dot pops the preceding
+     * directory, so {@code /one/../three/} becomes {@code /three/}.
+     *
+     * <p>We forbid these in Retrofit paths because they're likely to have the unintended effect.
+     * For example, passing {@code ..} to {@code DELETE /account/book/{isbn}/} yields {@code DELETE
+     * /account/}.
+     */
+    private static boolean isDotSegment(CharSequence url, int start, int end) {
+      int dots = 0;
+      for (int i = start; i < end; dots++) {
+        if (url.charAt(i) == '.') {
+          i++;
+        } else if (i + 3 <= end
+            && url.charAt(i) == '%'
+            && url.charAt(i + 1) == '2'
+            && (url.charAt(i + 2) == 'e' || url.charAt(i + 2) == 'E')) {
+          i += 3;
+        } else {
+          return false;
+        }
+      }
+      return dots == 1 || dots == 2;
+    }
+
+    /**
+     * Returns the value which was written into the expanded URL between {@code start} and {@code
+     * end}, or the first value if the range is only literal text.
+     */
+    private String valueAt(String[] values, int start, int end) {
+      String first = null;
+      int position = literals[0].length();
+      for (int i = 0; i < slots.length; i++) {
+        int index = slots[i];
+        String value = values[index];
+        int valueLength = value != null ? value.length() : names[index].length() + 2;
+        if (value != null) {
+          if (position < end && position + valueLength > start) {
+            return value;
+          }
+          if (first == null) {
+            first = value;
+          }
+        }
+        position += valueLength + literals[i + 1].length();
+      }
+      //noinspection ConstantConditions At least one value is present when expanding.
+      return first;
+    }
+  }
 }
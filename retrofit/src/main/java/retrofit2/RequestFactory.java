@@ -25,6 +25,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import retrofit2.http.Body;
+import retrofit2.http.Compressed;
 import retrofit2.http.DELETE;
 import retrofit2.http.Field;
 import retrofit2.http.FieldMap;
@@ -72,13 +74,18 @@ final class RequestFactory {
   private final HttpUrl baseUrl;
   final String httpMethod;
   private final @Nullable String relativeUrl;
+  private final @Nullable RequestBuilder.RelativeUrlTemplate relativeUrlTemplate;
   private final @Nullable Headers headers;
   private final @Nullable MediaType contentType;
   private final boolean hasBody;
   private final boolean isFormEncoded;
   private final boolean isMultipart;
+  private final @Nullable Compressed.Encoding compression;
+  private final long compressionMinimumSize;
   private final ParameterHandler<?>[] parameterHandlers;
   final boolean isKotlinSuspendFunction;
+  /** An {@code Accept} header value added to requests which do not already have one. */
+  private final @Nullable String defaultAccept;
 
   RequestFactory(Builder builder) {
     service = builder.service;
@@ -86,13 +93,44 @@ final class RequestFactory {
     baseUrl = builder.retrofit.baseUrl;
     httpMethod = builder.httpMethod;
     relativeUrl = builder.relativeUrl;
+    relativeUrlTemplate = builder.relativeUrlTemplate;
     headers = builder.headers;
     contentType = builder.contentType;
     hasBody = builder.hasBody;
     isFormEncoded = builder.isFormEncoded;
     isMultipart = builder.isMultipart;
+    compression = builder.compression;
+    compressionMinimumSize = builder.compressionMinimumSize;
     parameterHandlers = builder.parameterHandlers;
     isKotlinSuspendFunction = builder.isKotlinSuspendFunction;
+    defaultAccept = null;
+  }
+
+  private RequestFactory(RequestFactory original, String defaultAccept) {
+    service = original.service;
+    method = original.method;
+    baseUrl = original.baseUrl;
+    httpMethod = original.httpMethod;
+    relativeUrl = original.relativeUrl;
+    relativeUrlTemplate = original.relativeUrlTemplate;
+    headers = original.headers;
+    contentType = original.contentType;
+    hasBody = original.hasBody;
+    isFormEncoded = original.isFormEncoded;
+    isMultipart = original.isMultipart;
+    compression = original.compression;
+    compressionMinimumSize = original.compressionMinimumSize;
+    parameterHandlers = original.parameterHandlers;
+    isKotlinSuspendFunction = original.isKotlinSuspendFunction;
+    this.defaultAccept = defaultAccept;
+  }
+
+  /**
+   * Returns a copy of this factory whose requests include {@code accept} as their {@code Accept}
+   * header when neither the method nor its parameters supply one.
+   */
+  RequestFactory withDefaultAccept(String accept) {
+    return new RequestFactory(this, accept);
   }
 
   okhttp3.Request create(@Nullable Object instance, Object[] args) throws IOException {
@@ -114,6 +152,7 @@ final class RequestFactory {
             httpMethod,
             baseUrl,
             relativeUrl,
+            relativeUrlTemplate,
             headers,
             contentType,
             hasBody,
@@ -131,6 +170,13 @@ final class RequestFactory {
       handlers[p].apply(requestBuilder, args[p]);
     }
 
+    if (defaultAccept != null) {
+      requestBuilder.addHeaderIfAbsent("Accept", defaultAccept);
+    }
+    if (compression != null) {
+      requestBuilder.setCompression(compression, compressionMinimumSize);
+    }
+
     return requestBuilder
         .get()
         .tag(Invocation.class, new Invocation(service, instance, method, argumentList))
@@ -167,10 +213,13 @@ final class RequestFactory {
     boolean hasBody;
     boolean isFormEncoded;
     boolean isMultipart;
+    @Nullable Compressed.Encoding compression;
+    long compressionMinimumSize;
     @Nullable String relativeUrl;
     @Nullable Headers headers;
     @Nullable MediaType contentType;
     @Nullable Set<String> relativeUrlParamNames;
+    @Nullable RequestBuilder.RelativeUrlTemplate relativeUrlTemplate;
     @Nullable ParameterHandler<?>[] parameterHandlers;
     boolean isKotlinSuspendFunction;
 
@@ -204,6 +253,11 @@ final class RequestFactory {
               "FormUrlEncoded can only be specified on HTTP methods with "
                   + "request body (e.g., @POST).");
         }
+        if (compression != null) {
+          throw methodError(
+              method,
+              "Compressed can only be specified on HTTP methods with request body (e.g., @POST).");
+        }
       }
 
       int parameterCount = parameterAnnotationsArray.length;
@@ -264,6 +318,14 @@ final class RequestFactory {
           throw methodError(method, "Only one encoding annotation is allowed.");
         }
         isFormEncoded = true;
+      } else if (annotation instanceof Compressed) {
+        Compressed compressed = (Compressed) annotation;
+        if (compressed.minimumSize() < 0) {
+          throw methodError(
+              method, "@Compressed minimumSize must not be negative: %s", compressed.minimumSize());
+        }
+        compression = compressed.value();
+        compressionMinimumSize = compressed.minimumSize();
       }
     }
 
@@ -299,6 +361,9 @@ final class RequestFactory {
 
       this.relativeUrl = value;
       this.relativeUrlParamNames = parsePathParameters(value);
+      if (!relativeUrlParamNames.isEmpty()) {
+        this.relativeUrlTemplate = parseRelativeUrlTemplate(value, relativeUrlParamNames);
+      }
     }
 
     private Headers parseHeaders(String[] headers, boolean allowUnsafeNonAsciiValues) {
@@ -427,7 +492,9 @@ final class RequestFactory {
         validatePathName(p, name);
 
         Converter<?, String> converter = retrofit.stringConverter(type, annotations);
-        return new ParameterHandler.Path<>(method, p, name, converter, path.encoded());
+        //noinspection ConstantConditions Non-null when the relative URL has path parameters.
+        int slot = relativeUrlTemplate.indexOf(name);
+        return new ParameterHandler.Path<>(method, p, name, slot, converter, path.encoded());
 
       } else if (annotation instanceof Query) {
         validateResolvableType(p, type);
@@ -857,6 +924,33 @@ final class RequestFactory {
       return patterns;
     }
 
+    /**
+     * Splits {@code path} into the literal text around each of its path parameters so that it can
+     * be expanded with a single pass per request. {@code names} are the unique path parameters of
+     * {@code path} in order of their first appearance.
+     */
+    static RequestBuilder.RelativeUrlTemplate parseRelativeUrlTemplate(
+        String path, Set<String> names) {
+      String[] nameArray = names.toArray(new String[0]);
+      List<String> literals = new ArrayList<>();
+      List<Integer> slots = new ArrayList<>();
+      Matcher m = PARAM_URL_REGEX.matcher(path);
+      int literalStart = 0;
+      while (m.find()) {
+        literals.add(path.substring(literalStart, m.start()));
+        slots.add(Arrays.asList(nameArray).indexOf(m.group(1)));
+        literalStart = m.end();
+      }
+      literals.add(path.substring(literalStart));
+
+      int[] slotArray = new int[slots.size()];
+      for (int i = 0; i < slotArray.length; i++) {
+        slotArray[i] = slots.get(i);
+      }
+      return new RequestBuilder.RelativeUrlTemplate(
+          literals.toArray(new String[0]), slotArray, nameArray);
+    }
+
     private static Class<?> boxIfPrimitive(Class<?> type) {
       if (boolean.class == type) return Boolean.class;
       if (byte.class == type) return Byte.class;
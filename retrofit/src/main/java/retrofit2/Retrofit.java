@@ -18,7 +18,9 @@ package retrofit2;
 import static java.util.Collections.unmodifiableList;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
@@ -108,6 +110,9 @@ public final class Retrofit {
   /**
    * Create an implementation of the API endpoints defined by the {@code service} interface.
    *
+   * <p>If the {@code retrofit-service-generator} annotation processor generated an implementation
+   * of {@code service} it is returned. Otherwise a {@link Proxy} is created for the interface.
+   *
    * <p>The relative path for a given method is obtained from an annotation on the method describing
    * the request type. The built-in methods are {@link retrofit2.http.GET GET}, {@link
    * retrofit2.http.PUT PUT}, {@link retrofit2.http.POST POST}, {@link retrofit2.http.PATCH PATCH},
@@ -156,6 +161,10 @@ public final class Retrofit {
   @SuppressWarnings("unchecked") // Single-interface proxy creation guarded by parameter safety.
   public <T> T create(final Class<T> service) {
     validateServiceInterface(service);
+    T generated = createGenerated(service);
+    if (generated != null) {
+      return generated;
+    }
     return (T)
         Proxy.newProxyInstance(
             service.getClassLoader(),
@@ -179,6 +188,42 @@ public final class Retrofit {
             });
   }
 
+  /**
+   * Returns an instance of the implementation of {@code service} created by the {@code
+   * retrofit-service-generator} annotation processor, or null if one was not generated.
+   */
+  private @Nullable <T> T createGenerated(Class<T> service) {
+    // Nested types are flattened using underscores, e.g., 'Outer$Service' -> 'Outer_Service'.
+    String generatedName = service.getName().replace('$', '_') + "_Retrofit";
+    Class<?> generatedClass;
+    try {
+      generatedClass = Class.forName(generatedName, true, service.getClassLoader());
+    } catch (ClassNotFoundException ignored) {
+      return null;
+    }
+    if (!service.isAssignableFrom(generatedClass)) {
+      return null;
+    }
+
+    Constructor<?> constructor;
+    try {
+      constructor = generatedClass.getConstructor(Retrofit.class);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(
+          "Generated implementation " + generatedName + " is missing its constructor.", e);
+    }
+    try {
+      return service.cast(constructor.newInstance(this));
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new RuntimeException("Unable to create " + generatedName, cause);
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new RuntimeException("Unable to create " + generatedName, e);
+    }
+  }
+
   private void validateServiceInterface(Class<?> service) {
     if (!service.isInterface()) {
       throw new IllegalArgumentException("API declarations must be interfaces.");
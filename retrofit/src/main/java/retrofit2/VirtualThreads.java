@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Before Java 21 there are no virtual threads, so each task is given a new platform thread.
+ * <p>
+ * Note: This class has multi-release jar variants for newer versions of Java.
+ */
+final class VirtualThreads {
+  static Executor newThreadPerTaskExecutor() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "Retrofit blocking call");
+      thread.setDaemon(true);
+      thread.start();
+    };
+  }
+
+  private VirtualThreads() {}
+}
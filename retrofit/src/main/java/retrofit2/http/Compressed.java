@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Square, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package retrofit2.http;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Compress the request body as it is written and send it with a {@code Content-Encoding} header.
+ * This applies to bodies from any converter, as well as form and multipart bodies.
+ *
+ * <pre><code>
+ * &#64;Compressed(GZIP)
+ * &#64;POST("/events")
+ * Call&lt;ResponseBody&gt; upload(@Body List&lt;Event&gt; events);
+ * </code></pre>
+ *
+ * Bodies whose length is known to be smaller than {@link #minimumSize()} are sent uncompressed.
+ * Compressed bodies have an unknown length and are sent chunked.
+ *
+ * <p>The server must support the chosen encoding. Unlike compressed responses, which the client
+ * negotiates with {@code Accept-Encoding}, there is no standard way to discover this.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Compressed {
+  Encoding value() default Encoding.GZIP;
+
+  /** The smallest body, in bytes, to compress. Bodies of unknown length are always compressed. */
+  long minimumSize() default 1024;
+
+  enum Encoding {
+    /** The gzip file format of <a href="https://www.rfc-editor.org/rfc/rfc1952">RFC 1952</a>. */
+    GZIP("gzip"),
+    /** The zlib format of <a href="https://www.rfc-editor.org/rfc/rfc1950">RFC 1950</a>. */
+    DEFLATE("deflate");
+
+    private final String token;
+
+    Encoding(String token) {
+      this.token = token;
+    }
+
+    /** The value of the {@code Content-Encoding} header for this encoding. */
+    public String token() {
+      return token;
+    }
+  }
+}
@@ -15,8 +15,12 @@
  */
 package retrofit2;
 
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 
 /**
@@ -25,14 +29,35 @@ import javax.annotation.Nullable;
  * https://bugs.openjdk.java.net/browse/JDK-8209005
  */
 final class DefaultMethodSupport {
+  /**
+   * Handles adapted to {@code (Object, Object[])Object} for each default method, keyed by their
+   * declaring interface so that the cache does not keep unloaded classes reachable.
+   */
+  private static final ClassValue<ConcurrentHashMap<Method, MethodHandle>> handles =
+      new ClassValue<ConcurrentHashMap<Method, MethodHandle>>() {
+        @Override
+        protected ConcurrentHashMap<Method, MethodHandle> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   @Nullable
   static Object invoke(
       Method method, Class<?> declaringClass, Object proxy, @Nullable Object[] args)
       throws Throwable {
-    return MethodHandles.lookup()
-        .unreflectSpecial(method, declaringClass)
-        .bindTo(proxy)
-        .invokeWithArguments(args);
+    ConcurrentHashMap<Method, MethodHandle> declaringHandles = handles.get(declaringClass);
+    MethodHandle handle = declaringHandles.get(method);
+    if (handle == null) {
+      // Racing threads may each create a handle. They are equivalent so any one can be kept.
+      handle =
+          MethodHandles.lookup()
+              .unreflectSpecial(method, declaringClass)
+              .asFixedArity()
+              .asSpreader(Object[].class, method.getParameterCount())
+              .asType(methodType(Object.class, Object.class, Object[].class));
+      declaringHandles.putIfAbsent(method, handle);
+    }
+    return (Object) handle.invokeExact(proxy, args);
   }
 
   private DefaultMethodSupport() {}